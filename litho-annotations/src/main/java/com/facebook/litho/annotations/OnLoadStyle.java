@@ -15,4 +15,11 @@ import java.lang.annotation.RetentionPolicy;
 @Retention(RetentionPolicy.SOURCE)
 public @interface OnLoadStyle {
 
+  /**
+   * Whether the props set by this method only depend on the theme and the style the component is
+   * created with, so that they can be loaded once and shared by all the components of this type
+   * created with the same theme and style. Props that are mutable, such as Drawables, must not be
+   * shared.
+   */
+  boolean cacheable() default false;
 }
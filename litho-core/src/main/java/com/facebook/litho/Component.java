@@ -269,6 +269,23 @@ public abstract class Component extends ComponentLifecycle
     }
   }
 
+  /**
+   * @return a copy of the props of this component, used as the source of {@link
+   *     ComponentLifecycle#copyLoadedStyle(Component)}. It doesn't share the common props of this
+   *     component, which are still being built, nor reference its context or layouts.
+   */
+  Component makeLoadedStyleCopy() {
+    final Component component = makeShallowCopy();
+    component.mScopedContext = null;
+    component.mCommonPropsHolder = null;
+    component.mLastMeasuredLayout = null;
+    component.mLayoutCreatedInWillRender = null;
+    component.mChildCounters = null;
+    component.mGlobalKey = null;
+    component.mKey = null;
+    return component;
+  }
+
   Component makeShallowCopyWithNewId() {
     final Component component = makeShallowCopy();
     component.mId = sIdGenerator.incrementAndGet();
@@ -12,6 +12,8 @@ package com.facebook.litho;
 import android.graphics.Rect;
 import android.graphics.drawable.Drawable;
 import android.os.Bundle;
+import android.support.annotation.Nullable;
+import android.support.v4.util.SparseArrayCompat;
 import android.support.v4.view.AccessibilityDelegateCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeProviderCompat;
@@ -20,12 +22,18 @@ import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.accessibility.AccessibilityEvent;
+import com.facebook.litho.config.ComponentsConfiguration;
 import java.util.List;
 
 /**
  * Class that is used to set up accessibility for {@link ComponentHost}s.
  * Virtual nodes are only exposed if the component implements support for
  * extra accessibility nodes.
+ *
+ * <p>When {@link ComponentsConfiguration#lazyAccessibility} is enabled layouts don't wrap
+ * accessible drawables in their own hosts, so several of them may be mounted in the same host. In
+ * that case each of them is exposed as a virtual view, and its accessibility data is only computed
+ * the first time the framework asks for it.
  */
 class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
   private static final String TAG = "ComponentAccessibility";
@@ -35,6 +43,14 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
   private final AccessibilityDelegateCompat mSuperDelegate;
   private static final Rect sDefaultBounds = new Rect(0, 0, 1, 1);
 
+  // Virtual view ids of lazily exposed nodes are the host index of their mount item shifted left by
+  // this many bits, or'd with the index of the extra accessibility node if the component has any.
+  private static final int LAZY_NODE_EXTRA_INDEX_BITS = 10;
+  private static final int LAZY_NODE_MAX_EXTRA_NODES = 1 << LAZY_NODE_EXTRA_INDEX_BITS;
+
+  private @Nullable SparseArrayCompat<LazyAccessibilityNode> mLazyNodes;
+  private boolean mLazyNodesValid;
+
   ComponentAccessibilityDelegate(View view, NodeInfo nodeInfo) {
     super(view);
     mView = view;
@@ -91,6 +107,13 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
 
   @Override
   protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+    if (hasLazyNodes()) {
+      for (int i = 0, size = mLazyNodes.size(); i < size; i++) {
+        virtualViewIds.add(mLazyNodes.keyAt(i));
+      }
+      return;
+    }
+
     final MountItem mountItem = getAccessibleMountItem(mView);
     if (mountItem == null) {
       return;
@@ -112,6 +135,11 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
   protected void onPopulateNodeForVirtualView(
       int virtualViewId,
       AccessibilityNodeInfoCompat node) {
+    if (hasLazyNodes()) {
+      onPopulateLazyNode(virtualViewId, node);
+      return;
+    }
+
     final MountItem mountItem = getAccessibleMountItem(mView);
     if (mountItem == null) {
       Log.e(TAG, "No accessible mount item found for view: " + mView);
@@ -152,6 +180,10 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
    */
   @Override
   protected int getVirtualViewAt(float x, float y) {
+    if (hasLazyNodes()) {
+      return getLazyNodeAt((int) x, (int) y);
+    }
+
     final MountItem mountItem = getAccessibleMountItem(mView);
     if (mountItem == null) {
       return INVALID_ID;
@@ -188,6 +220,15 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
       int virtualViewId,
       int action,
       Bundle arguments) {
+    // Lazily exposed nodes are drawables mounted in this host, so clicks on them are clicks on
+    // the host.
+    if (hasLazyNodes()
+        && mLazyNodes.get(virtualViewId) != null
+        && action == AccessibilityNodeInfoCompat.ACTION_CLICK
+        && mView.isClickable()) {
+      return mView.performClick();
+    }
+
     return false;
   }
 
@@ -199,6 +240,10 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
    */
   @Override
   public AccessibilityNodeProviderCompat getAccessibilityNodeProvider(View host) {
+    if (hasLazyNodes()) {
+      return super.getAccessibilityNodeProvider(host);
+    }
+
     final MountItem mountItem = getAccessibleMountItem(mView);
     if (mountItem != null && mountItem.getComponent().implementsExtraAccessibilityNodes()) {
       return super.getAccessibilityNodeProvider(host);
@@ -207,6 +252,141 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
     return null;
   }
 
+  /**
+   * Drops the lazily computed nodes, called whenever the content of the host changes. They are
+   * recomputed the next time the framework asks for them.
+   */
+  void invalidateLazyNodes() {
+    mLazyNodesValid = false;
+  }
+
+  /**
+   * @return whether this delegate exposes the accessible drawables mounted in its host as lazily
+   *     populated virtual views. The nodes are only collected here, when the framework asks for
+   *     them, the host itself just keeps count of the mount items that have any.
+   */
+  boolean hasLazyNodes() {
+    if (!(mView instanceof ComponentHost) || !((ComponentHost) mView).hasLazyAccessibilityItems()) {
+      return false;
+    }
+
+    if (!mLazyNodesValid) {
+      collectLazyNodes((ComponentHost) mView);
+    }
+
+    return mLazyNodes != null && mLazyNodes.size() > 0;
+  }
+
+  private void collectLazyNodes(ComponentHost host) {
+    if (mLazyNodes == null) {
+      mLazyNodes = new SparseArrayCompat<>();
+    } else {
+      mLazyNodes.clear();
+    }
+
+    for (int i = 0, size = host.getMountItemCount(); i < size; i++) {
+      final MountItem mountItem = host.getMountItemAt(i);
+      if (!MountItem.hasLazyAccessibility(mountItem.getFlags())) {
+        continue;
+      }
+
+      final int baseId = host.getMountItemIndexAt(i) << LAZY_NODE_EXTRA_INDEX_BITS;
+      final Component component = mountItem.getComponent();
+
+      if (component.implementsExtraAccessibilityNodes()) {
+        final int extraNodesCount =
+            Math.min(component.getExtraAccessibilityNodesCount(), LAZY_NODE_MAX_EXTRA_NODES);
+        for (int extraNodeIndex = 0; extraNodeIndex < extraNodesCount; extraNodeIndex++) {
+          mLazyNodes.put(
+              baseId | extraNodeIndex, new LazyAccessibilityNode(mountItem, extraNodeIndex));
+        }
+      } else {
+        mLazyNodes.put(baseId, new LazyAccessibilityNode(mountItem, -1));
+      }
+    }
+
+    mLazyNodesValid = true;
+  }
+
+  private void onPopulateLazyNode(int virtualViewId, AccessibilityNodeInfoCompat node) {
+    final LazyAccessibilityNode lazyNode = getValidLazyNode(virtualViewId);
+    if (lazyNode == null) {
+      Log.e(TAG, "Received unrecognized virtual view id: " + virtualViewId);
+
+      // ExploreByTouchHelper insists that we set something.
+      node.setContentDescription("");
+      node.setBoundsInParent(getDefaultBounds());
+      return;
+    }
+
+    final MountItem mountItem = lazyNode.mMountItem;
+    final Component component = mountItem.getComponent();
+    final Rect bounds = ((Drawable) mountItem.getContent()).getBounds();
+
+    node.setClassName(component.getClass().getName());
+
+    if (lazyNode.mExtraNodeIndex >= 0) {
+      component.onPopulateExtraAccessibilityNode(
+          node, lazyNode.mExtraNodeIndex, bounds.left, bounds.top);
+      return;
+    }
+
+    node.setBoundsInParent(bounds);
+    component.onPopulateAccessibilityNode(node);
+
+    final NodeInfo nodeInfo = mountItem.getNodeInfo();
+    if (nodeInfo != null && nodeInfo.getContentDescription() != null) {
+      node.setContentDescription(nodeInfo.getContentDescription());
+    } else if (node.getText() == null && node.getContentDescription() == null) {
+      // ExploreByTouchHelper insists that we set something.
+      node.setContentDescription("");
+    }
+
+    if (nodeInfo != null && nodeInfo.getAccessibilityRole() != null) {
+      node.setClassName(nodeInfo.getAccessibilityRole());
+    }
+  }
+
+  private int getLazyNodeAt(int x, int y) {
+    for (int i = 0, size = mLazyNodes.size(); i < size; i++) {
+      final LazyAccessibilityNode lazyNode = mLazyNodes.valueAt(i);
+      if (!lazyNode.isValid()) {
+        continue;
+      }
+
+      final Rect bounds = ((Drawable) lazyNode.mMountItem.getContent()).getBounds();
+      if (!bounds.contains(x, y)) {
+        continue;
+      }
+
+      if (lazyNode.mExtraNodeIndex < 0) {
+        return mLazyNodes.keyAt(i);
+      }
+
+      final int extraNodeIndex =
+          lazyNode.mMountItem.getComponent().getExtraAccessibilityNodeAt(
+              x - bounds.left, y - bounds.top);
+      if (extraNodeIndex == lazyNode.mExtraNodeIndex) {
+        return mLazyNodes.keyAt(i);
+      }
+    }
+
+    return INVALID_ID;
+  }
+
+  @Nullable
+  private LazyAccessibilityNode getValidLazyNode(int virtualViewId) {
+    LazyAccessibilityNode lazyNode = mLazyNodes.get(virtualViewId);
+    if (lazyNode != null && !lazyNode.isValid()) {
+      // The mount item was released or rebound to a different component since the nodes were
+      // collected.
+      collectLazyNodes((ComponentHost) mView);
+      lazyNode = mLazyNodes.get(virtualViewId);
+    }
+
+    return lazyNode;
+  }
+
   private static MountItem getAccessibleMountItem(View view) {
     if (!(view instanceof ComponentHost)) {
       return null;
@@ -316,6 +496,26 @@ class ComponentAccessibilityDelegate extends ExploreByTouchHelper {
     return sDefaultBounds;
   }
 
+  /**
+   * A drawable mount item (or one of its extra accessibility nodes) exposed as a virtual view. The
+   * component it was collected for is kept to detect when the pooled mount item gets reused.
+   */
+  private static class LazyAccessibilityNode {
+    private final MountItem mMountItem;
+    private final Component mComponent;
+    private final int mExtraNodeIndex;
+
+    LazyAccessibilityNode(MountItem mountItem, int extraNodeIndex) {
+      mMountItem = mountItem;
+      mComponent = mountItem.getComponent();
+      mExtraNodeIndex = extraNodeIndex;
+    }
+
+    boolean isValid() {
+      return mMountItem.getComponent() == mComponent;
+    }
+  }
+
   private class SuperDelegate extends AccessibilityDelegateCompat {
 
     @Override
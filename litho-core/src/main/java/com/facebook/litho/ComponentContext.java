@@ -48,6 +48,9 @@ public class ComponentContext extends ContextWrapper {
   @ThreadConfined(ThreadConfined.ANY)
   private ComponentTree mComponentTree;
 
+  @ThreadConfined(ThreadConfined.ANY)
+  private @Nullable LayoutCancellation mLayoutCancellation;
+
   // Used to hold styling information applied to components
   @StyleRes
   @ThreadConfined(ThreadConfined.ANY)
@@ -108,6 +111,7 @@ public class ComponentContext extends ContextWrapper {
       mHeightSpec = componentContext.mHeightSpec;
       mComponentScope = componentContext.mComponentScope;
       mComponentTree = componentContext.mComponentTree;
+      mLayoutCancellation = componentContext.mLayoutCancellation;
     } else {
       mResourceCache = ResourceCache.getLatest(context.getResources().getConfiguration());
     }
@@ -144,6 +148,23 @@ public class ComponentContext extends ContextWrapper {
     return componentContext;
   }
 
+  /**
+   * Creates a new ComponentContext for a layout that can be cancelled through the given {@link
+   * LayoutCancellation}. The contexts copied from it while the layout is calculated share it.
+   */
+  static ComponentContext withLayoutCancellation(
+      ComponentContext context, LayoutCancellation layoutCancellation) {
+    final ComponentContext componentContext = context.makeNewCopy();
+    componentContext.mLayoutCancellation = layoutCancellation;
+
+    return componentContext;
+  }
+
+  /** @return whether the layout being calculated within this context was cancelled. */
+  boolean isLayoutCancelled() {
+    return mLayoutCancellation != null && mLayoutCancellation.isCancelled();
+  }
+
   ComponentContext makeNewCopy() {
     return new ComponentContext(this);
   }
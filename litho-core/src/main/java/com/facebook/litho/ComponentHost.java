@@ -78,6 +78,8 @@ public class ComponentHost extends ViewGroup {
 
   @Nullable private ComponentAccessibilityDelegate mComponentAccessibilityDelegate;
   private boolean mIsComponentAccessibilityDelegateSet = false;
+  // Number of mounted items whose accessibility content is exposed as virtual views of this host.
+  private int mLazyAccessibilityItemCount;
 
   private ComponentClickListener mOnClickListener;
   private ComponentLongClickListener mOnLongClickListener;
@@ -143,6 +145,9 @@ public class ComponentHost extends ViewGroup {
     }
 
     mMountItems.put(index, mountItem);
+    if (MountItem.hasLazyAccessibility(mountItem.getFlags())) {
+      mLazyAccessibilityItemCount++;
+    }
 
     maybeInvalidateAccessibilityState(mountItem);
   }
@@ -171,6 +176,9 @@ public class ComponentHost extends ViewGroup {
     }
 
     ComponentHostUtils.removeItem(index, mMountItems, mScrapMountItemsArray);
+    if (MountItem.hasLazyAccessibility(mountItem.getFlags())) {
+      mLazyAccessibilityItemCount--;
+    }
     releaseScrapDataStructuresIfNeeded();
     maybeInvalidateAccessibilityState(mountItem);
   }
@@ -186,6 +194,9 @@ public class ComponentHost extends ViewGroup {
       maybeUnregisterTouchExpansion(index, mountItem);
     }
     ComponentHostUtils.removeItem(index, mMountItems, mScrapMountItemsArray);
+    if (MountItem.hasLazyAccessibility(mountItem.getFlags())) {
+      mLazyAccessibilityItemCount--;
+    }
     releaseScrapDataStructuresIfNeeded();
     mDisappearingItems.add(mountItem);
   }
@@ -317,6 +328,36 @@ public class ComponentHost extends ViewGroup {
     return mMountItems.valueAt(index);
   }
 
+  /**
+   * @return the index the {@link MountItem} at the given position was mounted with.
+   */
+  int getMountItemIndexAt(int position) {
+    return mMountItems.keyAt(position);
+  }
+
+  /**
+   * Called when a mounted {@link MountItem} is re-initialized with the flags of a new {@link
+   * LayoutOutput}, which may change whether its accessibility content is exposed by this host.
+   */
+  void onMountItemFlagsChanged(int oldFlags, MountItem mountItem) {
+    final boolean hadLazyAccessibility = MountItem.hasLazyAccessibility(oldFlags);
+    final boolean hasLazyAccessibility = MountItem.hasLazyAccessibility(mountItem.getFlags());
+    if (hadLazyAccessibility == hasLazyAccessibility) {
+      return;
+    }
+
+    mLazyAccessibilityItemCount += hasLazyAccessibility ? 1 : -1;
+    invalidateAccessibilityState();
+  }
+
+  /**
+   * @return whether some of the mounted items have accessibility content that is exposed as virtual
+   *     views of this host, see {@link ComponentAccessibilityDelegate}.
+   */
+  boolean hasLazyAccessibilityItems() {
+    return ComponentsConfiguration.lazyAccessibility && mLazyAccessibilityItemCount > 0;
+  }
+
   /**
    * Hosts are guaranteed to have only one accessible component
    * in them due to the way the view hierarchy is constructed in {@link LayoutState}.
@@ -596,6 +637,10 @@ public class ComponentHost extends ViewGroup {
       return;
     }
 
+    if (mComponentAccessibilityDelegate != null) {
+      mComponentAccessibilityDelegate.invalidateLazyNodes();
+    }
+
     if (mComponentAccessibilityDelegate != null && implementsVirtualViews()) {
       mComponentAccessibilityDelegate.invalidateRoot();
     }
@@ -610,6 +655,10 @@ public class ComponentHost extends ViewGroup {
   }
 
   private boolean implementsVirtualViews() {
+    if (hasLazyAccessibilityItems()) {
+      return true;
+    }
+
     MountItem item = getAccessibleMountItem();
     return item != null && item.getComponent().implementsExtraAccessibilityNodes();
   }
@@ -182,7 +182,7 @@ class ComponentHostUtils {
   }
 
   static void maybeInvalidateAccessibilityState(MountItem mountItem) {
-    if (mountItem.isAccessible()) {
+    if (mountItem.isAccessible() || MountItem.hasLazyAccessibility(mountItem.getFlags())) {
       mountItem.getHost().invalidateAccessibilityState();
     }
   }
@@ -236,6 +236,11 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
       return layout;
     }
 
+    // The layout this component is part of won't be used, don't create the rest of it.
+    if (context.isLayoutCancelled()) {
+      return ComponentContext.NULL_LAYOUT;
+    }
+
     final boolean deferNestedTreeResolution =
         Component.isNestedTree((Component) this) && !resolveNestedTree;
 
@@ -354,9 +359,26 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
       ComponentContext c,
       @AttrRes int defStyleAttr,
       @StyleRes int defStyleRes) {
+    final boolean canCacheLoadedStyle = canCacheLoadedStyle();
+    if (canCacheLoadedStyle) {
+      final Component loadedStyle =
+          LoadedStyleCache.get(c, getTypeId(), defStyleAttr, defStyleRes);
+      if (loadedStyle != null) {
+        copyLoadedStyle(loadedStyle);
+        return;
+      }
+    }
+
     c.setDefStyle(defStyleAttr, defStyleRes);
     onLoadStyle(c);
     c.setDefStyle(0, 0);
+
+    if (canCacheLoadedStyle) {
+      // Nothing but the loaded style has been set on the props of this component yet, so a copy of
+      // them can be used to style the next components of this type.
+      LoadedStyleCache.put(
+          c, getTypeId(), defStyleAttr, defStyleRes, ((Component) this).makeLoadedStyleCopy());
+    }
   }
 
   void loadStyle(ComponentContext c) {
@@ -425,6 +447,22 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
   protected void onLoadStyle(ComponentContext c) {
   }
 
+  /**
+   * @return whether the props set by {@link #onLoadStyle(ComponentContext)} only depend on the
+   *     theme and style, so that they can be copied from another component of the same type
+   *     instead of being loaded again.
+   */
+  protected boolean canCacheLoadedStyle() {
+    return false;
+  }
+
+  /**
+   * Copies the props set by {@link #onLoadStyle(ComponentContext)} from a component of the same
+   * type that was styled with the same theme and style.
+   */
+  protected void copyLoadedStyle(Component loadedStyleComponent) {
+  }
+
   /**
    * Called after the layout calculation is finished and the given {@link ComponentLayout} has its
    * bounds defined. You can use {@link ComponentLayout#getX()}, {@link ComponentLayout#getY()},
@@ -706,6 +744,19 @@ public abstract class ComponentLifecycle implements EventDispatcher, EventTrigge
     return eventHandler;
   }
 
+  /**
+   * Records an event handler that was already created, e.g. a generated handler subclass that keeps
+   * its params in typed fields, so that it is rebound to the component of every new layout.
+   */
+  protected static <E> EventHandler<E> registerEventHandler(
+      ComponentContext c, EventHandler<E> eventHandler) {
+    if (c.getComponentTree() != null) {
+      c.getComponentTree().recordEventHandler(c.getComponentScope(), eventHandler);
+    }
+
+    return eventHandler;
+  }
+
   protected static <E> EventHandler<E> newEventHandler(
       Component c,
       String name,
@@ -26,6 +26,7 @@ import android.os.Handler;
 import android.os.HandlerThread;
 import android.os.Looper;
 import android.os.Message;
+import android.os.Process;
 import android.support.annotation.IntDef;
 import android.support.annotation.Keep;
 import android.support.annotation.NonNull;
@@ -72,6 +73,7 @@ public class ComponentTree {
   private static final int MESSAGE_WHAT_BACKGROUND_LAYOUT_STATE_UPDATED = 1;
   private static final String DEFAULT_LAYOUT_THREAD_NAME = "ComponentLayoutThread";
   private static final String DEFAULT_PMC_THREAD_NAME = "PreallocateMountContentThread";
+  private static final String NODE_TREE_RELEASE_THREAD_NAME = "ComponentNodeTreeReleaseThread";
   private static final int DEFAULT_LAYOUT_THREAD_PRIORITY =
       ComponentsConfiguration.defaultBackgroundThreadPriority;
 
@@ -99,6 +101,10 @@ public class ComponentTree {
   @GuardedBy("ComponentTree.class")
   private static volatile Looper sDefaultPreallocateMountContentThreadLooper;
 
+  // Do not access sNodeTreeReleaseHandler directly, use getNodeTreeReleaseHandler().
+  @GuardedBy("ComponentTree.class")
+  private static volatile LayoutHandler sNodeTreeReleaseHandler;
+
   private static final ThreadLocal<WeakReference<Handler>> sSyncStateUpdatesHandler =
       new ThreadLocal<>();
 
@@ -156,6 +162,16 @@ public class ComponentTree {
   @GuardedBy("mCurrentCalculateLayoutRunnableLock")
   private @Nullable CalculateLayoutRunnable mCurrentCalculateLayoutRunnable;
 
+  // The layout currently being calculated by calculateLayout, if any. Other threads needing the
+  // same layout wait on this ComponentTree's monitor for it instead of calculating it again.
+  @GuardedBy("this")
+  private @Nullable InFlightLayout mInFlightLayout;
+
+  // The layouts being calculated that can be cancelled once the root or size specs they are for
+  // are superseded, see ComponentsConfiguration#cancelSupersededLayouts.
+  @GuardedBy("this")
+  private final List<LayoutCancellation> mCancellableLayouts = new ArrayList<>();
+
   private boolean mHasMounted = false;
 
   // TODO(6606683): Enable recycling of mComponent.
@@ -186,6 +202,9 @@ public class ComponentTree {
   @GuardedBy("this")
   private StateHandler mStateHandler;
 
+  @GuardedBy("this")
+  private int mDisplayListPrefetchDistance = Integer.MAX_VALUE;
+
   @ThreadConfined(ThreadConfined.UI)
   private RenderState mPreviousRenderState;
 
@@ -499,6 +518,11 @@ public class ComponentTree {
       return mLithoView.getLocalVisibleRect(visibleBounds);
     }
 
+    if (ComponentsConfiguration.incrementalMountUsesPropagatedVisibleRect
+        && mLithoView.getPropagatedVisibleRect(visibleBounds)) {
+      return !visibleBounds.isEmpty();
+    }
+
     getLocationAndBoundsOnScreen(mLithoView, sCurrentLocation, visibleBounds);
 
     final ViewParent viewParent = mLithoView.getParent();
@@ -675,6 +699,11 @@ public class ComponentTree {
       mWidthSpec = widthSpec;
       mHeightSpec = heightSpec;
       mHasViewMeasureSpec = true;
+      cancelSupersededLayouts();
+
+      if (ComponentsConfiguration.shareInFlightLayouts && !forceLayout) {
+        waitForInFlightLayout();
+      }
 
       toRelease = setBestMainThreadLayoutAndReturnOldLayout();
 
@@ -1111,6 +1140,23 @@ public class ComponentTree {
     return mLithoView;
   }
 
+  /**
+   * Sets how far, in items, the content of this ComponentTree is from the viewport of the list it
+   * is shown in, so that the display lists of the closest items are prefetched first. See {@link
+   * Builder#canPrefetchDisplayLists(boolean)}.
+   */
+  public synchronized void setDisplayListPrefetchDistance(int distance) {
+    mDisplayListPrefetchDistance = distance;
+
+    if (mMainThreadLayoutState != null) {
+      mMainThreadLayoutState.setDisplayListPrefetchDistance(distance);
+    }
+
+    if (mBackgroundLayoutState != null) {
+      mBackgroundLayoutState.setDisplayListPrefetchDistance(distance);
+    }
+  }
+
   /**
    * Provides a new instance from the StateHandler pool that is initialized with the information
    * from the StateHandler currently held by the ComponentTree. Once the state updates have been
@@ -1263,6 +1309,8 @@ public class ComponentTree {
       if (rootInitialized) {
         mRoot = root;
       }
+
+      cancelSupersededLayouts();
     }
 
     if (isAsync && output != null) {
@@ -1301,7 +1349,13 @@ public class ComponentTree {
       }
     }
 
+    final InFlightLayout inFlightLayout;
+    final LayoutCancellation layoutCancellation;
     synchronized (this) {
+      if (ComponentsConfiguration.shareInFlightLayouts) {
+        waitForInFlightLayout();
+      }
+
       // Can't compute a layout if specs or root are missing
       if (!hasSizeSpec() || mRoot == null) {
         return;
@@ -1325,7 +1379,58 @@ public class ComponentTree {
       if (mMainThreadLayoutState != null) {
         previousLayoutState = mMainThreadLayoutState.acquireRef();
       }
+
+      if (ComponentsConfiguration.shareInFlightLayouts) {
+        inFlightLayout = new InFlightLayout(mRoot.getId(), widthSpec, heightSpec);
+        mInFlightLayout = inFlightLayout;
+      } else {
+        inFlightLayout = null;
+      }
+
+      // Only the layouts no caller is waiting on the size of can be abandoned.
+      if (ComponentsConfiguration.cancelSupersededLayouts && output == null) {
+        layoutCancellation = new LayoutCancellation(mRoot.getId(), widthSpec, heightSpec);
+        mCancellableLayouts.add(layoutCancellation);
+      } else {
+        layoutCancellation = null;
+      }
+    }
+
+    try {
+      calculateAndCommitLayout(
+          root, widthSpec, heightSpec, previousLayoutState, output, source, layoutCancellation);
+    } finally {
+      if (layoutCancellation != null) {
+        synchronized (this) {
+          mCancellableLayouts.remove(layoutCancellation);
+        }
+      }
+
+      if (inFlightLayout != null) {
+        synchronized (this) {
+          if (mInFlightLayout == inFlightLayout) {
+            mInFlightLayout = null;
+          }
+          notifyAll();
+        }
+      }
     }
+  }
+
+  /**
+   * Calculates the layout for the given root and size specs, and commits it if still needed.
+   *
+   * @param layoutCancellation if not null, the calculation stops early once it is cancelled and its
+   *     result isn't committed.
+   */
+  private void calculateAndCommitLayout(
+      Component root,
+      int widthSpec,
+      int heightSpec,
+      @Nullable LayoutState previousLayoutState,
+      Size output,
+      @CalculateLayoutSource int source,
+      @Nullable LayoutCancellation layoutCancellation) {
 
     final ComponentsLogger logger = mContext.getLogger();
     LogEvent layoutEvent = null;
@@ -1339,12 +1444,15 @@ public class ComponentTree {
     LayoutState localLayoutState =
         calculateLayoutState(
             mLayoutLock,
-            mContext,
+            layoutCancellation != null
+                ? ComponentContext.withLayoutCancellation(mContext, layoutCancellation)
+                : mContext,
             root,
             widthSpec,
             heightSpec,
             mIsLayoutDiffingEnabled,
             previousLayoutState != null ? previousLayoutState.getDiffTree() : null,
+            previousLayoutState,
             source);
 
     if (output != null) {
@@ -1363,9 +1471,12 @@ public class ComponentTree {
     synchronized (this) {
       // Make sure some other thread hasn't computed a compatible layout in the meantime.
       if (!hasCompatibleComponentAndSpec()
-          && isCompatibleSpec(localLayoutState, mWidthSpec, mHeightSpec)) {
+          && isCompatibleSpec(localLayoutState, mWidthSpec, mHeightSpec)
+          && !localLayoutState.isCancelled()) {
 
         if (localLayoutState != null) {
+          localLayoutState.setDisplayListPrefetchDistance(mDisplayListPrefetchDistance);
+
           final StateHandler layoutStateStateHandler =
               localLayoutState.consumeStateHandler();
           if (layoutStateStateHandler != null) {
@@ -1423,6 +1534,44 @@ public class ComponentTree {
     }
   }
 
+  /**
+   * Waits for the layout being calculated on another thread, if it is for the current root and size
+   * specs and none of the layouts we already have is compatible with them. The lock is released
+   * while waiting, and the caller should check again for a compatible layout afterwards.
+   */
+  @GuardedBy("this")
+  private void waitForInFlightLayout() {
+    assertHoldsLock(this);
+
+    while (mInFlightLayout != null
+        && mRoot != null
+        && mInFlightLayout.isFor(mRoot.getId(), mWidthSpec, mHeightSpec)
+        && !hasCompatibleComponentAndSpec()) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Cancels the layouts being calculated for a root or size specs other than the current ones,
+   * since their results won't be committed once a layout for the current ones is calculated.
+   */
+  @GuardedBy("this")
+  private void cancelSupersededLayouts() {
+    assertHoldsLock(this);
+
+    for (int i = 0, size = mCancellableLayouts.size(); i < size; i++) {
+      final LayoutCancellation layoutCancellation = mCancellableLayouts.get(i);
+      if (mRoot == null || !layoutCancellation.isFor(mRoot.getId(), mWidthSpec, mHeightSpec)) {
+        layoutCancellation.cancel();
+      }
+    }
+  }
+
   /**
    * Transfer mBackgroundLayoutState to mMainThreadLayoutState. This will proxy
    * to the main thread if necessary. If the component/size-spec changes in the
@@ -1475,6 +1624,7 @@ public class ComponentTree {
         mLithoView.setComponentTree(null);
       }
       mRoot = null;
+      cancelSupersededLayouts();
 
       mainThreadLayoutState = mMainThreadLayoutState;
       mMainThreadLayoutState = null;
@@ -1543,6 +1693,32 @@ public class ComponentTree {
     return sDefaultLayoutThreadLooper;
   }
 
+  /** @return a {@link LayoutHandler} on the thread the layouts are calculated on by default. */
+  static LayoutHandler createDefaultLayoutHandler() {
+    return new DefaultLayoutHandler(getDefaultLayoutThreadLooper());
+  }
+
+  /**
+   * @return the {@link LayoutHandler} node trees are released on when {@link
+   *     ComponentsConfiguration#releaseNodeTreesAsync} is enabled. It runs on its own thread, at a
+   *     lower priority than the threads layouts are calculated on.
+   */
+  static synchronized LayoutHandler getNodeTreeReleaseHandler() {
+    if (sNodeTreeReleaseHandler == null) {
+      final HandlerThread releaseThread =
+          new HandlerThread(NODE_TREE_RELEASE_THREAD_NAME, Process.THREAD_PRIORITY_LOWEST);
+      releaseThread.start();
+      sNodeTreeReleaseHandler = new DefaultLayoutHandler(releaseThread.getLooper());
+    }
+
+    return sNodeTreeReleaseHandler;
+  }
+
+  @VisibleForTesting
+  static synchronized void setNodeTreeReleaseHandler(@Nullable LayoutHandler handler) {
+    sNodeTreeReleaseHandler = handler;
+  }
+
   private static synchronized Looper getDefaultPreallocateMountContentThreadLooper() {
     if (sDefaultPreallocateMountContentThreadLooper == null) {
       final HandlerThread defaultThread = new HandlerThread(DEFAULT_PMC_THREAD_NAME);
@@ -1615,6 +1791,33 @@ public class ComponentTree {
       boolean diffingEnabled,
       @Nullable DiffNode diffNode,
       @CalculateLayoutSource int source) {
+    return calculateLayoutState(
+        lock,
+        context,
+        root,
+        widthSpec,
+        heightSpec,
+        diffingEnabled,
+        diffNode,
+        null /* previousLayoutState */,
+        source);
+  }
+
+  /**
+   * @param previousLayoutState the LayoutState the diff tree was taken from, used to patch the
+   *     sorted mountable outputs instead of sorting them from scratch. The caller must hold a
+   *     reference to it until this method returns.
+   */
+  protected LayoutState calculateLayoutState(
+      @Nullable Object lock,
+      ComponentContext context,
+      Component root,
+      int widthSpec,
+      int heightSpec,
+      boolean diffingEnabled,
+      @Nullable DiffNode diffNode,
+      @Nullable LayoutState previousLayoutState,
+      @CalculateLayoutSource int source) {
     final ComponentContext contextWithStateHandler;
     int simulateDelayNano = 0;
 
@@ -1650,6 +1853,7 @@ public class ComponentTree {
             heightSpec,
             diffingEnabled,
             diffNode,
+            previousLayoutState,
             mCanPrefetchDisplayLists,
             mCanCacheDrawingDisplayLists,
             mShouldClipChildren,
@@ -1669,6 +1873,7 @@ public class ComponentTree {
           heightSpec,
           diffingEnabled,
           diffNode,
+          previousLayoutState,
           mCanPrefetchDisplayLists,
           mCanCacheDrawingDisplayLists,
           mShouldClipChildren,
@@ -1709,6 +1914,23 @@ public class ComponentTree {
     return sIdGenerator.getAndIncrement();
   }
 
+  /** The root and size specs of a layout being calculated. */
+  private static class InFlightLayout {
+    private final int mRootId;
+    private final int mWidthSpec;
+    private final int mHeightSpec;
+
+    private InFlightLayout(int rootId, int widthSpec, int heightSpec) {
+      mRootId = rootId;
+      mWidthSpec = widthSpec;
+      mHeightSpec = heightSpec;
+    }
+
+    private boolean isFor(int rootId, int widthSpec, int heightSpec) {
+      return mRootId == rootId && mWidthSpec == widthSpec && mHeightSpec == heightSpec;
+    }
+  }
+
   private final class CalculateLayoutRunnable implements Runnable {
 
     private final @CalculateLayoutSource int mSource;
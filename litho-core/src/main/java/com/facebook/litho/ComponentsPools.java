@@ -580,6 +580,82 @@ public class ComponentsPools {
     }
   }
 
+  /**
+   * Warms up the framework on the default layout thread of {@link ComponentTree}, so that the first
+   * layouts of the app don't pay for it. See {@link #warmUp(ComponentContext, List,
+   * LayoutHandler)}.
+   */
+  public static void warmUp(ComponentContext context, List<Component> components) {
+    warmUp(context, components, ComponentTree.createDefaultLayoutHandler());
+  }
+
+  /**
+   * Warms up the framework on the given {@link LayoutHandler}, so that the first layouts of the app
+   * don't pay for it. This loads the Yoga library, fills the pools of the nodes and outputs every
+   * layout acquires up to {@link ComponentsConfiguration#warmUpPoolSize}, and calculates the layout
+   * of each of the given components once, which loads and initializes the classes they use.
+   *
+   * <p>Should be called once, as early as possible, e.g. when the app starts.
+   *
+   * @param components the components laid out first by the app, e.g. the roots of its first screen.
+   *     Their layouts are calculated with unspecified size specs and then discarded.
+   */
+  public static void warmUp(
+      final ComponentContext context,
+      final List<Component> components,
+      LayoutHandler layoutHandler) {
+    layoutHandler.post(
+        new Runnable() {
+          @Override
+          public void run() {
+            warmUpSync(context, components);
+          }
+        });
+  }
+
+  @VisibleForTesting
+  static void warmUpSync(ComponentContext context, List<Component> components) {
+    final boolean isTracing = ComponentsSystrace.isTracing();
+    if (isTracing) {
+      ComponentsSystrace.beginSection("warmUp");
+    }
+
+    // Creating the first YogaNode loads the Yoga library and creates the shared YogaConfig.
+    release(acquireYogaNode());
+
+    final int poolSize = ComponentsConfiguration.warmUpPoolSize;
+    for (int i = sYogaNodePool.getCurrentSize(); i < poolSize && !sYogaNodePool.isFull(); i++) {
+      sYogaNodePool.release(new YogaNode(sYogaConfig));
+    }
+    for (int i = sInternalNodePool.getCurrentSize();
+        i < poolSize && !sInternalNodePool.isFull();
+        i++) {
+      sInternalNodePool.release(new InternalNode());
+    }
+    for (int i = sLayoutOutputPool.getCurrentSize();
+        i < poolSize && !sLayoutOutputPool.isFull();
+        i++) {
+      sLayoutOutputPool.release(new LayoutOutput());
+    }
+
+    for (int i = 0, size = components.size(); i < size; i++) {
+      // The copy keeps the component the app passed in untouched, as it may still lay it out.
+      final LayoutState layoutState =
+          LayoutState.calculate(
+              new ComponentContext(context, StateHandler.acquireNewInstance(null)),
+              components.get(i).makeShallowCopy(),
+              ComponentTree.generateComponentTreeId(),
+              SizeSpec.makeSizeSpec(0, SizeSpec.UNSPECIFIED),
+              SizeSpec.makeSizeSpec(0, SizeSpec.UNSPECIFIED),
+              LayoutState.CalculateLayoutSource.NONE);
+      layoutState.releaseRef();
+    }
+
+    if (isTracing) {
+      ComponentsSystrace.endSection();
+    }
+  }
+
   private static @Nullable MountContentPool getMountContentPool(
       ComponentContext wrappedContext, ComponentLifecycle lifecycle) {
     if (lifecycle.poolSize() == 0) {
@@ -60,6 +60,47 @@ public class DeviceInfoUtils {
     return cores;
   }
 
+  /**
+   * Reads the maximum frequency of each CPU core from {@code
+   * /sys/devices/system/cpu/cpuN/cpufreq/cpuinfo_max_freq} to count the cores of the fastest
+   * cluster, i.e. the "big" cores of a big.LITTLE chipset. All the cores have the same maximum
+   * frequency on chipsets with a single cluster.
+   *
+   * @return Number of CPU cores with the highest maximum frequency, or DEVICEINFO_UKNOWN = -1 in
+   *     the event of an error.
+   */
+  public static int getNumberOfHighPerformanceCPUCores() {
+    final int cores = getNumberOfCPUCores();
+    if (cores == DEVICEINFO_UNKNOWN) {
+      return DEVICEINFO_UNKNOWN;
+    }
+
+    long highestFrequency = DEVICEINFO_UNKNOWN;
+    int highestFrequencyCores = 0;
+    for (int i = 0; i < cores; i++) {
+      final long frequency;
+      try {
+        frequency =
+            getLongFromFileInfo("/sys/devices/system/cpu/cpu" + i + "/cpufreq/cpuinfo_max_freq");
+      } catch (SecurityException e) {
+        return DEVICEINFO_UNKNOWN;
+      }
+
+      if (frequency == DEVICEINFO_UNKNOWN) {
+        return DEVICEINFO_UNKNOWN;
+      }
+
+      if (frequency > highestFrequency) {
+        highestFrequency = frequency;
+        highestFrequencyCores = 1;
+      } else if (frequency == highestFrequency) {
+        highestFrequencyCores++;
+      }
+    }
+
+    return highestFrequencyCores;
+  }
+
   /**
    * Tries to read file contents from the file location to determine the number of cores on device.
    *
@@ -87,6 +128,34 @@ public class DeviceInfoUtils {
     }
   }
 
+  /**
+   * Reads a number from the first line of the file at the given location.
+   *
+   * @return The number, or DEVICEINFO_UKNOWN = -1 in the event of an error.
+   */
+  private static long getLongFromFileInfo(String fileLocation) {
+    InputStream is = null;
+    try {
+      is = new FileInputStream(fileLocation);
+      BufferedReader buf = new BufferedReader(new InputStreamReader(is));
+      String fileContents = buf.readLine();
+      buf.close();
+      return fileContents == null ? DEVICEINFO_UNKNOWN : Long.parseLong(fileContents.trim());
+    } catch (IOException e) {
+      return DEVICEINFO_UNKNOWN;
+    } catch (NumberFormatException e) {
+      return DEVICEINFO_UNKNOWN;
+    } finally {
+      if (is != null) {
+        try {
+          is.close();
+        } catch (IOException e) {
+          // Do nothing.
+        }
+      }
+    }
+  }
+
   /**
    * Converts from a CPU core information format to number of cores.
    *
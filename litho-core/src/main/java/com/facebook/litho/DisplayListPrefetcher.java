@@ -11,18 +11,25 @@ package com.facebook.litho;
 
 import android.annotation.TargetApi;
 import android.os.Build;
+import android.support.annotation.Nullable;
 import android.view.Display;
 import android.view.View;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Queue;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
  * {@link Runnable} that is used to prefetch display lists of components for which layout has been
  * already calculated but not yet appeared on screen. This will allow for faster drawing time when
  * these components come to screen.
+ *
+ * <p>LayoutStates closer to the viewport (see {@link
+ * ComponentTree#setDisplayListPrefetchDistance(int)}) are processed first, and an item is only
+ * prefetched if the average time it took to record items of the same component type fits in what
+ * is left of the frame.
  */
 @TargetApi(Build.VERSION_CODES.LOLLIPOP)
 public final class DisplayListPrefetcher implements Runnable {
@@ -36,7 +43,8 @@ public final class DisplayListPrefetcher implements Runnable {
 
   private static final DisplayListPrefetcher sDisplayListPrefetcher = new DisplayListPrefetcher();
 
-  private final Queue<WeakReference<LayoutState>> mLayoutStates;
+  @GuardedBy("this")
+  private final LinkedList<WeakReference<LayoutState>> mLayoutStates;
 
   private long mFrameIntervalNs;
   private WeakReference<View> mHostingView;
@@ -100,28 +108,28 @@ public final class DisplayListPrefetcher implements Runnable {
     ComponentsSystrace.beginSection("DisplayListPrefetcher");
 
     while (true) {
-      final LayoutState currentLayoutState = getValidLayoutStateFromQueue();
-      if (currentLayoutState == null) {
-        break;
-      }
+      final LayoutState currentLayoutState;
+      final LayoutOutput currentLayoutOutput;
+      synchronized (this) {
+        currentLayoutState = getClosestLayoutStateFromQueue();
+        if (currentLayoutState == null) {
+          break;
+        }
 
-      if (!currentLayoutState.isActivityValid()) {
-        // There might be the case when LayoutState was posted when app was in foreground, but by
-        // the time this runnable is executed we no longer can create displaylist, i.e. GLContext
-        // has been killed, for example, if activity has finished.
-        mLayoutStates.remove();
-        continue;
+        currentLayoutOutput = currentLayoutState.peekNextLayoutOutputForDLPrefetch();
       }
 
-      final LayoutOutput currentLayoutOutput =
-          currentLayoutState.getNextLayoutOutputForDLPrefetch();
       final String currentComponentType = currentLayoutOutput.getComponent().getSimpleName();
       final long startPrefetchNs = System.nanoTime();
 
       if (!canPrefetchOnTime(currentComponentType, startPrefetchNs, nextVsyncNs)) {
+        // Keep the item queued, it will be prefetched in a later frame with more time left.
         break;
       }
 
+      synchronized (this) {
+        currentLayoutState.getNextLayoutOutputForDLPrefetch();
+      }
       currentLayoutState.createDisplayList(currentLayoutOutput);
       if (currentLayoutOutput.hasDisplayListContainer() // container might have been recycled.
           && currentLayoutOutput.hasValidDisplayList()) {
@@ -141,30 +149,42 @@ public final class DisplayListPrefetcher implements Runnable {
   }
 
   /**
-   * @return the next {@link LayoutState} from the queue that has non-zero elements to process.
+   * @return the {@link LayoutState} from the queue that has non-zero elements to process and is the
+   *     closest to the viewport. LayoutStates which were queued first win ties.
    */
-  private LayoutState getValidLayoutStateFromQueue() {
-    WeakReference<LayoutState> currentLayoutState = mLayoutStates.peek();
-    while (currentLayoutState != null) {
-      final LayoutState layoutState = currentLayoutState.get();
+  @GuardedBy("this")
+  private @Nullable LayoutState getClosestLayoutStateFromQueue() {
+    LayoutState closestLayoutState = null;
+    int closestDistance = Integer.MAX_VALUE;
+
+    final Iterator<WeakReference<LayoutState>> iterator = mLayoutStates.iterator();
+    while (iterator.hasNext()) {
+      final LayoutState layoutState = iterator.next().get();
       if (layoutState != null) {
         layoutState.trimDisplayListItemsQueue();
       }
 
       if (layoutState == null || !layoutState.hasItemsForDLPrefetch()) {
-        mLayoutStates.remove();
-        currentLayoutState = mLayoutStates.peek();
-      } else {
-        break;
+        iterator.remove();
+        continue;
+      }
+
+      if (!layoutState.isActivityValid()) {
+        // There might be the case when LayoutState was posted when app was in foreground, but by
+        // the time this runnable is executed we no longer can create displaylist, i.e. GLContext
+        // has been killed, for example, if activity has finished.
+        iterator.remove();
+        continue;
       }
-    }
 
-    if (currentLayoutState == null) {
-      // Queue is empty.
-      return null;
+      final int distance = layoutState.getDisplayListPrefetchDistance();
+      if (closestLayoutState == null || distance < closestDistance) {
+        closestLayoutState = layoutState;
+        closestDistance = distance;
+      }
     }
 
-    return currentLayoutState.get();
+    return closestLayoutState;
   }
 
   private void updateAveragePrefetchDuration(String componentType, long actualElapsedNs) {
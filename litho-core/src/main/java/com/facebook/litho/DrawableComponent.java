@@ -17,6 +17,7 @@ class DrawableComponent<T extends Drawable> extends Component {
   Reference<T> mDrawable;
   int mDrawableWidth;
   int mDrawableHeight;
+  boolean mShouldUseDisplayList;
 
   private DrawableComponent(Reference drawable) {
     super();
@@ -66,6 +67,11 @@ class DrawableComponent<T extends Drawable> extends Component {
     return true;
   }
 
+  @Override
+  protected boolean shouldUseDisplayList() {
+    return mShouldUseDisplayList;
+  }
+
   @Override
   public MountType getMountType() {
     return MountType.DRAWABLE;
@@ -75,6 +81,14 @@ class DrawableComponent<T extends Drawable> extends Component {
     return new DrawableComponent<>(drawable);
   }
 
+  static DrawableComponent create(
+      Reference<? extends Drawable> drawable, boolean shouldUseDisplayList) {
+    final DrawableComponent drawableComponent = new DrawableComponent<>(drawable);
+    drawableComponent.mShouldUseDisplayList = shouldUseDisplayList;
+
+    return drawableComponent;
+  }
+
   @Override
   protected boolean shouldUpdate(Component previous, Component next) {
     final Reference previousReference = ((DrawableComponent) previous).getDrawable();
@@ -33,6 +33,21 @@ public class EventHandler<E> {
     this.params = params;
   }
 
+  /**
+   * Rebinds this handler to the component that now owns it, e.g. the copy of its creator from the
+   * most recent layout, and updates the context it was created with. Generated typed handlers
+   * override this to update their context field in place.
+   */
+  public void bindToDispatcher(
+      HasEventDispatcher hasEventDispatcher, ComponentContext scopedContext) {
+    mHasEventDispatcher = hasEventDispatcher;
+
+    // Params should only be null for tests and generated typed handlers
+    if (params != null) {
+      params[0] = scopedContext;
+    }
+  }
+
   public void dispatchEvent(E event) {
     mHasEventDispatcher.getEventDispatcher().dispatchOnEvent(this, event);
   }
@@ -23,13 +23,7 @@ public class EventHandlersWrapper {
 
   void bindToDispatcherComponent(Component dispatcher) {
     for (int i = 0, size = eventHandlers.size(); i < size; i++) {
-      final EventHandler eventHandler = eventHandlers.get(i);
-      eventHandler.mHasEventDispatcher = dispatcher;
-
-      // Params should only be null for tests
-      if (eventHandler.params != null) {
-        eventHandler.params[0] = dispatcher.getScopedContext();
-      }
+      eventHandlers.get(i).bindToDispatcher(dispatcher, dispatcher.getScopedContext());
     }
   }
 }
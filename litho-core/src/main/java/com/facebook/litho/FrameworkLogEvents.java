@@ -31,6 +31,8 @@ public interface FrameworkLogEvents {
   int EVENT_SECTIONS_ON_CREATE_CHILDREN = 14;
   int EVENT_SECTIONS_SET_ROOT = 15;
   int EVENT_CALCULATE_LAYOUT_STATE = 16;
+  int EVENT_LAYOUT_THREAD_POOL_STATS = 17;
+  int EVENT_LAYOUT_CANCELLED = 18;
 
   String PARAM_COMPONENT = "component";
   String PARAM_LOG_TAG = "log_tag";
@@ -60,4 +62,9 @@ public interface FrameworkLogEvents {
   String PARAM_SECTION_SET_ROOT_SOURCE = "section_set_root_source";
   String PARAM_SET_ROOT_ON_BG_THREAD = "sections_set_root_bg_thread";
   String PARAM_LAYOUT_STATE_SOURCE = "calculate_layout_state_source";
+  String PARAM_TASK_COUNT = "task_count";
+  String PARAM_MAX_QUEUE_DEPTH = "max_queue_depth";
+  String PARAM_STEAL_COUNT = "steal_count";
+  String PARAM_WASTED_TIME = "wasted_time_ms";
+  String PARAM_ESTIMATED_SAVED_TIME = "estimated_saved_time_ms";
 }
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Lets a {@link ComponentTree} tell a layout it is calculating on another thread that its result
+ * won't be used, e.g. because the root or the size specs changed since it started. The layout
+ * checks it between the stages of {@link LayoutState#calculate} and stops as soon as it can,
+ * releasing the nodes it already created.
+ */
+@ThreadSafe
+final class LayoutCancellation {
+
+  private final int mRootId;
+  private final int mWidthSpec;
+  private final int mHeightSpec;
+  private volatile boolean mIsCancelled;
+
+  LayoutCancellation(int rootId, int widthSpec, int heightSpec) {
+    mRootId = rootId;
+    mWidthSpec = widthSpec;
+    mHeightSpec = heightSpec;
+  }
+
+  /** @return whether the layout is for the given root and size specs. */
+  boolean isFor(int rootId, int widthSpec, int heightSpec) {
+    return mRootId == rootId && mWidthSpec == widthSpec && mHeightSpec == heightSpec;
+  }
+
+  void cancel() {
+    mIsCancelled = true;
+  }
+
+  boolean isCancelled() {
+    return mIsCancelled;
+  }
+}
@@ -15,6 +15,7 @@ import static android.os.Build.VERSION_CODES.JELLY_BEAN_MR1;
 import static android.os.Build.VERSION_CODES.M;
 import static android.support.v4.view.ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_AUTO;
 import static android.support.v4.view.ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO;
+import static android.support.v4.view.ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_YES;
 import static com.facebook.litho.Component.isHostSpec;
 import static com.facebook.litho.Component.isLayoutSpecWithSizeSpec;
 import static com.facebook.litho.Component.isMountDrawableSpec;
@@ -27,12 +28,16 @@ import static com.facebook.litho.FrameworkLogEvents.EVENT_CALCULATE_LAYOUT_STATE
 import static com.facebook.litho.FrameworkLogEvents.EVENT_COLLECT_RESULTS;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_CREATE_LAYOUT;
 import static com.facebook.litho.FrameworkLogEvents.EVENT_CSS_LAYOUT;
+import static com.facebook.litho.FrameworkLogEvents.EVENT_LAYOUT_CANCELLED;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_COMPONENT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_ESTIMATED_SAVED_TIME;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_LAYOUT_STATE_SOURCE;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_LOG_TAG;
 import static com.facebook.litho.FrameworkLogEvents.PARAM_TREE_DIFF_ENABLED;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_WASTED_TIME;
 import static com.facebook.litho.MountItem.FLAG_DISABLE_TOUCHABLE;
 import static com.facebook.litho.MountItem.FLAG_DUPLICATE_PARENT_STATE;
+import static com.facebook.litho.MountItem.FLAG_LAZY_ACCESSIBILITY;
 import static com.facebook.litho.MountItem.FLAG_MATCH_HOST_BOUNDS;
 import static com.facebook.litho.MountState.ROOT_HOST_ID;
 import static com.facebook.litho.NodeInfo.ENABLED_SET_FALSE;
@@ -40,6 +45,7 @@ import static com.facebook.litho.NodeInfo.ENABLED_UNSET;
 import static com.facebook.litho.NodeInfo.FOCUS_SET_TRUE;
 import static com.facebook.litho.SizeSpec.EXACTLY;
 import static com.facebook.litho.TransitionUtils.hasAnimationForProperty;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import android.annotation.TargetApi;
 import android.app.Activity;
@@ -154,6 +160,12 @@ class LayoutState {
   @ThreadConfined(ThreadConfined.ANY)
   private final Rect mDisplayListQueueRect = new Rect();
 
+  // Patching the previous sorted outputs only pays off for bigger layouts where at least half of
+  // the outputs were reused and each output moved by a couple of positions at most on average.
+  private static final int INCREMENTAL_SORT_MIN_OUTPUTS = 16;
+  private static final int INCREMENTAL_SORT_MIN_REUSE_DENOMINATOR = 2;
+  private static final int INCREMENTAL_SORT_MAX_SHIFTS_PER_OUTPUT = 2;
+
   private static final int[] DRAWABLE_STATE_ENABLED = new int[]{android.R.attr.state_enabled};
   private static final int[] DRAWABLE_STATE_NOT_ENABLED = new int[]{};
 
@@ -172,6 +184,7 @@ class LayoutState {
   private final ArrayList<LayoutOutput> mMountableOutputTops = new ArrayList<>();
   private final ArrayList<LayoutOutput> mMountableOutputBottoms = new ArrayList<>();
   private final Queue<Integer> mDisplayListsToPrefetch = new LinkedList<>();
+  private volatile int mDisplayListPrefetchDistance = Integer.MAX_VALUE;
 
   private List<TestOutput> mTestOutputs;
 
@@ -201,6 +214,9 @@ class LayoutState {
 
   private AccessibilityManager mAccessibilityManager;
   private boolean mAccessibilityEnabled = false;
+  // Whether some nodes need their own host when accessibility is enabled, in which case the layout
+  // depends on the accessibility state even with ComponentsConfiguration.lazyAccessibility.
+  private boolean mHasAccessibilityHostContent = false;
 
   private StateHandler mStateHandler;
   private boolean mCanPrefetchDisplayLists;
@@ -210,6 +226,7 @@ class LayoutState {
   private SimpleArrayMap<String, LayoutOutput> mTransitionKeyMapping;
   private boolean mHasLithoViewWidthAnimation = false;
   private boolean mHasLithoViewHeightAnimation = false;
+  private boolean mIsCancelled;
   long mCalculateLayoutDuration;
 
   LayoutState() {
@@ -238,14 +255,26 @@ class LayoutState {
       return null;
     }
 
-    return createLayoutOutput(
-        component,
-        layoutState,
-        node,
-        true /* useNodePadding */,
-        node.getImportantForAccessibility(),
-        layoutState.mShouldDuplicateParentState,
-        hasHostView);
+    final LayoutOutput layoutOutput =
+        createLayoutOutput(
+            component,
+            layoutState,
+            node,
+            true /* useNodePadding */,
+            node.getImportantForAccessibility(),
+            layoutState.mShouldDuplicateParentState,
+            hasHostView);
+
+    // Drawables without a host of their own have their accessibility content exposed by the host
+    // they are mounted in. Flag them here so that hosts don't have to look for them at mount time.
+    if (!hasHostView
+        && ComponentsConfiguration.lazyAccessibility
+        && hasLazyAccessibilityContent(node)) {
+      layoutOutput.setFlags(layoutOutput.getFlags() | FLAG_LAZY_ACCESSIBILITY);
+      layoutOutput.setNodeInfo(node.getNodeInfo());
+    }
+
+    return layoutOutput;
   }
 
   private static LayoutOutput createHostLayoutOutput(LayoutState layoutState, InternalNode node) {
@@ -456,6 +485,35 @@ class LayoutState {
     return context.getResources().getConfiguration().getLayoutDirection();
   }
 
+  /**
+   * @return whether the accessibility content of the node can be exposed as a virtual view of the
+   *     host it is mounted in, see {@link ComponentAccessibilityDelegate}. That is the case for
+   *     drawables without accessibility handlers or an importance that only applies to views.
+   */
+  private static boolean canExposeAccessibilityLazily(InternalNode node) {
+    final NodeInfo nodeInfo = node.getNodeInfo();
+    final int importantForAccessibility = node.getImportantForAccessibility();
+
+    return isMountDrawableSpec(node.getRootComponent())
+        && (nodeInfo == null || !nodeInfo.needsAccessibilityDelegate())
+        && (importantForAccessibility == IMPORTANT_FOR_ACCESSIBILITY_AUTO
+            || importantForAccessibility == IMPORTANT_FOR_ACCESSIBILITY_YES);
+  }
+
+  /**
+   * @return whether the node has accessibility content that its host exposes as a virtual view
+   *     when it isn't wrapped in a host of its own.
+   */
+  private static boolean hasLazyAccessibilityContent(InternalNode node) {
+    if (!canExposeAccessibilityLazily(node)) {
+      return false;
+    }
+
+    final NodeInfo nodeInfo = node.getNodeInfo();
+    return node.getRootComponent().implementsAccessibility()
+        || (nodeInfo != null && !TextUtils.isEmpty(nodeInfo.getContentDescription()));
+  }
+
   /**
    * Determine if a given {@link InternalNode} within the context of a given {@link LayoutState}
    * requires to be wrapped inside a view.
@@ -485,11 +543,20 @@ class LayoutState {
     // so that such flag is applied in the resulting view hierarchy after the component
     // tree is mounted. Click handling is also considered accessibility content but
     // this is already covered separately i.e. click handler is not null.
-    final boolean hasAccessibilityContent = layoutState.mAccessibilityEnabled
-        && importantForAccessibility != IMPORTANT_FOR_ACCESSIBILITY_NO
-        && (implementsAccessibility
-            || (nodeInfo != null && !TextUtils.isEmpty(nodeInfo.getContentDescription()))
-            || importantForAccessibility != IMPORTANT_FOR_ACCESSIBILITY_AUTO);
+    // With ComponentsConfiguration.lazyAccessibility, the content of drawables that only have a
+    // content description or implement accessibility themselves is exposed by their host at mount
+    // time instead, the other nodes still need their own host.
+    final boolean needsAccessibilityHost =
+        importantForAccessibility != IMPORTANT_FOR_ACCESSIBILITY_NO
+            && (implementsAccessibility
+                || (nodeInfo != null && !TextUtils.isEmpty(nodeInfo.getContentDescription()))
+                || importantForAccessibility != IMPORTANT_FOR_ACCESSIBILITY_AUTO)
+            && !(ComponentsConfiguration.lazyAccessibility && canExposeAccessibilityLazily(node));
+    if (needsAccessibilityHost) {
+      layoutState.mHasAccessibilityHostContent = true;
+    }
+    final boolean hasAccessibilityContent =
+        layoutState.mAccessibilityEnabled && needsAccessibilityHost;
 
     final boolean hasFocusChangeHandler = (nodeInfo != null && nodeInfo.hasFocusChangeHandler());
     final boolean hasEnabledTouchEventHandlers =
@@ -890,7 +957,10 @@ class LayoutState {
       Reference<? extends Drawable> reference,
       @LayoutOutput.LayoutOutputType int type,
       boolean matchHostBoundsTransitions) {
-    final Component drawableComponent = DrawableComponent.create(reference);
+    final Component drawableComponent =
+        DrawableComponent.create(
+            reference,
+            type == LayoutOutput.TYPE_BORDER && ComponentsConfiguration.useDisplayListForBorders);
     drawableComponent.setScopedContext(
         ComponentContext.withComponentScope(node.getContext(), drawableComponent));
     final boolean isOutputUpdated;
@@ -1092,6 +1162,40 @@ class LayoutState {
       boolean canCacheDrawingDisplayLists,
       boolean clipChildren,
       @CalculateLayoutSource int source) {
+    return calculate(
+        c,
+        component,
+        componentTreeId,
+        widthSpec,
+        heightSpec,
+        shouldGenerateDiffTree,
+        previousDiffTreeRoot,
+        null /* previousLayoutState */,
+        canPrefetchDisplayLists,
+        canCacheDrawingDisplayLists,
+        clipChildren,
+        source);
+  }
+
+  /**
+   * @param previousLayoutState the last LayoutState computed for the same tree, if any. When
+   *     {@link ComponentsConfiguration#incrementalMountableOutputSort} is enabled its sorted tops
+   *     and bottoms are used to patch the sorted outputs of the new LayoutState instead of sorting
+   *     them from scratch. The caller must hold a reference to it for the duration of this call.
+   */
+  static LayoutState calculate(
+      ComponentContext c,
+      Component component,
+      int componentTreeId,
+      int widthSpec,
+      int heightSpec,
+      boolean shouldGenerateDiffTree,
+      DiffNode previousDiffTreeRoot,
+      @Nullable LayoutState previousLayoutState,
+      boolean canPrefetchDisplayLists,
+      boolean canCacheDrawingDisplayLists,
+      boolean clipChildren,
+      @CalculateLayoutSource int source) {
 
     final ComponentsLogger logger = c.getLogger();
     LogEvent logLayoutState = null;
@@ -1140,6 +1244,42 @@ class LayoutState {
                 previousDiffTreeRoot)
             : component.mLayoutCreatedInWillRender;
 
+    // Collecting the results is the last expensive stage, skip it if the layout won't be used.
+    if (c.isLayoutCancelled()) {
+      if (root != NULL_LAYOUT) {
+        releaseNodeTree(root, false /* isNestedTree */);
+      }
+
+      layoutState.mIsCancelled = true;
+      layoutState.mCalculateLayoutDuration = System.nanoTime() - timestampStartLayout;
+
+      if (logger != null) {
+        final LogEvent cancelledEvent = logger.newEvent(EVENT_LAYOUT_CANCELLED);
+        cancelledEvent.addParam(PARAM_LOG_TAG, c.getLogTag());
+        cancelledEvent.addParam(PARAM_LAYOUT_STATE_SOURCE, sourceToString(source));
+        cancelledEvent.addParam(
+            PARAM_WASTED_TIME,
+            String.valueOf(NANOSECONDS.toMillis(layoutState.mCalculateLayoutDuration)));
+        if (previousLayoutState != null) {
+          // The previous layout of the same tree is the best estimate of how long this one would
+          // have taken to complete.
+          final long savedTimeNs =
+              previousLayoutState.mCalculateLayoutDuration
+                  - layoutState.mCalculateLayoutDuration;
+          cancelledEvent.addParam(
+              PARAM_ESTIMATED_SAVED_TIME,
+              String.valueOf(NANOSECONDS.toMillis(Math.max(0, savedTimeNs))));
+        }
+        logger.log(cancelledEvent);
+      }
+
+      if (isTracing) {
+        ComponentsSystrace.endSection();
+      }
+
+      return layoutState;
+    }
+
     switch (SizeSpec.getMode(widthSpec)) {
       case SizeSpec.EXACTLY:
         layoutState.mWidth = SizeSpec.getSize(widthSpec);
@@ -1187,8 +1327,7 @@ class LayoutState {
 
     collectResults(root, layoutState, null);
 
-    Collections.sort(layoutState.mMountableOutputTops, sTopsComparator);
-    Collections.sort(layoutState.mMountableOutputBottoms, sBottomsComparator);
+    sortMountableOutputs(layoutState, previousLayoutState);
 
     if (logger != null) {
       logger.log(collectResultsEvent);
@@ -1201,7 +1340,12 @@ class LayoutState {
     if (!ComponentsConfiguration.isDebugModeEnabled
         && !ComponentsConfiguration.persistInternalNodeTree
         && layoutState.mLayoutRoot != null) {
-      releaseNodeTree(layoutState.mLayoutRoot, false /* isNestedTree */);
+      if (ComponentsConfiguration.releaseNodeTreesAsync) {
+        ComponentTree.getNodeTreeReleaseHandler()
+            .post(new ReleaseNodeTreeRunnable(layoutState.mLayoutRoot));
+      } else {
+        releaseNodeTree(layoutState.mLayoutRoot, false /* isNestedTree */);
+      }
       layoutState.mLayoutRoot = null;
     }
 
@@ -1229,6 +1373,129 @@ class LayoutState {
     return layoutState;
   }
 
+  /**
+   * Sorts the mountable outputs by top and by bottom for incremental mount. If the previous
+   * LayoutState of the same tree shares most of its outputs with the new one (i.e. their ids were
+   * preserved by the layout diffing), the previous sorted orders are patched instead.
+   */
+  private static void sortMountableOutputs(
+      LayoutState layoutState, @Nullable LayoutState previousLayoutState) {
+    final boolean canPatch =
+        ComponentsConfiguration.incrementalMountableOutputSort
+            && previousLayoutState != null
+            && previousLayoutState != layoutState
+            && previousLayoutState.mComponentTreeId == layoutState.mComponentTreeId;
+
+    if (!canPatch
+        || !patchSortedMountableOutputs(
+            layoutState,
+            previousLayoutState.mMountableOutputTops,
+            layoutState.mMountableOutputTops,
+            sTopsComparator)) {
+      Collections.sort(layoutState.mMountableOutputTops, sTopsComparator);
+    }
+
+    if (!canPatch
+        || !patchSortedMountableOutputs(
+            layoutState,
+            previousLayoutState.mMountableOutputBottoms,
+            layoutState.mMountableOutputBottoms,
+            sBottomsComparator)) {
+      Collections.sort(layoutState.mMountableOutputBottoms, sBottomsComparator);
+    }
+  }
+
+  /**
+   * Builds the sorted order of the mountable outputs of the given LayoutState starting from the
+   * sorted order of a previous LayoutState. Outputs which kept their id are seeded in their previous
+   * order and fixed up with an insertion sort (cheap as long as only a few of them moved), new
+   * outputs are sorted on their own and merged in.
+   *
+   * @return false, leaving the destination untouched, if too few outputs were reused or too many
+   *     of them moved for patching to be cheaper than a full sort.
+   */
+  @VisibleForTesting
+  static boolean patchSortedMountableOutputs(
+      LayoutState layoutState,
+      List<LayoutOutput> previousSortedOutputs,
+      ArrayList<LayoutOutput> destination,
+      Comparator<LayoutOutput> comparator) {
+    final List<LayoutOutput> mountableOutputs = layoutState.mMountableOutputs;
+    final int count = mountableOutputs.size();
+    final int previousCount = previousSortedOutputs.size();
+
+    if (count < INCREMENTAL_SORT_MIN_OUTPUTS
+        || previousCount * INCREMENTAL_SORT_MIN_REUSE_DENOMINATOR < count) {
+      return false;
+    }
+
+    final boolean[] reused = new boolean[count];
+    final int[] sortedPositions = new int[count];
+    int reusedCount = 0;
+
+    for (int i = 0; i < previousCount; i++) {
+      final Integer position =
+          layoutState.mOutputsIdToPositionMap.get(previousSortedOutputs.get(i).getId());
+      if (position == null || reused[position]) {
+        continue;
+      }
+
+      reused[position] = true;
+      sortedPositions[reusedCount++] = position;
+    }
+
+    if (reusedCount * INCREMENTAL_SORT_MIN_REUSE_DENOMINATOR < count) {
+      return false;
+    }
+
+    // Fix up the outputs which moved with an insertion sort, bailing out if it turns out that too
+    // many of them did.
+    final int maxShifts = count * INCREMENTAL_SORT_MAX_SHIFTS_PER_OUTPUT;
+    int shifts = 0;
+    for (int i = 1; i < reusedCount; i++) {
+      final int position = sortedPositions[i];
+      final LayoutOutput output = mountableOutputs.get(position);
+      int j = i - 1;
+      while (j >= 0 && comparator.compare(mountableOutputs.get(sortedPositions[j]), output) > 0) {
+        sortedPositions[j + 1] = sortedPositions[j];
+        j--;
+        if (++shifts > maxShifts) {
+          return false;
+        }
+      }
+      sortedPositions[j + 1] = position;
+    }
+
+    final ArrayList<LayoutOutput> newOutputs = new ArrayList<>(count - reusedCount);
+    for (int i = 0; i < count; i++) {
+      if (!reused[i]) {
+        newOutputs.add(mountableOutputs.get(i));
+      }
+    }
+    Collections.sort(newOutputs, comparator);
+
+    destination.clear();
+    destination.ensureCapacity(count);
+
+    int reusedIndex = 0;
+    int newIndex = 0;
+    final int newCount = newOutputs.size();
+    while (reusedIndex < reusedCount || newIndex < newCount) {
+      if (newIndex == newCount
+          || (reusedIndex < reusedCount
+              && comparator.compare(
+                      mountableOutputs.get(sortedPositions[reusedIndex]),
+                      newOutputs.get(newIndex))
+                  <= 0)) {
+        destination.add(mountableOutputs.get(sortedPositions[reusedIndex++]));
+      } else {
+        destination.add(newOutputs.get(newIndex++));
+      }
+    }
+
+    return true;
+  }
+
   private static String sourceToString(@CalculateLayoutSource int source) {
     switch (source) {
       case CalculateLayoutSource.SET_ROOT:
@@ -1368,8 +1635,13 @@ class LayoutState {
     }
 
     final ComponentLifecycle lifecycle = component;
-    final DisplayList displayList = DisplayList.createDisplayList(
-        lifecycle.getClass().getSimpleName());
+
+    // Re-record the invalidated DisplayList of this output if it has one, otherwise create one.
+    final DisplayList previousDisplayList = output.getDisplayList();
+    final DisplayList displayList =
+        previousDisplayList != null
+            ? previousDisplayList
+            : DisplayList.createDisplayList(lifecycle.getClass().getSimpleName());
 
     if (displayList == null) {
       ComponentsSystrace.endSection();
@@ -1637,6 +1909,10 @@ class LayoutState {
       int heightSpec,
       DiffNode diffTreeRoot) {
 
+    if (c.isLayoutCancelled()) {
+      return NULL_LAYOUT;
+    }
+
     component.generateKey(c);
     component.applyStateUpdates(c);
 
@@ -1682,6 +1958,12 @@ class LayoutState {
       return root;
     }
 
+    // Measuring a tree whose layout won't be used is the most expensive part of the waste.
+    if (c.isLayoutCancelled()) {
+      releaseNodeTree(root, hasNestedTreeHolder);
+      return NULL_LAYOUT;
+    }
+
     // If measuring a ComponentTree with a LayoutSpecWithSizeSpec at the root, the nested tree
     // holder argument will be null.
     if (hasNestedTreeHolder && isLayoutSpecWithSizeSpec(component)) {
@@ -1737,6 +2019,12 @@ class LayoutState {
   }
 
   boolean isCompatibleAccessibility() {
+    if (ComponentsConfiguration.lazyAccessibility && !mHasAccessibilityHostContent) {
+      // All the accessible content is exposed by its host at mount time, so the layout doesn't
+      // depend on the accessibility state.
+      return true;
+    }
+
     return isAccessibilityEnabled(mAccessibilityManager) == mAccessibilityEnabled;
   }
 
@@ -1903,6 +2191,14 @@ class LayoutState {
     return mWidth;
   }
 
+  /**
+   * @return whether the calculation of this LayoutState was cancelled before it completed, in which
+   *     case it has no outputs and shouldn't be used.
+   */
+  boolean isCancelled() {
+    return mIsCancelled;
+  }
+
   int getHeight() {
     return mHeight;
   }
@@ -1948,6 +2244,7 @@ class LayoutState {
       mMountableOutputBottoms.clear();
       mOutputsIdToPositionMap.clear();
       mDisplayListsToPrefetch.clear();
+      mDisplayListPrefetchDistance = Integer.MAX_VALUE;
 
       for (Rect rect : mComponentKeyToBounds.values()) {
         ComponentsPools.release(rect);
@@ -1969,6 +2266,7 @@ class LayoutState {
       mShouldGenerateDiffTree = false;
       mAccessibilityManager = null;
       mAccessibilityEnabled = false;
+      mHasAccessibilityHostContent = false;
 
       if (mDiffTreeRoot != null) {
         ComponentsPools.release(mDiffTreeRoot);
@@ -1996,6 +2294,7 @@ class LayoutState {
       mTransitionKeyMapping = null;
       mHasLithoViewWidthAnimation = false;
       mHasLithoViewHeightAnimation = false;
+      mIsCancelled = false;
 
       ComponentsPools.release(this);
     }
@@ -2213,6 +2512,26 @@ class LayoutState {
     }
   }
 
+  /**
+   * Sets how far, in items, the content of this LayoutState is from the viewport it will be shown
+   * in. {@link DisplayListPrefetcher} records the display lists of closer LayoutStates first.
+   */
+  void setDisplayListPrefetchDistance(int distance) {
+    mDisplayListPrefetchDistance = distance;
+  }
+
+  int getDisplayListPrefetchDistance() {
+    return mDisplayListPrefetchDistance;
+  }
+
+  /**
+   * Returns next {@link LayoutOutput} from the queue for Display Lists without removing it.
+   * Note that it is callers responsibility to make sure queue is not empty.
+   */
+  LayoutOutput peekNextLayoutOutputForDLPrefetch() {
+    return getMountableOutputAt(mDisplayListsToPrefetch.peek());
+  }
+
   /**
    * Removes and returns next {@link LayoutOutput} from the queue for Display Lists.
    * Note that it is callers responsibility to make sure queue is not empty.
@@ -2230,4 +2549,21 @@ class LayoutState {
   List<Component> getComponentsNeedingPreviousRenderData() {
     return mComponentsNeedingPreviousRenderData;
   }
+
+  /**
+   * Releases an InternalNode tree that is no longer referenced by the LayoutState it was laid out
+   * for.
+   */
+  private static class ReleaseNodeTreeRunnable implements Runnable {
+    private final InternalNode mRoot;
+
+    ReleaseNodeTreeRunnable(InternalNode root) {
+      mRoot = root;
+    }
+
+    @Override
+    public void run() {
+      releaseNodeTree(mRoot, false /* isNestedTree */);
+    }
+  }
 }
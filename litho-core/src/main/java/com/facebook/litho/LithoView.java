@@ -21,6 +21,7 @@ import android.support.v4.view.accessibility.AccessibilityManagerCompat.Accessib
 import android.util.AttributeSet;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.view.accessibility.AccessibilityManager;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.proguard.annotations.DoNotStrip;
@@ -46,6 +47,15 @@ public class LithoView extends ComponentHost {
   private boolean mIsAttached;
   private final Rect mPreviousMountBounds = new Rect();
 
+  // The visible rect last pushed down by the mount pass of an ancestor LithoView, and the bounds
+  // and parent scroll offset this view had then, see
+  // ComponentsConfiguration#incrementalMountUsesPropagatedVisibleRect.
+  private final Rect mPropagatedVisibleRect = new Rect();
+  private final Rect mPropagatedVisibleRectBounds = new Rect();
+  private int mPropagatedVisibleRectParentScrollX;
+  private int mPropagatedVisibleRectParentScrollY;
+  private boolean mHasPropagatedVisibleRect;
+
   private boolean mForceLayout;
   private boolean mSuppressMeasureComponentTree;
   private boolean mIsMeasuring = false;
@@ -196,6 +206,7 @@ public class LithoView extends ComponentHost {
           mAccessibilityStateChangeListener);
 
       mSuppressMeasureComponentTree = false;
+      clearPropagatedVisibleRect();
     }
   }
 
@@ -408,6 +419,7 @@ public class LithoView extends ComponentHost {
 
     mHasNewComponentTree = true;
     setMountStateDirty();
+    clearPropagatedVisibleRect();
 
     if (mComponentTree != null) {
       if (mIsAttached) {
@@ -620,6 +632,56 @@ public class LithoView extends ComponentHost {
     }
   }
 
+  /**
+   * Keeps the visible rect the mount pass of an ancestor LithoView computed for this view, so that
+   * the mounts this view triggers itself, e.g. on state updates, can reuse it as long as this view
+   * hasn't moved instead of measuring itself on screen.
+   */
+  void setPropagatedVisibleRect(Rect visibleRect) {
+    if (!ComponentsConfiguration.incrementalMountUsesPropagatedVisibleRect) {
+      return;
+    }
+
+    final ViewParent parent = getParent();
+    if (parent instanceof View) {
+      mPropagatedVisibleRect.set(visibleRect);
+      mPropagatedVisibleRectBounds.set(getLeft(), getTop(), getRight(), getBottom());
+      mPropagatedVisibleRectParentScrollX = ((View) parent).getScrollX();
+      mPropagatedVisibleRectParentScrollY = ((View) parent).getScrollY();
+      mHasPropagatedVisibleRect = true;
+    }
+  }
+
+  /**
+   * @return whether the visible rect last pushed down by an ancestor LithoView is still valid, in
+   *     which case it's copied to outRect. It isn't once this view has been detached, or has moved
+   *     or was scrolled since.
+   */
+  boolean getPropagatedVisibleRect(Rect outRect) {
+    if (!mHasPropagatedVisibleRect || !mIsAttached) {
+      return false;
+    }
+
+    final ViewParent parent = getParent();
+    if (!(parent instanceof View)
+        || ((View) parent).getScrollX() != mPropagatedVisibleRectParentScrollX
+        || ((View) parent).getScrollY() != mPropagatedVisibleRectParentScrollY
+        || getLeft() != mPropagatedVisibleRectBounds.left
+        || getTop() != mPropagatedVisibleRectBounds.top
+        || getRight() != mPropagatedVisibleRectBounds.right
+        || getBottom() != mPropagatedVisibleRectBounds.bottom) {
+      return false;
+    }
+
+    outRect.set(mPropagatedVisibleRect);
+    return true;
+  }
+
+  /** Called when an ancestor LithoView found this view outside of its visible rect. */
+  void clearPropagatedVisibleRect() {
+    mHasPropagatedVisibleRect = false;
+  }
+
   public void performIncrementalMount() {
     if (mComponentTree == null || !checkMainThreadLayoutStateForIncrementalMount()) {
       return;
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import android.content.res.Resources;
+import android.support.annotation.AttrRes;
+import android.support.annotation.StyleRes;
+import android.support.annotation.VisibleForTesting;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Cache of the styles loaded by the components whose {@link
+ * com.facebook.litho.annotations.OnLoadStyle} method is cacheable. A loaded style is kept as a
+ * detached copy of the first component of its type that was styled with it (see {@link
+ * Component#makeLoadedStyleCopy()}), by theme, component type, default style attribute and default
+ * style resource. Themes and ResourceCaches are weakly held so that they don't outlive their
+ * Context.
+ */
+@ThreadSafe
+class LoadedStyleCache {
+
+  @GuardedBy("sLoadedStylesByTheme")
+  private static final Map<Resources.Theme, Map<StyleKey, LoadedStyle>> sLoadedStylesByTheme =
+      new WeakHashMap<>();
+
+  // Reused for lookups, so that finding a loaded style doesn't allocate.
+  @GuardedBy("sLoadedStylesByTheme")
+  private static final StyleKey sLookupKey = new StyleKey();
+
+  @Nullable
+  static Component get(
+      ComponentContext c, int typeId, @AttrRes int defStyleAttr, @StyleRes int defStyleRes) {
+    synchronized (sLoadedStylesByTheme) {
+      final Map<StyleKey, LoadedStyle> loadedStyles = sLoadedStylesByTheme.get(c.getTheme());
+      if (loadedStyles == null) {
+        return null;
+      }
+
+      sLookupKey.set(typeId, defStyleAttr, defStyleRes);
+      final LoadedStyle loadedStyle = loadedStyles.get(sLookupKey);
+
+      // Resources resolve to different values after a configuration change.
+      return loadedStyle != null && loadedStyle.mResourceCache.get() == c.getResourceCache()
+          ? loadedStyle.mComponent
+          : null;
+    }
+  }
+
+  static void put(
+      ComponentContext c,
+      int typeId,
+      @AttrRes int defStyleAttr,
+      @StyleRes int defStyleRes,
+      Component loadedStyleComponent) {
+    final StyleKey key = new StyleKey();
+    key.set(typeId, defStyleAttr, defStyleRes);
+    final LoadedStyle loadedStyle = new LoadedStyle(c.getResourceCache(), loadedStyleComponent);
+
+    synchronized (sLoadedStylesByTheme) {
+      final Resources.Theme theme = c.getTheme();
+      Map<StyleKey, LoadedStyle> loadedStyles = sLoadedStylesByTheme.get(theme);
+      if (loadedStyles == null) {
+        loadedStyles = new HashMap<>();
+        sLoadedStylesByTheme.put(theme, loadedStyles);
+      }
+
+      loadedStyles.put(key, loadedStyle);
+    }
+  }
+
+  @VisibleForTesting
+  static void clear() {
+    synchronized (sLoadedStylesByTheme) {
+      sLoadedStylesByTheme.clear();
+    }
+  }
+
+  private static class LoadedStyle {
+    private final WeakReference<ResourceCache> mResourceCache;
+    private final Component mComponent;
+
+    LoadedStyle(ResourceCache resourceCache, Component component) {
+      mResourceCache = new WeakReference<>(resourceCache);
+      mComponent = component;
+    }
+  }
+
+  private static class StyleKey {
+    private int mTypeId;
+    private int mDefStyleAttr;
+    private int mDefStyleRes;
+
+    void set(int typeId, int defStyleAttr, int defStyleRes) {
+      mTypeId = typeId;
+      mDefStyleAttr = defStyleAttr;
+      mDefStyleRes = defStyleRes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof StyleKey)) {
+        return false;
+      }
+
+      final StyleKey other = (StyleKey) o;
+      return mTypeId == other.mTypeId
+          && mDefStyleAttr == other.mDefStyleAttr
+          && mDefStyleRes == other.mDefStyleRes;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = mTypeId;
+      result = 31 * result + mDefStyleAttr;
+      result = 31 * result + mDefStyleRes;
+      return result;
+    }
+  }
+}
@@ -33,6 +33,7 @@ class MountItem {
   static final int FLAG_VIEW_ENABLED = 1 << 5;
   static final int FLAG_MATCH_HOST_BOUNDS = 1 << 6;
   static final int FLAG_VIEW_SELECTED = 1 << 7;
+  static final int FLAG_LAZY_ACCESSIBILITY = 1 << 8;
 
   private NodeInfo mNodeInfo;
   private ViewNodeInfo mViewNodeInfo;
@@ -258,6 +259,14 @@ class MountItem {
     mTransitionKey = null;
   }
 
+  /**
+   * @return whether the accessibility content of the item is exposed as a virtual view of its host,
+   *     see {@link ComponentAccessibilityDelegate}.
+   */
+  static boolean hasLazyAccessibility(int flags) {
+    return (flags & FLAG_LAZY_ACCESSIBILITY) == FLAG_LAZY_ACCESSIBILITY;
+  }
+
   static boolean isDuplicateParentState(int flags) {
     return (flags & FLAG_DUPLICATE_PARENT_STATE) == FLAG_DUPLICATE_PARENT_STATE;
   }
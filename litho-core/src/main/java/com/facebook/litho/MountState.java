@@ -51,6 +51,7 @@ import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewOutlineProvider;
+import android.widget.HorizontalScrollView;
 import com.facebook.infer.annotation.ThreadConfined;
 import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.reference.Reference;
@@ -255,7 +256,8 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
             final Rect rect = ComponentsPools.acquireRect();
             final View view = (View) getItemAt(i).getContent();
             rect.set(0, 0, view.getWidth(), view.getHeight());
-            mountViewIncrementally(view, rect, processVisibilityOutputs);
+            mountViewIncrementally(
+                view, rect, processVisibilityOutputs, false /* isVisibleRect */);
             ComponentsPools.release(rect);
           }
         } else if (!isMountable && isMounted) {
@@ -698,7 +700,9 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
     }
 
     // 4. Re initialize the MountItem internal state with the new attributes from LayoutOutput
+    final int previousFlags = currentMountItem.getFlags();
     currentMountItem.init(layoutOutput, currentMountItem);
+    currentMountItem.getHost().onMountItemFlagsChanged(previousFlags, currentMountItem);
 
     // 5. If the mount item is not valid for this component update its content and view attributes.
     if (shouldUpdate) {
@@ -1885,46 +1889,79 @@ class MountState implements TransitionManager.OnAnimationCompleteListener {
         itemBounds.width() - Math.max(0, itemBounds.right - localVisibleRect.right),
         itemBounds.height() - Math.max(0, itemBounds.bottom - localVisibleRect.bottom));
 
-    mountViewIncrementally(view, rect, processVisibilityOutputs);
+    mountViewIncrementally(view, rect, processVisibilityOutputs, true /* isVisibleRect */);
 
     ComponentsPools.release(rect);
   }
 
+  /**
+   * @param isVisibleRect whether localVisibleRect is the part of the view that is actually visible,
+   *     in which case nested LithoViews keep it to mount themselves with later.
+   */
   private static void mountViewIncrementally(
-      View view, Rect localVisibleRect, boolean processVisibilityOutputs) {
+      View view, Rect localVisibleRect, boolean processVisibilityOutputs, boolean isVisibleRect) {
     assertMainThread();
 
     if (view instanceof LithoView) {
       final LithoView lithoView = (LithoView) view;
-      if (lithoView.isIncrementalMountEnabled()) {
-        lithoView.performIncrementalMount(localVisibleRect, processVisibilityOutputs);
+      if (!lithoView.isIncrementalMountEnabled()) {
+        return;
       }
+
+      if (isVisibleRect) {
+        lithoView.setPropagatedVisibleRect(localVisibleRect);
+      }
+      lithoView.performIncrementalMount(localVisibleRect, processVisibilityOutputs);
     } else if (view instanceof ViewGroup) {
       final ViewGroup viewGroup = (ViewGroup) view;
 
+      final Rect visibleContentRect = ComponentsPools.acquireRect();
+      visibleContentRect.set(localVisibleRect);
+
+      // The content of a HorizontalScroll that mounts incrementally is positioned relative to its
+      // scrolled content, so the visible area has to be moved by the scroll offset.
+      if (isIncrementallyMountedHorizontalScroll(viewGroup)) {
+        visibleContentRect.offset(viewGroup.getScrollX(), 0);
+      }
+
       for (int i = 0; i < viewGroup.getChildCount(); i++) {
         final View childView = viewGroup.getChildAt(i);
 
-        if (localVisibleRect.intersects(
+        if (visibleContentRect.intersects(
             childView.getLeft(),
             childView.getTop(),
             childView.getRight(),
             childView.getBottom())) {
           final Rect rect = ComponentsPools.acquireRect();
           rect.set(
-              Math.max(0, localVisibleRect.left - childView.getLeft()),
-              Math.max(0, localVisibleRect.top - childView.getTop()),
-              childView.getWidth() - Math.max(0, childView.getRight() - localVisibleRect.right),
-              childView.getHeight() - Math.max(0, childView.getBottom() - localVisibleRect.bottom));
+              Math.max(0, visibleContentRect.left - childView.getLeft()),
+              Math.max(0, visibleContentRect.top - childView.getTop()),
+              childView.getWidth() - Math.max(0, childView.getRight() - visibleContentRect.right),
+              childView.getHeight()
+                  - Math.max(0, childView.getBottom() - visibleContentRect.bottom));
 
-          mountViewIncrementally(childView, rect, processVisibilityOutputs);
+          mountViewIncrementally(childView, rect, processVisibilityOutputs, isVisibleRect);
 
           ComponentsPools.release(rect);
+        } else if (isVisibleRect && childView instanceof LithoView) {
+          // The rect it was last given is stale now that it's out of the visible area.
+          ((LithoView) childView).clearPropagatedVisibleRect();
         }
       }
+
+      ComponentsPools.release(visibleContentRect);
     }
   }
 
+  private static boolean isIncrementallyMountedHorizontalScroll(ViewGroup viewGroup) {
+    if (!(viewGroup instanceof HorizontalScrollView) || viewGroup.getChildCount() != 1) {
+      return false;
+    }
+
+    final View content = viewGroup.getChildAt(0);
+    return content instanceof LithoView && ((LithoView) content).isIncrementalMountEnabled();
+  }
+
   private void unmountDisappearingItemChild(ComponentContext context, MountItem item) {
 
     final Object content = item.getContent();
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import android.content.res.Configuration;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * {@link ResourceCache} backed by an open addressing table keyed by resource id and type.
+ * Primitive values are kept unboxed next to their key, so resolving a cached dimension, color,
+ * integer or boolean doesn't allocate. Strings and arrays are kept in a separate Object table. When
+ * the table is full it is cleared, as resources are cheap to resolve again.
+ */
+@ThreadSafe
+class PrimitiveResourceCache extends ResourceCache {
+  private static final int CAPACITY_BITS = 10;
+  private static final int CAPACITY = 1 << CAPACITY_BITS;
+  // Keeps the load factor at 1/2 so that probe sequences stay short.
+  static final int MAX_ENTRIES = CAPACITY / 2;
+  // Resolvers never cache the 0 resource id, so it can mark the empty slots.
+  private static final int EMPTY_KEY = 0;
+
+  @GuardedBy("this")
+  private final int[] mKeys = new int[CAPACITY];
+
+  @GuardedBy("this")
+  private final byte[] mTypes = new byte[CAPACITY];
+
+  @GuardedBy("this")
+  private final long[] mPrimitives = new long[CAPACITY];
+
+  @GuardedBy("this")
+  private final Object[] mObjects = new Object[CAPACITY];
+
+  @GuardedBy("this")
+  private int mSize;
+
+  PrimitiveResourceCache(Configuration configuration) {
+    super(configuration);
+  }
+
+  @Override
+  @Nullable
+  synchronized <T> T get(int key) {
+    final int index = findIndex(key, TYPE_OBJECT);
+    return mKeys[index] == EMPTY_KEY ? null : (T) mObjects[index];
+  }
+
+  @Override
+  synchronized void put(int key, Object object) {
+    mObjects[acquireIndex(key, TYPE_OBJECT)] = object;
+  }
+
+  @Override
+  synchronized long getPrimitive(int key, int type) {
+    final int index = findIndex(key, type);
+    return mKeys[index] == EMPTY_KEY ? NOT_CACHED : mPrimitives[index];
+  }
+
+  @Override
+  synchronized void putPrimitive(int key, int type, long value) {
+    mPrimitives[acquireIndex(key, type)] = value;
+  }
+
+  @GuardedBy("this")
+  private int acquireIndex(int key, int type) {
+    int index = findIndex(key, type);
+    if (mKeys[index] != EMPTY_KEY) {
+      return index;
+    }
+
+    if (mSize == MAX_ENTRIES) {
+      Arrays.fill(mKeys, EMPTY_KEY);
+      Arrays.fill(mObjects, null);
+      mSize = 0;
+      index = findIndex(key, type);
+    }
+
+    mKeys[index] = key;
+    mTypes[index] = (byte) type;
+    mSize++;
+    return index;
+  }
+
+  /**
+   * @return the index of the slot holding the key and type, or of the empty slot where they should
+   *     be inserted.
+   */
+  @GuardedBy("this")
+  private int findIndex(int key, int type) {
+    // Fibonacci hashing, so that resource ids that only differ in their high bits are spread too.
+    int index = ((key + type) * 0x9E3779B9) >>> (32 - CAPACITY_BITS);
+    while (mKeys[index] != EMPTY_KEY && (mKeys[index] != key || mTypes[index] != type)) {
+      index = (index + 1) & (CAPACITY - 1);
+    }
+
+    return index;
+  }
+}
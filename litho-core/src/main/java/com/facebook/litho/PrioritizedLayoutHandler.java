@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link LayoutHandler} that queues its runnables on a {@link PriorityLayoutScheduler} with a
+ * priority and deadline that can be changed at any time, including while they are queued.
+ */
+@ThreadSafe
+public class PrioritizedLayoutHandler implements LayoutHandler {
+
+  /** Deadline of the runnables that don't need to run by a given time. */
+  public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+  /** Priority of the runnables of handlers whose priority hasn't been set. */
+  public static final int LOWEST_PRIORITY = Integer.MAX_VALUE;
+
+  private final PriorityLayoutScheduler mScheduler;
+  private volatile int mPriority = LOWEST_PRIORITY;
+  private volatile long mDeadlineMs = NO_DEADLINE;
+
+  PrioritizedLayoutHandler(PriorityLayoutScheduler scheduler) {
+    mScheduler = scheduler;
+  }
+
+  /**
+   * Sets the priority of the runnables of this handler. Runnables with a lower priority run first,
+   * e.g. the priority of the layouts of an item of a list can be its distance from the visible
+   * items.
+   */
+  public void setPriority(int priority) {
+    mPriority = priority;
+  }
+
+  public int getPriority() {
+    return mPriority;
+  }
+
+  /**
+   * Sets the time, in {@link android.os.SystemClock#uptimeMillis()}, by which the runnables of this
+   * handler should have run, e.g. the frame at which the item they lay out comes on screen, or
+   * {@link #NO_DEADLINE}. Runnables with a deadline run before the others.
+   */
+  public void setDeadline(long deadlineMs) {
+    mDeadlineMs = deadlineMs;
+  }
+
+  public long getDeadline() {
+    return mDeadlineMs;
+  }
+
+  @Override
+  public boolean post(Runnable runnable) {
+    return mScheduler.post(this, runnable);
+  }
+
+  @Override
+  public void removeCallbacks(Runnable runnable) {
+    mScheduler.remove(this, runnable);
+  }
+
+  /** Only supports a null token, which removes all the queued runnables of this handler. */
+  @Override
+  public void removeCallbacksAndMessages(Object token) {
+    if (token != null) {
+      throw new RuntimeException("Operation not supported");
+    }
+    mScheduler.remove(this, null);
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import java.util.ArrayList;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Runs the layout calculations of many {@link ComponentTree}s on a {@link LayoutHandler}, usually
+ * a {@link ThreadPoolLayoutHandler}, in order of urgency rather than in the order they are posted.
+ * Each ComponentTree posts to its own {@link PrioritizedLayoutHandler}, created with {@link
+ * #createLayoutHandler()}, whose priority and deadline can be updated while its calculations are
+ * queued, e.g. as the item it lays out gets closer to the viewport.
+ *
+ * <p>Queued calculations with a deadline run first, earliest deadline first. The others run by
+ * priority, lowest first. Calculations with the same deadline and priority run in the order they
+ * were posted. Calculations that are removed from their handler before they start, e.g. because
+ * their ComponentTree was released, are dropped.
+ */
+@ThreadSafe
+public class PriorityLayoutScheduler {
+
+  private final LayoutHandler mLayoutHandler;
+  private final Runnable mRunNextTaskRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          runNextTask();
+        }
+      };
+
+  @GuardedBy("this")
+  private final ArrayList<Task> mQueuedTasks = new ArrayList<>();
+
+  @GuardedBy("this")
+  private long mNextSequenceNumber;
+
+  /**
+   * @param layoutHandler the handler that runs the calculations. There is one runnable posted to it
+   *     for each calculation posted to the scheduler, which runs the most urgent queued calculation.
+   */
+  public PriorityLayoutScheduler(LayoutHandler layoutHandler) {
+    mLayoutHandler = layoutHandler;
+  }
+
+  /** @return a new {@link PrioritizedLayoutHandler} for a ComponentTree to post its layouts to. */
+  public PrioritizedLayoutHandler createLayoutHandler() {
+    return new PrioritizedLayoutHandler(this);
+  }
+
+  boolean post(PrioritizedLayoutHandler handler, Runnable runnable) {
+    synchronized (this) {
+      mQueuedTasks.add(new Task(handler, runnable, mNextSequenceNumber++));
+    }
+
+    // The runnables are never removed from the handler, since removing one may remove them all.
+    // The ones that are left once the queue is empty just don't do anything.
+    return mLayoutHandler.post(mRunNextTaskRunnable);
+  }
+
+  synchronized void remove(PrioritizedLayoutHandler handler, @Nullable Runnable runnable) {
+    for (int i = mQueuedTasks.size() - 1; i >= 0; i--) {
+      final Task task = mQueuedTasks.get(i);
+      if (task.mHandler == handler && (runnable == null || task.mRunnable == runnable)) {
+        mQueuedTasks.remove(i);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  synchronized int getQueuedTaskCount() {
+    return mQueuedTasks.size();
+  }
+
+  private void runNextTask() {
+    final Runnable runnable;
+    synchronized (this) {
+      // The priorities of the handlers may have changed since the tasks were queued, so they are
+      // compared when a task is picked rather than kept sorted.
+      int mostUrgentIndex = -1;
+      for (int i = 0, size = mQueuedTasks.size(); i < size; i++) {
+        if (mostUrgentIndex < 0
+            || isMoreUrgent(mQueuedTasks.get(i), mQueuedTasks.get(mostUrgentIndex))) {
+          mostUrgentIndex = i;
+        }
+      }
+
+      if (mostUrgentIndex < 0) {
+        return;
+      }
+
+      runnable = mQueuedTasks.remove(mostUrgentIndex).mRunnable;
+    }
+
+    runnable.run();
+  }
+
+  private static boolean isMoreUrgent(Task task, Task other) {
+    final long deadline = task.mHandler.getDeadline();
+    final long otherDeadline = other.mHandler.getDeadline();
+    if (deadline != otherDeadline) {
+      return deadline < otherDeadline;
+    }
+
+    final int priority = task.mHandler.getPriority();
+    final int otherPriority = other.mHandler.getPriority();
+    if (priority != otherPriority) {
+      return priority < otherPriority;
+    }
+
+    return task.mSequenceNumber < other.mSequenceNumber;
+  }
+
+  private static class Task {
+    private final PrioritizedLayoutHandler mHandler;
+    private final Runnable mRunnable;
+    private final long mSequenceNumber;
+
+    private Task(PrioritizedLayoutHandler handler, Runnable runnable, long sequenceNumber) {
+      mHandler = handler;
+      mRunnable = runnable;
+      mSequenceNumber = sequenceNumber;
+    }
+  }
+}
@@ -13,11 +13,24 @@ import android.content.res.Configuration;
 import javax.annotation.Nullable;
 
 public abstract class ResourceCache {
+  /** Returned by {@link #getPrimitive(int, int)} when no primitive is cached for a key. */
+  static final long NOT_CACHED = Long.MIN_VALUE;
+
+  // The same resource can be resolved to different primitives (e.g. a dimension to a pixel size,
+  // offset or float), so primitives are cached by resource id and type.
+  static final int TYPE_OBJECT = 0;
+  static final int TYPE_INT = 1;
+  static final int TYPE_BOOL = 2;
+  static final int TYPE_COLOR = 3;
+  static final int TYPE_DIMEN_SIZE = 4;
+  static final int TYPE_DIMEN_OFFSET = 5;
+  static final int TYPE_FLOAT = 6;
+
   private static ResourceCache latest;
 
   static synchronized ResourceCache getLatest(Configuration configuration) {
     if (latest == null || !latest.mConfiguration.equals(configuration)) {
-      latest = new LruResourceCache(configuration);
+      latest = new PrimitiveResourceCache(configuration);
     }
     return latest;
   }
@@ -32,4 +45,16 @@ public abstract class ResourceCache {
   abstract <T> T get(int key);
 
   abstract void put(int key, Object object);
+
+  /**
+   * @return the primitive of the given type cached for the key, widened to a long (floats are
+   *     cached as their raw int bits), or {@link #NOT_CACHED}. Caches that don't override this,
+   *     and {@link #putPrimitive(int, int, long)}, don't cache primitives: they are resolved again
+   *     each time.
+   */
+  long getPrimitive(int key, int type) {
+    return NOT_CACHED;
+  }
+
+  void putPrimitive(int key, int type, long value) {}
 }
@@ -86,13 +86,13 @@ public class ResourceResolver {
 
   protected final int resolveIntRes(@IntegerRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, ResourceCache.TYPE_INT);
+      if (cached != ResourceCache.NOT_CACHED) {
+        return (int) cached;
       }
 
       int result = mResources.getInteger(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, ResourceCache.TYPE_INT, result);
 
       return result;
     }
@@ -130,13 +130,13 @@ public class ResourceResolver {
 
   protected final boolean resolveBoolRes(@BoolRes int resId) {
     if (resId != 0) {
-      Boolean cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, ResourceCache.TYPE_BOOL);
+      if (cached != ResourceCache.NOT_CACHED) {
+        return cached != 0;
       }
 
       boolean result = mResources.getBoolean(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, ResourceCache.TYPE_BOOL, result ? 1 : 0);
 
       return result;
     }
@@ -146,13 +146,13 @@ public class ResourceResolver {
 
   protected final int resolveColorRes(@ColorRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, ResourceCache.TYPE_COLOR);
+      if (cached != ResourceCache.NOT_CACHED) {
+        return (int) cached;
       }
 
       int result = mResources.getColor(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, ResourceCache.TYPE_COLOR, result);
 
       return result;
     }
@@ -162,13 +162,13 @@ public class ResourceResolver {
 
   protected final int resolveDimenSizeRes(@DimenRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, ResourceCache.TYPE_DIMEN_SIZE);
+      if (cached != ResourceCache.NOT_CACHED) {
+        return (int) cached;
       }
 
       int result = mResources.getDimensionPixelSize(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, ResourceCache.TYPE_DIMEN_SIZE, result);
 
       return result;
     }
@@ -178,13 +178,13 @@ public class ResourceResolver {
 
   protected final int resolveDimenOffsetRes(@DimenRes int resId) {
     if (resId != 0) {
-      Integer cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, ResourceCache.TYPE_DIMEN_OFFSET);
+      if (cached != ResourceCache.NOT_CACHED) {
+        return (int) cached;
       }
 
       int result = mResources.getDimensionPixelOffset(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(resId, ResourceCache.TYPE_DIMEN_OFFSET, result);
 
       return result;
     }
@@ -194,13 +194,14 @@ public class ResourceResolver {
 
   protected final float resolveFloatRes(@DimenRes int resId) {
     if (resId != 0) {
-      Float cached = mResourceCache.get(resId);
-      if (cached != null) {
-        return cached;
+      final long cached = mResourceCache.getPrimitive(resId, ResourceCache.TYPE_FLOAT);
+      if (cached != ResourceCache.NOT_CACHED) {
+        return Float.intBitsToFloat((int) cached);
       }
 
       float result = mResources.getDimension(resId);
-      mResourceCache.put(resId, result);
+      mResourceCache.putPrimitive(
+          resId, ResourceCache.TYPE_FLOAT, Float.floatToRawIntBits(result));
 
       return result;
     }
@@ -50,6 +50,20 @@ public class StateHandler {
   @GuardedBy("this")
   public Map<String, StateContainer> mStateContainers;
 
+  /**
+   * State containers of the StateHandler this one was initialized from. They are shared instead of
+   * being copied, so mStateContainers only holds the ones set by this StateHandler since then.
+   */
+  @GuardedBy("this")
+  private Map<String, StateContainer> mBaseStateContainers;
+
+  /**
+   * Number of StateHandlers that use mStateContainers as their base and haven't been committed
+   * back yet. While it's positive, mStateContainers is copied before being modified.
+   */
+  @GuardedBy("this")
+  private int mStateContainersShareCount;
+
   void init(StateHandler stateHandler) {
     if (stateHandler == null) {
       return;
@@ -57,7 +71,10 @@ public class StateHandler {
 
     synchronized (this) {
       copyPendingStateUpdatesMap(stateHandler.getPendingStateUpdates());
-      copyCurrentStateContainers(stateHandler.getStateContainers());
+      mBaseStateContainers = stateHandler.shareStateContainers();
+      if (mBaseStateContainers == null) {
+        copyCurrentStateContainers(stateHandler.getStateContainers());
+      }
     }
   }
 
@@ -66,7 +83,8 @@ public class StateHandler {
   }
 
   public synchronized boolean isEmpty() {
-    return mStateContainers == null || mStateContainers.isEmpty();
+    return (mStateContainers == null || mStateContainers.isEmpty())
+        && (mBaseStateContainers == null || mBaseStateContainers.isEmpty());
   }
 
   /**
@@ -107,7 +125,7 @@ public class StateHandler {
     final StateContainer currentStateContainer;
 
     synchronized (this) {
-      currentStateContainer = mStateContainers.get(key);
+      currentStateContainer = getStateContainer(key);
     }
 
     if (currentStateContainer != null) {
@@ -147,7 +165,7 @@ public class StateHandler {
    */
   void commit(StateHandler stateHandler) {
     clearStateUpdates(stateHandler.getPendingStateUpdates());
-    updateCurrentComponentsWithState(stateHandler.getStateContainers());
+    updateCurrentComponentsWithState(stateHandler);
   }
 
   private void clearStateUpdates(Map<String, List<StateUpdate>> appliedStateUpdates) {
@@ -181,14 +199,33 @@ public class StateHandler {
     }
   }
 
-  private void updateCurrentComponentsWithState(
-      Map<String, StateContainer> updatedStateContainers) {
-    if (updatedStateContainers == null || updatedStateContainers.isEmpty()) {
-      return;
+  /**
+   * Only merges the state containers the given StateHandler has set itself: the ones it shares
+   * with this StateHandler are already here.
+   */
+  private void updateCurrentComponentsWithState(StateHandler stateHandler) {
+    final Map<String, StateContainer> updatedStateContainers;
+    final Map<String, StateContainer> baseStateContainers;
+    synchronized (stateHandler) {
+      updatedStateContainers = stateHandler.mStateContainers;
+      baseStateContainers = stateHandler.mBaseStateContainers;
     }
 
     synchronized (this) {
+      if (baseStateContainers != null && baseStateContainers == mStateContainers) {
+        mStateContainersShareCount--;
+      }
+
+      if (updatedStateContainers == null || updatedStateContainers.isEmpty()) {
+        return;
+      }
+
       maybeInitStateContainers();
+      if (mStateContainersShareCount > 0) {
+        // Other StateHandlers are still reading the current map, leave it untouched for them.
+        mStateContainers = new HashMap<>(mStateContainers);
+        mStateContainersShareCount = 0;
+      }
       mStateContainers.putAll(updatedStateContainers);
     }
   }
@@ -201,10 +238,15 @@ public class StateHandler {
     }
 
     if (mStateContainers != null) {
-      mStateContainers.clear();
-      sStateContainersMapPool.release(mStateContainers);
+      if (mStateContainersShareCount == 0) {
+        mStateContainers.clear();
+        sStateContainersMapPool.release(mStateContainers);
+      }
       mStateContainers = null;
     }
+
+    mBaseStateContainers = null;
+    mStateContainersShareCount = 0;
   }
 
   private static List<StateUpdate> acquireStateUpdatesList() {
@@ -229,7 +271,44 @@ public class StateHandler {
     sStateUpdatesListPool.release(list);
   }
 
+  /**
+   * @return the current state containers. If this StateHandler shares the state containers of the
+   *     one it was initialized from, this is a merged copy and shouldn't be used on hot paths.
+   */
   synchronized Map<String, StateContainer> getStateContainers() {
+    if (mBaseStateContainers == null) {
+      return mStateContainers;
+    }
+
+    final Map<String, StateContainer> stateContainers = new HashMap<>(mBaseStateContainers);
+    if (mStateContainers != null) {
+      stateContainers.putAll(mStateContainers);
+    }
+    return stateContainers;
+  }
+
+  @GuardedBy("this")
+  private StateContainer getStateContainer(String key) {
+    final StateContainer stateContainer = mStateContainers.get(key);
+    if (stateContainer != null || mBaseStateContainers == null) {
+      return stateContainer;
+    }
+
+    return mBaseStateContainers.get(key);
+  }
+
+  /**
+   * Lets a StateHandler being initialized from this one read the current state containers without
+   * copying them. The map won't be modified until that StateHandler is committed back.
+   *
+   * @return the map to share, or null if the state containers have to be copied instead.
+   */
+  private synchronized Map<String, StateContainer> shareStateContainers() {
+    if (mBaseStateContainers != null || mStateContainers == null || mStateContainers.isEmpty()) {
+      return null;
+    }
+
+    mStateContainersShareCount++;
     return mStateContainers;
   }
 
@@ -42,6 +42,7 @@ public class TestComponentTree extends ComponentTree {
       int heightSpec,
       boolean diffingEnabled,
       @Nullable DiffNode diffNode,
+      @Nullable LayoutState previousLayoutState,
       @LayoutState.CalculateLayoutSource int source) {
     return LayoutState.calculate(
         new TestComponentContext(
@@ -53,6 +54,7 @@ public class TestComponentTree extends ComponentTree {
         heightSpec,
         diffingEnabled,
         diffNode,
+        previousLayoutState,
         false /* canPrefetchDisplayLists */,
         false /* canCacheDrawingDisplayLists */,
         true /* clipChildren */,
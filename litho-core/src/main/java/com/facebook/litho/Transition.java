@@ -16,10 +16,13 @@ import com.facebook.litho.animation.DimensionValue;
 import com.facebook.litho.animation.FloatValue;
 import com.facebook.litho.animation.PropertyAnimation;
 import com.facebook.litho.animation.PropertyHandle;
+import com.facebook.litho.animation.RenderThreadTimingTransition;
 import com.facebook.litho.animation.RuntimeValue;
 import com.facebook.litho.animation.SpringTransition;
 import com.facebook.litho.animation.TimingTransition;
 import com.facebook.litho.animation.TransitionAnimationBinding;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.dataflow.AnimationCurve;
 import com.facebook.litho.dataflow.springs.SpringConfig;
 import java.util.ArrayList;
 import javax.annotation.Nullable;
@@ -204,6 +207,24 @@ public abstract class Transition {
     return new TimingTransitionAnimator(durationMs, interpolator);
   }
 
+  /**
+   * Creates a {@link RenderThreadTimingTransition} with the given duration, which is run by the
+   * platform off the UI thread when the animated property and mount content allow it.
+   */
+  public static TransitionAnimator renderThreadTiming(final int durationMs) {
+    return new RenderThreadTimingTransitionAnimator(durationMs);
+  }
+
+  /**
+   * Creates a {@link RenderThreadTimingTransition} with the given duration and {@link
+   * Interpolator}, which is run by the platform off the UI thread when the animated property and
+   * mount content allow it.
+   */
+  public static TransitionAnimator renderThreadTiming(
+      final int durationMs, Interpolator interpolator) {
+    return new RenderThreadTimingTransitionAnimator(durationMs, interpolator);
+  }
+
   public static class TransitionUnit extends Transition {
 
     private final AnimationTarget mAnimationTarget;
@@ -436,6 +457,10 @@ public abstract class Transition {
 
     @Nullable SpringConfig mSpringConfig;
 
+    // Computed the first time it's needed and shared by all the animations created from this
+    // animator. Computing it twice concurrently is harmless.
+    private @Nullable AnimationCurve mCurve;
+
     public SpringTransitionAnimator() {
       mSpringConfig = null;
     }
@@ -446,6 +471,12 @@ public abstract class Transition {
 
     @Override
     public TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation) {
+      if (ComponentsConfiguration.precomputeAnimationCurves) {
+        if (mCurve == null) {
+          mCurve = AnimationCurve.spring(mSpringConfig);
+        }
+        return new SpringTransition(propertyAnimation, mCurve);
+      }
       return new SpringTransition(propertyAnimation, mSpringConfig);
     }
   }
@@ -458,6 +489,10 @@ public abstract class Transition {
     final int mDurationMs;
     final Interpolator mInterpolator;
 
+    // Computed the first time it's needed and shared by all the animations created from this
+    // animator. Computing it twice concurrently is harmless.
+    private @Nullable AnimationCurve mCurve;
+
     public TimingTransitionAnimator(int durationMs) {
       this(durationMs, null);
     }
@@ -469,8 +504,34 @@ public abstract class Transition {
 
     @Override
     public TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation) {
+      if (ComponentsConfiguration.precomputeAnimationCurves) {
+        if (mCurve == null) {
+          mCurve = AnimationCurve.timing(mDurationMs, mInterpolator);
+        }
+        return new TimingTransition(propertyAnimation, mCurve);
+      }
       return new TimingTransition(mDurationMs, propertyAnimation, mInterpolator);
     }
   }
 
+  /**
+   * Creates timing-driven animations with the given duration that are run off the UI thread when
+   * possible.
+   */
+  public static class RenderThreadTimingTransitionAnimator extends TimingTransitionAnimator {
+
+    public RenderThreadTimingTransitionAnimator(int durationMs) {
+      super(durationMs);
+    }
+
+    public RenderThreadTimingTransitionAnimator(int durationMs, Interpolator interpolator) {
+      super(durationMs, interpolator);
+    }
+
+    @Override
+    public TransitionAnimationBinding createAnimation(PropertyAnimation propertyAnimation) {
+      return new RenderThreadTimingTransition(mDurationMs, propertyAnimation, mInterpolator);
+    }
+  }
+
 }
@@ -673,15 +673,17 @@ public class TransitionManager {
 
     final SimpleArrayMap<AnimatedProperty, PropertyState> animatingProperties =
         animationState.propertyStates;
+    // Moving the nodes to the new mount content first interrupts the animations that run on the
+    // old one outside of the graph, so that they can't update it anymore once it has been reset.
+    for (int i = 0, size = animatingProperties.size(); i < size; i++) {
+      animatingProperties.valueAt(i).animatedPropertyNode.setMountContent(mountContent);
+    }
     if (animationState.mountContent != null) {
       for (int i = 0, size = animatingProperties.size(); i < size; i++) {
         animatingProperties.keyAt(i).reset(animationState.mountContent);
       }
       recursivelySetChildClipping(animationState.mountContent, true);
     }
-    for (int i = 0, size = animatingProperties.size(); i < size; i++) {
-      animatingProperties.valueAt(i).animatedPropertyNode.setMountContent(mountContent);
-    }
     recursivelySetChildClipping(mountContent, false);
     animationState.mountContent = mountContent;
   }
@@ -0,0 +1,479 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.FrameworkLogEvents.EVENT_LAYOUT_THREAD_POOL_STATS;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_MAX_QUEUE_DEPTH;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_STEAL_COUNT;
+import static com.facebook.litho.FrameworkLogEvents.PARAM_TASK_COUNT;
+
+import android.os.Process;
+import android.support.annotation.IntDef;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import com.facebook.litho.config.ComponentsConfiguration;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link LayoutHandler} backed by a pool of threads that each have their own queue, so that
+ * posting and running layout calculations doesn't contend on a single queue. Threads that run out
+ * of work steal it from the others. Runnables can be posted in batches, with a token to remove them
+ * with, and with an {@link Affinity} hint. Removing them only marks them as removed. Queued tasks
+ * are indexed by their runnable and their token in maps striped by key, so removing them doesn't
+ * scan the queues, and posting and running them never takes a lock shared by the whole pool.
+ *
+ * <p>Android doesn't let apps pin threads to cores, so affinity is approximated: the pool has a
+ * group of threads for the big cores of a big.LITTLE chipset, as reported by {@link
+ * DeviceInfoUtils}, and a group for the little ones that runs at a lower priority, which the kernel
+ * tends to schedule on the little cores. Runnables are queued on the group their affinity asks
+ * for, but any idle thread may steal them.
+ *
+ * <p>If a {@link ComponentsLogger} is given, the number of runnables run, the maximum queue depth
+ * and the number of steals are logged each time the pool runs out of work.
+ */
+@ThreadSafe
+public class WorkStealingLayoutHandler implements LayoutHandler {
+
+  public static final int AFFINITY_ANY = 0;
+  public static final int AFFINITY_BIG = 1;
+  public static final int AFFINITY_LITTLE = 2;
+
+  @IntDef({AFFINITY_ANY, AFFINITY_BIG, AFFINITY_LITTLE})
+  @Retention(RetentionPolicy.SOURCE)
+  public @interface Affinity {}
+
+  private static final AtomicInteger sThreadNumber = new AtomicInteger(1);
+  private static final int TASK_INDEX_STRIPE_COUNT = 16;
+
+  private final Worker[] mWorkers;
+  private final int mBigWorkerCount;
+  private final @Nullable ComponentsLogger mLogger;
+  private final Object mIdleLock = new Object();
+  private final AtomicBoolean mHasStarted = new AtomicBoolean();
+  private final AtomicInteger mNextWorkerIndex = new AtomicInteger();
+  private final AtomicInteger mQueuedTaskCount = new AtomicInteger();
+  private final AtomicLong mStealCount = new AtomicLong();
+
+  // Statistics since they were last logged.
+  private final AtomicBoolean mHasUnloggedTasks = new AtomicBoolean();
+  private final AtomicInteger mUnloggedTaskCount = new AtomicInteger();
+  private final AtomicInteger mUnloggedStealCount = new AtomicInteger();
+  private final AtomicInteger mMaxQueueDepth = new AtomicInteger();
+
+  // Incremented to remove all the queued runnables at once.
+  private final AtomicInteger mGeneration = new AtomicInteger();
+
+  // The queued tasks by the runnable, and by the token, they were posted with.
+  private final TaskIndex[] mRunnableTasks = createTaskIndexes();
+  private final TaskIndex[] mTokenTasks = createTaskIndexes();
+
+  /**
+   * @param bigThreadCount the number of threads for work that should run on the big cores, at
+   *     least 1.
+   * @param littleThreadCount the number of threads for work that can run on the little cores, 0
+   *     if the device doesn't have any.
+   */
+  public WorkStealingLayoutHandler(
+      int bigThreadCount, int littleThreadCount, @Nullable ComponentsLogger logger) {
+    if (bigThreadCount < 1 || littleThreadCount < 0) {
+      throw new IllegalArgumentException(
+          "Invalid thread counts: " + bigThreadCount + ", " + littleThreadCount);
+    }
+
+    mBigWorkerCount = bigThreadCount;
+    mWorkers = new Worker[bigThreadCount + littleThreadCount];
+    for (int i = 0; i < mWorkers.length; i++) {
+      mWorkers[i] =
+          new Worker(
+              i,
+              i < bigThreadCount
+                  ? ComponentsConfiguration.defaultBackgroundThreadPriority
+                  : Process.THREAD_PRIORITY_LOWEST);
+    }
+    mLogger = logger;
+  }
+
+  /**
+   * @return a WorkStealingLayoutHandler with a thread for each core of the device, split between
+   *     its big and little cores.
+   */
+  public static WorkStealingLayoutHandler create(@Nullable ComponentsLogger logger) {
+    final int cores = Math.max(1, DeviceInfoUtils.getNumberOfCPUCores());
+    final int bigCores = DeviceInfoUtils.getNumberOfHighPerformanceCPUCores();
+    if (bigCores < 1 || bigCores >= cores) {
+      return new WorkStealingLayoutHandler(cores, 0, logger);
+    }
+
+    return new WorkStealingLayoutHandler(bigCores, cores - bigCores, logger);
+  }
+
+  @Override
+  public boolean post(Runnable runnable) {
+    return post(runnable, null, AFFINITY_ANY);
+  }
+
+  /**
+   * Posts a runnable that can be removed with {@link #removeCallbacksAndMessages(Object)} and the
+   * given token, on a thread of the group the affinity asks for.
+   */
+  public boolean post(Runnable runnable, @Nullable Object token, @Affinity int affinity) {
+    ensureStarted();
+
+    final Task task = new Task(runnable, token, mGeneration.get());
+    indexTask(task);
+
+    mQueuedTaskCount.incrementAndGet();
+    pickWorker(affinity).push(task);
+    onTasksQueued(1);
+    return true;
+  }
+
+  /**
+   * Posts all the runnables at once, spread over the threads of the group the affinity asks for.
+   * They can be removed with {@link #removeCallbacksAndMessages(Object)} and the given token.
+   */
+  public boolean postBatch(
+      List<Runnable> runnables, @Nullable Object token, @Affinity int affinity) {
+    final int size = runnables.size();
+    if (size == 0) {
+      return true;
+    }
+
+    ensureStarted();
+
+    final int generation = mGeneration.get();
+    final Task[] tasks = new Task[size];
+    for (int i = 0; i < size; i++) {
+      tasks[i] = new Task(runnables.get(i), token, generation);
+      indexTask(tasks[i]);
+    }
+
+    mQueuedTaskCount.addAndGet(size);
+    for (int i = 0; i < size; i++) {
+      pickWorker(affinity).push(tasks[i]);
+    }
+    onTasksQueued(size);
+    return true;
+  }
+
+  /** Removes the queued runnables equal to the given one. */
+  @Override
+  public void removeCallbacks(Runnable runnable) {
+    cancelTasks(getTaskIndex(mRunnableTasks, runnable).removeAll(runnable));
+  }
+
+  /**
+   * Removes the queued runnables posted with the given token, or all the queued runnables if the
+   * token is null.
+   */
+  @Override
+  public void removeCallbacksAndMessages(@Nullable Object token) {
+    if (token == null) {
+      mGeneration.incrementAndGet();
+      return;
+    }
+
+    cancelTasks(getTaskIndex(mTokenTasks, token).removeAll(token));
+  }
+
+  /** @return the number of runnables queued and not started yet, including removed ones. */
+  public int getQueueDepth() {
+    return mQueuedTaskCount.get();
+  }
+
+  /** @return the number of runnables taken from the queue of another thread than their own. */
+  public long getStealCount() {
+    return mStealCount.get();
+  }
+
+  private void ensureStarted() {
+    if (mHasStarted.getAndSet(true)) {
+      return;
+    }
+
+    for (Worker worker : mWorkers) {
+      new WorkerThread(this, worker, "ComponentLayoutThread" + sThreadNumber.getAndIncrement())
+          .start();
+    }
+  }
+
+  /** @return the number of tokens that runnables are queued with. */
+  @VisibleForTesting
+  int getQueuedTokenCount() {
+    return getKeyCount(mTokenTasks);
+  }
+
+  /** @return the number of distinct runnables that are queued. */
+  @VisibleForTesting
+  int getQueuedRunnableCount() {
+    return getKeyCount(mRunnableTasks);
+  }
+
+  private void indexTask(Task task) {
+    getTaskIndex(mRunnableTasks, task.mRunnable).add(task.mRunnable, task);
+    if (task.mToken != null) {
+      getTaskIndex(mTokenTasks, task.mToken).add(task.mToken, task);
+    }
+  }
+
+  /** @return whether the task was removed while it was queued, and forgets about it. */
+  private boolean releaseTask(Task task) {
+    getTaskIndex(mRunnableTasks, task.mRunnable).remove(task.mRunnable, task);
+    if (task.mToken != null) {
+      getTaskIndex(mTokenTasks, task.mToken).remove(task.mToken, task);
+    }
+
+    return task.mIsCancelled || task.mGeneration != mGeneration.get();
+  }
+
+  private static void cancelTasks(@Nullable HashSet<Task> tasks) {
+    if (tasks == null) {
+      return;
+    }
+
+    for (Task task : tasks) {
+      task.mIsCancelled = true;
+    }
+  }
+
+  private static TaskIndex[] createTaskIndexes() {
+    final TaskIndex[] indexes = new TaskIndex[TASK_INDEX_STRIPE_COUNT];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = new TaskIndex();
+    }
+    return indexes;
+  }
+
+  private static TaskIndex getTaskIndex(TaskIndex[] indexes, Object key) {
+    return indexes[(key.hashCode() & Integer.MAX_VALUE) % indexes.length];
+  }
+
+  private static int getKeyCount(TaskIndex[] indexes) {
+    int count = 0;
+    for (TaskIndex index : indexes) {
+      count += index.getKeyCount();
+    }
+    return count;
+  }
+
+  private Worker pickWorker(@Affinity int affinity) {
+    // Work posted from a thread of the pool stays on it if it can, as it likely shares its data.
+    final Thread currentThread = Thread.currentThread();
+    if (currentThread instanceof WorkerThread
+        && ((WorkerThread) currentThread).mHandler == this) {
+      final Worker worker = ((WorkerThread) currentThread).mWorker;
+      if (affinity == AFFINITY_ANY || isBig(worker) == (affinity == AFFINITY_BIG)) {
+        return worker;
+      }
+    }
+
+    final int start;
+    final int count;
+    if (affinity == AFFINITY_BIG || (affinity == AFFINITY_LITTLE && hasNoLittleWorkers())) {
+      start = 0;
+      count = mBigWorkerCount;
+    } else if (affinity == AFFINITY_LITTLE) {
+      start = mBigWorkerCount;
+      count = mWorkers.length - mBigWorkerCount;
+    } else {
+      start = 0;
+      count = mWorkers.length;
+    }
+
+    final int index = (mNextWorkerIndex.getAndIncrement() & Integer.MAX_VALUE) % count;
+    return mWorkers[start + index];
+  }
+
+  private boolean isBig(Worker worker) {
+    return worker.mIndex < mBigWorkerCount;
+  }
+
+  private boolean hasNoLittleWorkers() {
+    return mWorkers.length == mBigWorkerCount;
+  }
+
+  private void onTasksQueued(int count) {
+    mHasUnloggedTasks.set(true);
+
+    final int queueDepth = mQueuedTaskCount.get();
+    int maxQueueDepth = mMaxQueueDepth.get();
+    while (queueDepth > maxQueueDepth && !mMaxQueueDepth.compareAndSet(maxQueueDepth, queueDepth)) {
+      maxQueueDepth = mMaxQueueDepth.get();
+    }
+
+    synchronized (mIdleLock) {
+      if (count == 1) {
+        mIdleLock.notify();
+      } else {
+        mIdleLock.notifyAll();
+      }
+    }
+  }
+
+  private void runTask(Task task) {
+    if (releaseTask(task)) {
+      return;
+    }
+
+    mUnloggedTaskCount.incrementAndGet();
+    task.mRunnable.run();
+  }
+
+  private void waitForTasks() {
+    if (mLogger != null && mHasUnloggedTasks.compareAndSet(true, false)) {
+      logStats(mLogger);
+    }
+
+    synchronized (mIdleLock) {
+      while (mQueuedTaskCount.get() <= 0) {
+        try {
+          mIdleLock.wait();
+        } catch (InterruptedException e) {
+          // Keep waiting, the threads of the pool never stop.
+        }
+      }
+    }
+  }
+
+  private void logStats(ComponentsLogger logger) {
+    final LogEvent event = logger.newEvent(EVENT_LAYOUT_THREAD_POOL_STATS);
+    event.addParam(PARAM_TASK_COUNT, mUnloggedTaskCount.getAndSet(0));
+    event.addParam(PARAM_MAX_QUEUE_DEPTH, mMaxQueueDepth.getAndSet(0));
+    event.addParam(PARAM_STEAL_COUNT, mUnloggedStealCount.getAndSet(0));
+    logger.log(event);
+  }
+
+  private static class Task {
+    private final Runnable mRunnable;
+    private final @Nullable Object mToken;
+    // The generation of the handler when posted, the task is removed if it changes.
+    private final int mGeneration;
+    private volatile boolean mIsCancelled;
+
+    private Task(Runnable runnable, @Nullable Object token, int generation) {
+      mRunnable = runnable;
+      mToken = token;
+      mGeneration = generation;
+    }
+  }
+
+  /** A stripe of the queued tasks indexed by the runnable or the token they were posted with. */
+  private static class TaskIndex {
+
+    @GuardedBy("this")
+    private final HashMap<Object, HashSet<Task>> mTasks = new HashMap<>();
+
+    private synchronized void add(Object key, Task task) {
+      HashSet<Task> tasks = mTasks.get(key);
+      if (tasks == null) {
+        tasks = new HashSet<>();
+        mTasks.put(key, tasks);
+      }
+      tasks.add(task);
+    }
+
+    private synchronized void remove(Object key, Task task) {
+      final HashSet<Task> tasks = mTasks.get(key);
+      if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+        mTasks.remove(key);
+      }
+    }
+
+    private synchronized @Nullable HashSet<Task> removeAll(Object key) {
+      return mTasks.remove(key);
+    }
+
+    private synchronized int getKeyCount() {
+      return mTasks.size();
+    }
+  }
+
+  private class Worker implements Runnable {
+
+    private final int mIndex;
+    private final int mThreadPriority;
+
+    @GuardedBy("this")
+    private final ArrayDeque<Task> mDeque = new ArrayDeque<>();
+
+    private Worker(int index, int threadPriority) {
+      mIndex = index;
+      mThreadPriority = threadPriority;
+    }
+
+    private synchronized void push(Task task) {
+      mDeque.addLast(task);
+    }
+
+    /** Takes the oldest task of this worker. */
+    private synchronized @Nullable Task poll() {
+      return mDeque.pollFirst();
+    }
+
+    /** Takes the newest task of this worker, the one it would run last. */
+    private synchronized @Nullable Task steal() {
+      return mDeque.pollLast();
+    }
+
+    @Override
+    public void run() {
+      Process.setThreadPriority(mThreadPriority);
+
+      while (true) {
+        Task task = poll();
+        if (task == null) {
+          task = stealFromOthers();
+        }
+
+        if (task == null) {
+          waitForTasks();
+          continue;
+        }
+
+        mQueuedTaskCount.decrementAndGet();
+        runTask(task);
+      }
+    }
+
+    private @Nullable Task stealFromOthers() {
+      for (int i = 1; i < mWorkers.length; i++) {
+        final Task task = mWorkers[(mIndex + i) % mWorkers.length].steal();
+        if (task != null) {
+          mStealCount.incrementAndGet();
+          mUnloggedStealCount.incrementAndGet();
+          return task;
+        }
+      }
+      return null;
+    }
+  }
+
+  private static class WorkerThread extends Thread {
+
+    private final WorkStealingLayoutHandler mHandler;
+    private final Worker mWorker;
+
+    private WorkerThread(WorkStealingLayoutHandler handler, Worker worker, String name) {
+      super(worker, name);
+      mHandler = handler;
+      mWorker = worker;
+    }
+  }
+}
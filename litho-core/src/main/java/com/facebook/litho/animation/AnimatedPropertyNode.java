@@ -9,6 +9,7 @@
 
 package com.facebook.litho.animation;
 
+import android.support.annotation.Nullable;
 import com.facebook.litho.dataflow.ValueNode;
 import java.lang.ref.WeakReference;
 
@@ -24,6 +25,7 @@ public class AnimatedPropertyNode extends ValueNode {
 
   private final AnimatedProperty mAnimatedProperty;
   private WeakReference<Object> mMountContent;
+  private @Nullable RenderThreadTimingTransition mRenderThreadTransition;
 
   public AnimatedPropertyNode(Object mountContent, AnimatedProperty animatedProperty) {
     mMountContent = new WeakReference<>(mountContent);
@@ -34,14 +36,24 @@ public class AnimatedPropertyNode extends ValueNode {
    * Sets the mount content that this {@link AnimatedPropertyNode} updates a value on.
    */
   public void setMountContent(Object mountContent) {
+    interruptRenderThreadTransition();
     mMountContent = new WeakReference<>(mountContent);
     if (mountContent != null) {
       mAnimatedProperty.set(mountContent, getValue());
     }
   }
 
+  @Override
+  public float getValue() {
+    if (mRenderThreadTransition != null) {
+      return mRenderThreadTransition.getAnimatedValue();
+    }
+    return super.getValue();
+  }
+
   @Override
   public void setValue(float value) {
+    interruptRenderThreadTransition();
     super.setValue(value);
     final Object mountContent = mMountContent.get();
     if (mountContent != null) {
@@ -54,6 +66,10 @@ public class AnimatedPropertyNode extends ValueNode {
     final Object mountContent = mMountContent.get();
     final boolean hasInput = hasInput();
 
+    if (hasInput) {
+      interruptRenderThreadTransition();
+    }
+
     if (mountContent == null) {
       if (hasInput) {
         return getInput().getValue();
@@ -72,4 +88,33 @@ public class AnimatedPropertyNode extends ValueNode {
 
     return value;
   }
+
+  @Nullable
+  Object getMountContent() {
+    return mMountContent.get();
+  }
+
+  /**
+   * Sets the {@link RenderThreadTimingTransition} that is animating the property of the mount
+   * content outside of the graph, which is interrupted as soon as the value is set another way.
+   */
+  void setRenderThreadTransition(@Nullable RenderThreadTimingTransition transition) {
+    mRenderThreadTransition = transition;
+  }
+
+  @Nullable
+  RenderThreadTimingTransition getRenderThreadTransition() {
+    return mRenderThreadTransition;
+  }
+
+  private void interruptRenderThreadTransition() {
+    if (mRenderThreadTransition == null) {
+      return;
+    }
+
+    final RenderThreadTimingTransition transition = mRenderThreadTransition;
+    mRenderThreadTransition = null;
+    super.setValue(transition.getAnimatedValue());
+    transition.interrupt();
+  }
 }
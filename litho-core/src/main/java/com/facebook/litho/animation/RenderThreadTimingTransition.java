@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.animation;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewPropertyAnimator;
+import android.view.animation.AnimationUtils;
+import android.view.animation.Interpolator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * A {@link TimingTransition} that is handed to the {@link ViewPropertyAnimator} of the animated
+ * View instead of being driven by the {@link com.facebook.litho.dataflow.DataFlowGraph} on the UI
+ * thread. The platform updates the properties of the View's render node directly and, where it
+ * supports it, runs the animation on the RenderThread so that it keeps running while the UI thread
+ * is busy.
+ *
+ * <p>This is only possible for the alpha, scale and position of hardware accelerated View mount
+ * content. Other properties and mount contents are animated as a regular TimingTransition.
+ */
+public class RenderThreadTimingTransition extends TimingTransition {
+
+  private static final Handler sMainThreadHandler = new Handler(Looper.getMainLooper());
+
+  // The transitions animating each View. Interrupting one of them cancels the ViewPropertyAnimator
+  // of the View, which stops all of them, so the others are resumed. Only accessed from the main
+  // thread.
+  private static final WeakHashMap<View, List<RenderThreadTimingTransition>> sRunningTransitions =
+      new WeakHashMap<>();
+
+  private final int mDurationMs;
+  private final PropertyAnimation mPropertyAnimation;
+  private final @Nullable Interpolator mInterpolator;
+  private final Runnable mFinishRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          onFinished();
+        }
+      };
+
+  private @Nullable View mAnimatingView;
+  private @Nullable AnimatedPropertyNode mAnimatedPropertyNode;
+  private float mInitialValue;
+  private long mStartTimeMs;
+
+  // Difference between the animated value, relative to the LithoView, and the value of the View
+  // property, relative to its parent. Only used for positions.
+  private float mParentOffset;
+
+  public RenderThreadTimingTransition(int durationMs, PropertyAnimation propertyAnimation) {
+    this(durationMs, propertyAnimation, null);
+  }
+
+  public RenderThreadTimingTransition(
+      int durationMs, PropertyAnimation propertyAnimation, @Nullable Interpolator interpolator) {
+    super(durationMs, propertyAnimation, interpolator);
+    mDurationMs = durationMs;
+    mPropertyAnimation = propertyAnimation;
+    mInterpolator = interpolator;
+  }
+
+  @Override
+  public void start(Resolver resolver) {
+    final PropertyHandle propertyHandle = mPropertyAnimation.getPropertyHandle();
+    final AnimatedPropertyNode animatedPropertyNode =
+        resolver.getAnimatedPropertyNode(propertyHandle);
+    final Object mountContent = animatedPropertyNode.getMountContent();
+
+    if (!canRunOnRenderThread(propertyHandle.getProperty(), mountContent)) {
+      super.start(resolver);
+      return;
+    }
+
+    if (!notifyWillStart()) {
+      return;
+    }
+
+    final View view = (View) mountContent;
+    final AnimatedProperty property = propertyHandle.getProperty();
+    mInitialValue = resolver.getCurrentState(propertyHandle);
+    mParentOffset = 0;
+    if (property == AnimatedProperties.X) {
+      mParentOffset = property.get(view) - view.getX();
+    } else if (property == AnimatedProperties.Y) {
+      mParentOffset = property.get(view) - view.getY();
+    }
+
+    // This also interrupts any other RenderThreadTimingTransition still animating this property.
+    animatedPropertyNode.setValue(mInitialValue);
+    animatedPropertyNode.setRenderThreadTransition(this);
+
+    mAnimatingView = view;
+    mAnimatedPropertyNode = animatedPropertyNode;
+    mStartTimeMs = AnimationUtils.currentAnimationTimeMillis();
+    addRunningTransition(view, this);
+    animate(view, mPropertyAnimation.getTargetValue(), mDurationMs, mInterpolator, mFinishRunnable);
+  }
+
+  @Override
+  public void stop() {
+    if (mAnimatingView == null) {
+      super.stop();
+      return;
+    }
+
+    final AnimatedPropertyNode animatedPropertyNode = mAnimatedPropertyNode;
+    if (animatedPropertyNode.getRenderThreadTransition() == this) {
+      // Also cancels the animation through interrupt(), but keeps the node value in sync.
+      animatedPropertyNode.setValue(getAnimatedValue());
+    }
+
+    sMainThreadHandler.removeCallbacks(mFinishRunnable);
+    clear();
+  }
+
+  @Override
+  public boolean isActive() {
+    return mAnimatingView != null || super.isActive();
+  }
+
+  /**
+   * @return the value of the animated property at this time, computed from the time elapsed since
+   *     the animation started as the View's property isn't updated until it ends.
+   */
+  float getAnimatedValue() {
+    final long elapsedMs = AnimationUtils.currentAnimationTimeMillis() - mStartTimeMs;
+    final float fraction = mDurationMs <= 0 ? 1 : Math.min(1, (float) elapsedMs / mDurationMs);
+    final float interpolatedFraction =
+        mInterpolator == null ? fraction : mInterpolator.getInterpolation(fraction);
+    return mInitialValue
+        + (mPropertyAnimation.getTargetValue() - mInitialValue) * interpolatedFraction;
+  }
+
+  /**
+   * Called by the {@link AnimatedPropertyNode} when its value is set by something else, e.g. a new
+   * animation of the same property or new mount content. The animation is then considered finished
+   * but the listeners are only notified after the current call, as happens when an animation
+   * driven by the graph loses its connection to the node.
+   */
+  void interrupt() {
+    if (mAnimatingView == null) {
+      return;
+    }
+
+    // The animation is cancelled synchronously, so that the View isn't updated by it anymore once
+    // this returns, e.g. after its properties are reset when it's unmounted.
+    final View view = mAnimatingView;
+    final float value = getAnimatedValue();
+    removeRunningTransition(view, this);
+    view.animate().cancel();
+    mPropertyAnimation.getProperty().set(view, value);
+
+    final List<RenderThreadTimingTransition> transitions = sRunningTransitions.get(view);
+    if (transitions != null) {
+      for (int i = 0, size = transitions.size(); i < size; i++) {
+        transitions.get(i).resume();
+      }
+    }
+
+    sMainThreadHandler.removeCallbacks(mFinishRunnable);
+    sMainThreadHandler.post(mFinishRunnable);
+  }
+
+  /**
+   * Starts the animation again from where it was when the animator of the View was cancelled to
+   * interrupt another property, following the same curve until the end.
+   */
+  private void resume() {
+    final long remainingMs =
+        mDurationMs - (AnimationUtils.currentAnimationTimeMillis() - mStartTimeMs);
+    mPropertyAnimation.getProperty().set(mAnimatingView, getAnimatedValue());
+
+    if (remainingMs <= 0) {
+      animate(mAnimatingView, mPropertyAnimation.getTargetValue(), 0, null, mFinishRunnable);
+      return;
+    }
+
+    animate(
+        mAnimatingView,
+        mPropertyAnimation.getTargetValue(),
+        (int) remainingMs,
+        new ResumedInterpolator(mInterpolator, 1 - (float) remainingMs / mDurationMs),
+        mFinishRunnable);
+  }
+
+  private void onFinished() {
+    if (mAnimatingView == null) {
+      return;
+    }
+
+    final AnimatedPropertyNode animatedPropertyNode = mAnimatedPropertyNode;
+    if (animatedPropertyNode.getRenderThreadTransition() == this) {
+      animatedPropertyNode.setRenderThreadTransition(null);
+      animatedPropertyNode.setValue(mPropertyAnimation.getTargetValue());
+    }
+
+    clear();
+    notifyFinish();
+  }
+
+  private void clear() {
+    if (mAnimatingView != null) {
+      removeRunningTransition(mAnimatingView, this);
+    }
+    mAnimatingView = null;
+    mAnimatedPropertyNode = null;
+  }
+
+  private static void addRunningTransition(View view, RenderThreadTimingTransition transition) {
+    List<RenderThreadTimingTransition> transitions = sRunningTransitions.get(view);
+    if (transitions == null) {
+      transitions = new ArrayList<>();
+      sRunningTransitions.put(view, transitions);
+    }
+    transitions.add(transition);
+  }
+
+  private static void removeRunningTransition(View view, RenderThreadTimingTransition transition) {
+    final List<RenderThreadTimingTransition> transitions = sRunningTransitions.get(view);
+    if (transitions == null) {
+      return;
+    }
+
+    transitions.remove(transition);
+    if (transitions.isEmpty()) {
+      sRunningTransitions.remove(view);
+    }
+  }
+
+  @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+  private void animate(
+      View view,
+      float value,
+      int durationMs,
+      @Nullable Interpolator interpolator,
+      @Nullable Runnable endAction) {
+    final ViewPropertyAnimator animator =
+        view.animate().setDuration(durationMs).setStartDelay(0).setInterpolator(interpolator);
+
+    final AnimatedProperty property = mPropertyAnimation.getProperty();
+    if (property == AnimatedProperties.ALPHA) {
+      animator.alpha(value);
+    } else if (property == AnimatedProperties.SCALE) {
+      animator.scaleX(value).scaleY(value);
+    } else if (property == AnimatedProperties.SCALE_X) {
+      animator.scaleX(value);
+    } else if (property == AnimatedProperties.SCALE_Y) {
+      animator.scaleY(value);
+    } else if (property == AnimatedProperties.X) {
+      animator.x(value - mParentOffset);
+    } else if (property == AnimatedProperties.Y) {
+      animator.y(value - mParentOffset);
+    } else {
+      throw new IllegalStateException("Can't animate " + property.getName() + " on a View");
+    }
+
+    if (endAction != null) {
+      animator.withEndAction(endAction);
+    }
+    animator.start();
+  }
+
+  private static boolean canRunOnRenderThread(
+      AnimatedProperty property, @Nullable Object mountContent) {
+    return Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN
+        && mountContent instanceof View
+        && ((View) mountContent).isHardwareAccelerated()
+        && (property == AnimatedProperties.ALPHA
+            || property == AnimatedProperties.SCALE
+            || property == AnimatedProperties.SCALE_X
+            || property == AnimatedProperties.SCALE_Y
+            || property == AnimatedProperties.X
+            || property == AnimatedProperties.Y);
+  }
+
+  /**
+   * Follows the rest of the curve of an interpolator from the given fraction, rescaled so that it
+   * goes from 0 to 1.
+   */
+  private static class ResumedInterpolator implements Interpolator {
+    private final @Nullable Interpolator mInterpolator;
+    private final float mStartFraction;
+    private final float mStartValue;
+
+    ResumedInterpolator(@Nullable Interpolator interpolator, float startFraction) {
+      mInterpolator = interpolator;
+      mStartFraction = startFraction;
+      mStartValue = interpolate(startFraction);
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+      if (mStartValue == 1) {
+        return input;
+      }
+
+      final float value = interpolate(mStartFraction + input * (1 - mStartFraction));
+      return (value - mStartValue) / (1 - mStartValue);
+    }
+
+    private float interpolate(float fraction) {
+      return mInterpolator == null ? fraction : mInterpolator.getInterpolation(fraction);
+    }
+  }
+}
@@ -10,7 +10,9 @@
 
 package com.facebook.litho.animation;
 
+import com.facebook.litho.dataflow.AnimationCurve;
 import com.facebook.litho.dataflow.ConstantNode;
+import com.facebook.litho.dataflow.CurveNode;
 import com.facebook.litho.dataflow.SpringNode;
 import com.facebook.litho.dataflow.springs.SpringConfig;
 import java.util.ArrayList;
@@ -23,10 +25,23 @@ public class SpringTransition extends TransitionAnimationBinding {
 
   private final PropertyAnimation mPropertyAnimation;
   private final @Nullable SpringConfig mSpringConfig;
+  private final @Nullable AnimationCurve mCurve;
+  private @Nullable CurveNode mCurveNode;
 
   public SpringTransition(PropertyAnimation propertyAnimation, SpringConfig springConfig) {
     mPropertyAnimation = propertyAnimation;
     mSpringConfig = springConfig;
+    mCurve = null;
+  }
+
+  /**
+   * Creates a SpringTransition that follows the given precomputed curve, which should come from
+   * {@link AnimationCurve#spring}, rather than simulating the spring on every frame.
+   */
+  public SpringTransition(PropertyAnimation propertyAnimation, AnimationCurve curve) {
+    mPropertyAnimation = propertyAnimation;
+    mSpringConfig = null;
+    mCurve = curve;
   }
 
   public SpringTransition(PropertyAnimation propertyAnimation) {
@@ -40,6 +55,17 @@ public class SpringTransition extends TransitionAnimationBinding {
 
   @Override
   protected void setupBinding(Resolver resolver) {
+    if (mCurve != null) {
+      mCurveNode =
+          CurveNode.acquire(
+              mCurve,
+              resolver.getCurrentState(mPropertyAnimation.getPropertyHandle()),
+              mPropertyAnimation.getTargetValue());
+      addBinding(
+          mCurveNode, resolver.getAnimatedPropertyNode(mPropertyAnimation.getPropertyHandle()));
+      return;
+    }
+
     final SpringNode springNode = new SpringNode(mSpringConfig);
     final ConstantNode initial = new ConstantNode(resolver.getCurrentState(mPropertyAnimation.getPropertyHandle()));
     final ConstantNode end = new ConstantNode(mPropertyAnimation.getTargetValue());
@@ -48,4 +74,13 @@ public class SpringTransition extends TransitionAnimationBinding {
     addBinding(end, springNode, SpringNode.END_INPUT);
     addBinding(springNode, resolver.getAnimatedPropertyNode(mPropertyAnimation.getPropertyHandle()));
   }
+
+  @Override
+  public void stop() {
+    super.stop();
+    if (mCurveNode != null && !isActive()) {
+      mCurveNode.release();
+      mCurveNode = null;
+    }
+  }
 }
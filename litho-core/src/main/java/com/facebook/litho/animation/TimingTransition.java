@@ -12,7 +12,9 @@ package com.facebook.litho.animation;
 
 import android.support.annotation.Nullable;
 import android.view.animation.Interpolator;
+import com.facebook.litho.dataflow.AnimationCurve;
 import com.facebook.litho.dataflow.ConstantNode;
+import com.facebook.litho.dataflow.CurveNode;
 import com.facebook.litho.dataflow.InterpolatorNode;
 import com.facebook.litho.dataflow.MappingNode;
 import com.facebook.litho.dataflow.TimingNode;
@@ -26,6 +28,8 @@ public class TimingTransition extends TransitionAnimationBinding {
   private final int mDurationMs;
   private final PropertyAnimation mPropertyAnimation;
   private final @Nullable Interpolator mInterpolator;
+  private final @Nullable AnimationCurve mCurve;
+  private @Nullable CurveNode mCurveNode;
 
   public TimingTransition(int durationMs, PropertyAnimation propertyAnimation) {
     this(durationMs, propertyAnimation, null);
@@ -33,9 +37,26 @@ public class TimingTransition extends TransitionAnimationBinding {
 
   public TimingTransition(
       int durationMs, PropertyAnimation propertyAnimation, Interpolator interpolator) {
+    this(durationMs, propertyAnimation, interpolator, null);
+  }
+
+  /**
+   * Creates a TimingTransition that follows the given precomputed curve, which should come from
+   * {@link AnimationCurve#timing}, rather than computing its progress on every frame.
+   */
+  public TimingTransition(PropertyAnimation propertyAnimation, AnimationCurve curve) {
+    this(0, propertyAnimation, null, curve);
+  }
+
+  private TimingTransition(
+      int durationMs,
+      PropertyAnimation propertyAnimation,
+      @Nullable Interpolator interpolator,
+      @Nullable AnimationCurve curve) {
     mDurationMs = durationMs;
     mPropertyAnimation = propertyAnimation;
     mInterpolator = interpolator;
+    mCurve = curve;
   }
 
   @Override
@@ -45,6 +66,17 @@ public class TimingTransition extends TransitionAnimationBinding {
 
   @Override
   protected void setupBinding(Resolver resolver) {
+    if (mCurve != null) {
+      mCurveNode =
+          CurveNode.acquire(
+              mCurve,
+              resolver.getCurrentState(mPropertyAnimation.getPropertyHandle()),
+              mPropertyAnimation.getTargetValue());
+      addBinding(
+          mCurveNode, resolver.getAnimatedPropertyNode(mPropertyAnimation.getPropertyHandle()));
+      return;
+    }
+
     final TimingNode timingNode = new TimingNode(mDurationMs);
     final ConstantNode initial = new ConstantNode(resolver.getCurrentState(mPropertyAnimation.getPropertyHandle()));
     final ConstantNode end = new ConstantNode(mPropertyAnimation.getTargetValue());
@@ -63,4 +95,12 @@ public class TimingTransition extends TransitionAnimationBinding {
         mappingNode, resolver.getAnimatedPropertyNode(mPropertyAnimation.getPropertyHandle()));
   }
 
+  @Override
+  public void stop() {
+    super.stop();
+    if (mCurveNode != null && !isActive()) {
+      mCurveNode.release();
+      mCurveNode = null;
+    }
+  }
 }
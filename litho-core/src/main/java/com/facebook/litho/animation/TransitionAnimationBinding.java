@@ -58,17 +58,31 @@ public abstract class TransitionAnimationBinding implements AnimationBinding {
 
   @Override
   public void start(Resolver resolver) {
+    if (!notifyWillStart()) {
+      return;
+    }
+    setupBinding(resolver);
+    mGraphBinding.activate();
+  }
+
+  /**
+   * Checks with the listeners that this animation should start and notifies them that it will.
+   * Subclasses that don't run their animation through the {@link GraphBinding} need to call this
+   * when they start, and {@link #notifyFinish()} once they're done.
+   *
+   * @return whether the animation should start
+   */
+  protected final boolean notifyWillStart() {
     for (AnimationBindingListener listener : mListeners) {
       if (!listener.shouldStart(this)) {
         notifyCanceledBeforeStart();
-        return;
+        return false;
       }
     }
     for (AnimationBindingListener listener : mListeners) {
       listener.onWillStart(this);
     }
-    setupBinding(resolver);
-    mGraphBinding.activate();
+    return true;
   }
 
   /**
@@ -91,10 +105,17 @@ public abstract class TransitionAnimationBinding implements AnimationBinding {
   }
 
   private void onAllNodesFinished() {
+    notifyFinish();
+    stop();
+  }
+
+  /**
+   * Notifies the listeners that this animation has finished.
+   */
+  protected final void notifyFinish() {
     for (AnimationBindingListener listener : mListeners) {
       listener.onFinish(this);
     }
-    stop();
   }
 
   private void notifyCanceledBeforeStart() {
@@ -74,6 +74,13 @@ public class ComponentsConfiguration {
    */
   public static boolean incrementalMountUsesLocalVisibleBounds = false;
 
+  /**
+   * Whether a nested {@link com.facebook.litho.LithoView} should keep the visible rect the mount
+   * pass of its ancestor LithoView pushed down to it, and reuse it for the mounts it triggers
+   * itself while it hasn't moved, instead of measuring both the view and its parent on screen.
+   */
+  public static boolean incrementalMountUsesPropagatedVisibleRect = false;
+
   /**
    * Whether incremental mount that begins in {@link com.facebook.litho.LithoView} should use the
    * local visible bounds of the view.
@@ -126,6 +133,12 @@ public class ComponentsConfiguration {
   /** If scrapHostRecyclingForComponentHosts is false, determines the ComponentHost pool size. */
   public static int componentHostPoolSize = 30;
 
+  /**
+   * The number of YogaNodes, InternalNodes and LayoutOutputs created up front by {@link
+   * com.facebook.litho.ComponentsPools#warmUp}, capped by the sizes of their pools.
+   */
+  public static int warmUpPoolSize = 64;
+
   /** If true then the new version of the YogaEdgeWithInts will be used. */
   public static boolean useNewYogaEdge = false;
 
@@ -164,4 +177,52 @@ public class ComponentsConfiguration {
    * posted by setRootAsync.
    */
   public static boolean doNotRelayoutForAsyncRootInMeasure = false;
+
+  /**
+   * Whether a ComponentTree that needs a layout which is already being calculated on another
+   * thread, for the same root and size specs, should wait for that calculation to finish rather
+   * than calculating the same layout again. This mostly happens when a view is measured while the
+   * layout of its new root is being calculated in the background.
+   */
+  public static boolean shareInFlightLayouts = false;
+
+  /**
+   * Whether LayoutState should patch the sorted tops and bottoms of the previous LayoutState of the
+   * same ComponentTree instead of sorting the mountable outputs from scratch on every layout.
+   */
+  public static boolean incrementalMountableOutputSort = false;
+
+  /**
+   * Whether accessible drawables should be exposed as lazily populated virtual views of the host
+   * they are mounted in, instead of being wrapped in their own host views when accessibility is
+   * enabled. Layouts then no longer depend on the accessibility state of the device.
+   */
+  public static boolean lazyAccessibility = false;
+
+  /**
+   * Whether the drawing of borders should be cached in display lists, which can then be
+   * prefetched by {@link com.facebook.litho.DisplayListPrefetcher} before they come on screen.
+   */
+  public static boolean useDisplayListForBorders = false;
+
+  /**
+   * Whether the InternalNode tree of a layout should be released on a dedicated thread with a lower
+   * priority than the layout threads, so that the calculating thread can move on to the next layout
+   * right away.
+   */
+  public static boolean releaseNodeTreesAsync = false;
+
+  /**
+   * Whether timing and spring transitions should follow curves computed once per {@link
+   * com.facebook.litho.Transition} and animate through pooled nodes, instead of creating and
+   * computing their own graph of nodes for every animated property.
+   */
+  public static boolean precomputeAnimationCurves = false;
+
+  /**
+   * Whether a layout calculated in the background should stop early, releasing the nodes it
+   * created, once the root or size specs of its {@link com.facebook.litho.ComponentTree} change
+   * and its result won't be used anymore.
+   */
+  public static boolean cancelSupersededLayouts = false;
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.dataflow;
+
+import android.support.annotation.Nullable;
+import android.view.animation.Interpolator;
+import com.facebook.litho.dataflow.springs.Spring;
+import com.facebook.litho.dataflow.springs.SpringConfig;
+import java.util.Arrays;
+
+/**
+ * The progress of an animation over time, computed ahead of time into a table of samples so that
+ * following it on a frame is only a lookup. Curves are normalized: they go from 0 at the start of
+ * the animation to 1 at its end, so that a single curve can be shared by all the animations with
+ * the same timing or spring, whatever values they animate. See {@link CurveNode}.
+ */
+public final class AnimationCurve {
+
+  private static final long NS_PER_MS = 1000000;
+  private static final double NS_PER_SECOND = 1000000000.;
+  private static final int MAX_TIMING_SAMPLE_COUNT = 1024;
+  private static final int INITIAL_SPRING_SAMPLE_COUNT = 512;
+  private static final int MAX_SPRING_SAMPLE_COUNT = 10000;
+  private static final long SPRING_SAMPLE_INTERVAL_NS = NS_PER_MS;
+
+  // Springs are simulated until they are this close to their end, relative to the distance they
+  // travel, so that the curve is precise enough for any distance.
+  private static final double SPRING_REST_THRESHOLD = 0.00001;
+
+  // Same as the defaults of Spring, but in the unit of the animated value.
+  private static final float SPRING_REST_DISPLACEMENT = 0.005f;
+  private static final float SPRING_REST_SPEED = 0.005f;
+
+  // Same as the maximum amount of time a Spring simulates on a frame, so that a slow frame doesn't
+  // make it skip ahead.
+  private static final long MAX_SPRING_FRAME_DELTA_NS = 64 * NS_PER_MS;
+
+  private final @Nullable float[] mSamples;
+  private final long mSampleIntervalNs;
+  private final long mDurationNs;
+  private final float mEndFraction;
+  private final boolean mIsSpring;
+
+  private AnimationCurve(
+      @Nullable float[] samples,
+      long sampleIntervalNs,
+      long durationNs,
+      float endFraction,
+      boolean isSpring) {
+    mSamples = samples;
+    mSampleIntervalNs = sampleIntervalNs;
+    mDurationNs = durationNs;
+    mEndFraction = endFraction;
+    mIsSpring = isSpring;
+  }
+
+  /**
+   * @return the curve of an animation with the given duration, interpolated by the given {@link
+   *     Interpolator} if any. It matches a {@link TimingNode}, optionally followed by an {@link
+   *     InterpolatorNode}.
+   */
+  public static AnimationCurve timing(int durationMs, @Nullable Interpolator interpolator) {
+    final long durationNs = Math.max(0, durationMs) * NS_PER_MS;
+    if (interpolator == null || durationMs <= 0) {
+      final float endFraction = interpolator == null ? 1 : interpolator.getInterpolation(1);
+      return new AnimationCurve(null, 0, durationNs, endFraction, false);
+    }
+
+    final long sampleIntervalMs =
+        Math.max(1, (durationMs + MAX_TIMING_SAMPLE_COUNT - 1) / MAX_TIMING_SAMPLE_COUNT);
+    final int sampleCount = (int) ((durationMs + sampleIntervalMs - 1) / sampleIntervalMs) + 1;
+    final float[] samples = new float[sampleCount];
+    for (int i = 0; i < sampleCount; i++) {
+      final float fraction = Math.min(1f, (float) (i * sampleIntervalMs) / durationMs);
+      samples[i] = interpolator.getInterpolation(fraction);
+    }
+
+    return new AnimationCurve(
+        samples,
+        sampleIntervalMs * NS_PER_MS,
+        durationNs,
+        interpolator.getInterpolation(1),
+        false);
+  }
+
+  /**
+   * @return the curve of a spring with the given configuration, or the default one if null, going
+   *     from rest at 0 to 1. It matches a {@link SpringNode}.
+   */
+  public static AnimationCurve spring(@Nullable SpringConfig springConfig) {
+    final Spring spring = new Spring();
+    if (springConfig != null) {
+      spring.setSpringConfig(springConfig);
+    }
+    spring.setRestDisplacementThreshold(SPRING_REST_THRESHOLD);
+    spring.setRestSpeedThreshold(SPRING_REST_THRESHOLD);
+    spring.setCurrentValue(0);
+    spring.setEndValue(1);
+
+    float[] samples = new float[INITIAL_SPRING_SAMPLE_COUNT];
+    int sampleCount = 0;
+    samples[sampleCount++] = 0;
+    while (!spring.isAtRest() && sampleCount < MAX_SPRING_SAMPLE_COUNT) {
+      spring.advance(SPRING_SAMPLE_INTERVAL_NS / NS_PER_SECOND);
+      if (sampleCount == samples.length) {
+        samples = Arrays.copyOf(samples, sampleCount * 2);
+      }
+      samples[sampleCount++] = (float) spring.getCurrentValue();
+    }
+
+    return new AnimationCurve(
+        Arrays.copyOf(samples, sampleCount),
+        SPRING_SAMPLE_INTERVAL_NS,
+        (sampleCount - 1) * SPRING_SAMPLE_INTERVAL_NS,
+        1,
+        true);
+  }
+
+  /**
+   * @return the fraction of the animation at the given time since it started. The fraction may go
+   *     below 0 or above 1 for interpolators and springs that overshoot.
+   */
+  public float getFraction(long elapsedNs) {
+    if (elapsedNs >= mDurationNs) {
+      return mEndFraction;
+    }
+
+    if (mSamples == null) {
+      return elapsedNs <= 0 ? 0 : (float) elapsedNs / mDurationNs;
+    }
+
+    if (elapsedNs <= 0) {
+      return mSamples[0];
+    }
+
+    final int index = (int) (elapsedNs / mSampleIntervalNs);
+    final float offset = (float) (elapsedNs - index * mSampleIntervalNs) / mSampleIntervalNs;
+    return mSamples[index] + (mSamples[index + 1] - mSamples[index]) * offset;
+  }
+
+  /** @return the fraction of the animation once it's finished. */
+  public float getEndFraction() {
+    return mEndFraction;
+  }
+
+  /**
+   * @return whether an animation that moves a value by the given distance along this curve is
+   *     finished at the given time since it started. Animations along a spring curve finish as
+   *     soon as the value and its speed are within the thresholds of a {@link Spring} at rest.
+   */
+  public boolean isFinished(long elapsedNs, float distance) {
+    if (elapsedNs >= mDurationNs) {
+      return true;
+    }
+
+    if (!mIsSpring) {
+      return false;
+    }
+
+    final int index = (int) (Math.max(0, elapsedNs) / mSampleIntervalNs);
+    final float absDistance = Math.abs(distance);
+    final float displacement = absDistance * Math.abs(1 - getFraction(elapsedNs));
+    final double speed =
+        absDistance
+            * Math.abs(mSamples[index + 1] - mSamples[index])
+            * NS_PER_SECOND
+            / mSampleIntervalNs;
+    return displacement <= SPRING_REST_DISPLACEMENT && speed <= SPRING_REST_SPEED;
+  }
+
+  /**
+   * @return the time by which an animation along this curve should move forward for a frame that
+   *     comes the given time after the previous one.
+   */
+  public long getFrameDelta(long frameDeltaNs) {
+    return mIsSpring ? Math.min(frameDeltaNs, MAX_SPRING_FRAME_DELTA_NS) : frameDeltaNs;
+  }
+}
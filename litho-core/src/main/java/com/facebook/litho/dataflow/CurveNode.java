@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.dataflow;
+
+import android.support.v4.util.Pools;
+
+/**
+ * A {@link ValueNode} that animates from an initial to an end value along an {@link
+ * AnimationCurve}. It does the work of a {@link TimingNode} or {@link SpringNode} and of the nodes
+ * mapping their output to the animated values, but only looks up the precomputed curve on each
+ * frame.
+ *
+ * <p>CurveNodes are pooled: get one with {@link #acquire} and give it back with {@link #release}
+ * once the binding it was added to has been deactivated.
+ */
+public class CurveNode extends ValueNode implements NodeCanFinish {
+
+  private static final Pools.SynchronizedPool<CurveNode> sCurveNodePool =
+      new Pools.SynchronizedPool<>(64);
+
+  private AnimationCurve mCurve;
+  private float mInitialValue;
+  private float mEndValue;
+  private long mLastFrameTimeNs = Long.MIN_VALUE;
+  private long mElapsedNs;
+  private boolean mIsFinished;
+
+  private CurveNode() {}
+
+  public static CurveNode acquire(AnimationCurve curve, float initialValue, float endValue) {
+    CurveNode node = sCurveNodePool.acquire();
+    if (node == null) {
+      node = new CurveNode();
+    }
+
+    node.mCurve = curve;
+    node.mInitialValue = initialValue;
+    node.mEndValue = endValue;
+    node.setValue(initialValue);
+    return node;
+  }
+
+  public void release() {
+    mCurve = null;
+    mLastFrameTimeNs = Long.MIN_VALUE;
+    mElapsedNs = 0;
+    mIsFinished = false;
+    reset();
+    sCurveNodePool.release(this);
+  }
+
+  @Override
+  protected float calculateValue(long frameTimeNanos) {
+    if (mLastFrameTimeNs != Long.MIN_VALUE) {
+      mElapsedNs += mCurve.getFrameDelta(frameTimeNanos - mLastFrameTimeNs);
+    }
+    mLastFrameTimeNs = frameTimeNanos;
+
+    final float distance = mEndValue - mInitialValue;
+    mIsFinished = mCurve.isFinished(mElapsedNs, distance);
+    final float fraction = mIsFinished ? mCurve.getEndFraction() : mCurve.getFraction(mElapsedNs);
+    return mInitialValue + distance * fraction;
+  }
+
+  @Override
+  public boolean isFinished() {
+    return mIsFinished;
+  }
+}
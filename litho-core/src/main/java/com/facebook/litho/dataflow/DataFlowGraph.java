@@ -14,9 +14,7 @@ import android.support.v4.util.Pools;
 import android.support.v4.util.SimpleArrayMap;
 import com.facebook.litho.ComponentsPools;
 import com.facebook.litho.internal.ArraySet;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
 import javax.annotation.concurrent.GuardedBy;
 
 /**
@@ -47,10 +45,96 @@ public class DataFlowGraph {
 
     private boolean isFinished = false;
     private int refCount = 0;
+    private GraphPartition partition = null;
+    private int index = -1;
 
     void reset() {
       isFinished = false;
       refCount = 0;
+      partition = null;
+      index = -1;
+    }
+  }
+
+  /**
+   * A set of bindings that share nodes with each other, but not with the bindings of other
+   * partitions. Its nodes are sorted once, on the first frame after it's created, and their states
+   * are kept in arrays in that order so that no lookup is needed on each frame.
+   */
+  private static class GraphPartition {
+
+    private final ArrayList<GraphBinding> mBindings = new ArrayList<>();
+    private ValueNode[] mSortedNodes;
+    private NodeState[] mSortedNodeStates;
+
+    // The sorted indices of the inputs of the node at index i are in mInputIndices, from
+    // mInputOffsets[i] to mInputOffsets[i + 1].
+    private int[] mInputOffsets;
+    private int[] mInputIndices;
+
+    // The sorted indices of the nodes of each binding, in the order of mBindings.
+    private int[][] mBindingNodeIndices;
+
+    private int mUnfinishedNodeCount;
+    private boolean mHasFinishedNodesChanged = true;
+
+    void propagate(long frameTimeNanos) {
+      for (int i = 0; i < mSortedNodes.length; i++) {
+        mSortedNodes[i].doCalculateValue(frameTimeNanos);
+      }
+    }
+
+    void updateFinishedNodes() {
+      if (mUnfinishedNodeCount == 0) {
+        return;
+      }
+
+      for (int i = 0; i < mSortedNodes.length; i++) {
+        final NodeState nodeState = mSortedNodeStates[i];
+        if (nodeState.isFinished || !areInputsFinished(i)) {
+          continue;
+        }
+
+        final ValueNode node = mSortedNodes[i];
+        final boolean nodeIsNowFinished =
+            !(node instanceof NodeCanFinish) || ((NodeCanFinish) node).isFinished();
+        if (nodeIsNowFinished) {
+          nodeState.isFinished = true;
+          mUnfinishedNodeCount--;
+          mHasFinishedNodesChanged = true;
+        }
+      }
+    }
+
+    private boolean areInputsFinished(int index) {
+      for (int i = mInputOffsets[index], end = mInputOffsets[index + 1]; i < end; i++) {
+        if (!mSortedNodeStates[mInputIndices[i]].isFinished) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void collectFinishedBindings(ArrayList<GraphBinding> finishedBindings) {
+      if (!mHasFinishedNodesChanged) {
+        return;
+      }
+      mHasFinishedNodesChanged = false;
+
+      for (int i = 0, size = mBindings.size(); i < size; i++) {
+        if (areNodesFinished(mBindingNodeIndices[i])) {
+          finishedBindings.add(mBindings.get(i));
+        }
+      }
+    }
+
+    private boolean areNodesFinished(int[] nodeIndices) {
+      for (int i = 0; i < nodeIndices.length; i++) {
+        if (!mSortedNodeStates[nodeIndices[i]].isFinished) {
+          return false;
+        }
+      }
+      return true;
     }
   }
 
@@ -77,11 +161,14 @@ public class DataFlowGraph {
   private final ArrayList<GraphBinding> mBindings = new ArrayList<>();
 
   @GuardedBy("this")
-  private final ArrayList<ValueNode> mSortedNodes = new ArrayList<>();
+  private final ArrayList<GraphPartition> mPartitions = new ArrayList<>();
 
   @GuardedBy("this")
   private final SimpleArrayMap<ValueNode, NodeState> mNodeStates = new SimpleArrayMap<>();
 
+  @GuardedBy("this")
+  private final ArrayList<GraphBinding> mFinishedBindings = new ArrayList<>();
+
   private boolean mIsDirty = false;
 
   private DataFlowGraph(TimingSource timingSource) {
@@ -98,6 +185,19 @@ public class DataFlowGraph {
     }
     mBindings.add(binding);
     registerNodes(binding);
+
+    // Only the partitions this binding shares nodes with need to be sorted again.
+    final ArrayList<GraphBinding> bindingsToPartition = new ArrayList<>();
+    bindingsToPartition.add(binding);
+    final ArraySet<ValueNode> nodes = binding.getAllNodes();
+    for (int i = 0, size = nodes.size(); i < size; i++) {
+      final GraphPartition partition = mNodeStates.get(nodes.valueAt(i)).partition;
+      if (partition != null && mPartitions.remove(partition)) {
+        bindingsToPartition.addAll(partition.mBindings);
+      }
+    }
+    addPartitions(bindingsToPartition);
+
     if (mBindings.size() == 1) {
       mTimingSource.start();
     }
@@ -112,10 +212,18 @@ public class DataFlowGraph {
     if (!mBindings.remove(binding)) {
       throw new RuntimeException("Tried to unregister non-existent binding");
     }
+
+    final GraphPartition partition = findPartition(binding);
+    mPartitions.remove(partition);
     unregisterNodes(binding);
+
+    // The remaining bindings of the partition may not share nodes with each other anymore.
+    final ArrayList<GraphBinding> bindingsToPartition = new ArrayList<>(partition.mBindings);
+    bindingsToPartition.remove(binding);
+    addPartitions(bindingsToPartition);
+
     if (mBindings.isEmpty()) {
       mTimingSource.stop();
-      mSortedNodes.clear();
       if (!mNodeStates.isEmpty()) {
         throw new RuntimeException("Failed to clean up all nodes");
       }
@@ -125,7 +233,7 @@ public class DataFlowGraph {
 
   synchronized void doFrame(long frameTimeNanos) {
     if (mIsDirty) {
-      regenerateSortedNodes();
+      sortNewPartitions();
     }
 
     propagate(frameTimeNanos);
@@ -134,127 +242,181 @@ public class DataFlowGraph {
 
   @GuardedBy("this")
   private void propagate(long frameTimeNanos) {
-    final int size = mSortedNodes.size();
-    for (int i = 0; i < size; i++) {
-      final ValueNode node = mSortedNodes.get(i);
-      node.doCalculateValue(frameTimeNanos);
+    for (int i = 0, size = mPartitions.size(); i < size; i++) {
+      mPartitions.get(i).propagate(frameTimeNanos);
     }
   }
 
   @GuardedBy("this")
-  private void regenerateSortedNodes() {
-    mSortedNodes.clear();
-
-    if (mBindings.size() == 0) {
-      return;
+  private GraphPartition findPartition(GraphBinding binding) {
+    for (int i = 0, size = mPartitions.size(); i < size; i++) {
+      final GraphPartition partition = mPartitions.get(i);
+      if (partition.mBindings.contains(binding)) {
+        return partition;
+      }
     }
+    throw new RuntimeException("Registered binding without a partition: " + binding);
+  }
 
-    final ArraySet<ValueNode> leafNodes = ComponentsPools.acquireArraySet();
-    final SimpleArrayMap<ValueNode, Integer> nodesToOutputsLeft = new SimpleArrayMap<>();
+  /**
+   * Groups the given bindings into partitions of bindings that share nodes and adds them to the
+   * graph. They are sorted on the next frame, once the connections of the bindings are final.
+   */
+  @GuardedBy("this")
+  private void addPartitions(ArrayList<GraphBinding> bindings) {
+    while (!bindings.isEmpty()) {
+      final GraphPartition partition = new GraphPartition();
+      partition.mBindings.add(bindings.remove(bindings.size() - 1));
+
+      for (int i = 0; i < partition.mBindings.size(); i++) {
+        final ArraySet<ValueNode> nodes = partition.mBindings.get(i).getAllNodes();
+        for (int j = bindings.size() - 1; j >= 0; j--) {
+          if (sharesNodes(nodes, bindings.get(j).getAllNodes())) {
+            partition.mBindings.add(bindings.remove(j));
+          }
+        }
+      }
 
-    for (int i = 0, bindingsSize = mBindings.size(); i < bindingsSize; i++) {
-      final ArraySet<ValueNode> nodes = mBindings.get(i).getAllNodes();
-      for (int j = 0, nodesSize = nodes.size(); j < nodesSize; j++) {
-        final ValueNode node = nodes.valueAt(j);
-        final int outputCount = node.getOutputCount();
-        if (outputCount == 0) {
-          leafNodes.add(node);
-        } else {
-          nodesToOutputsLeft.put(node, outputCount);
+      for (int i = 0, size = partition.mBindings.size(); i < size; i++) {
+        final ArraySet<ValueNode> nodes = partition.mBindings.get(i).getAllNodes();
+        for (int j = 0, nodesSize = nodes.size(); j < nodesSize; j++) {
+          mNodeStates.get(nodes.valueAt(j)).partition = partition;
         }
       }
+      mPartitions.add(partition);
     }
+  }
 
-    if (!nodesToOutputsLeft.isEmpty() && leafNodes.isEmpty()) {
+  @GuardedBy("this")
+  private void sortNewPartitions() {
+    for (int i = 0, size = mPartitions.size(); i < size; i++) {
+      final GraphPartition partition = mPartitions.get(i);
+      if (partition.mSortedNodes == null) {
+        sortPartition(partition);
+      }
+    }
+    mIsDirty = false;
+  }
+
+  private static boolean sharesNodes(ArraySet<ValueNode> nodes, ArraySet<ValueNode> otherNodes) {
+    if (nodes.size() > otherNodes.size()) {
+      return sharesNodes(otherNodes, nodes);
+    }
+
+    for (int i = 0, size = nodes.size(); i < size; i++) {
+      if (otherNodes.contains(nodes.valueAt(i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @GuardedBy("this")
+  private void sortPartition(GraphPartition partition) {
+    final ArraySet<ValueNode> nodes = ComponentsPools.acquireArraySet();
+    for (int i = 0, size = partition.mBindings.size(); i < size; i++) {
+      nodes.addAll(partition.mBindings.get(i).getAllNodes());
+    }
+
+    // The node states temporarily hold the index of their node in the set while sorting.
+    final int nodeCount = nodes.size();
+    for (int i = 0; i < nodeCount; i++) {
+      mNodeStates.get(nodes.valueAt(i)).index = i;
+    }
+
+    final int[] outputsLeft = new int[nodeCount];
+    final int[] nodesToProcess = new int[nodeCount];
+    int nodesToProcessEnd = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      outputsLeft[i] = nodes.valueAt(i).getOutputCount();
+      if (outputsLeft[i] == 0) {
+        nodesToProcess[nodesToProcessEnd++] = i;
+      }
+    }
+
+    if (nodeCount > 0 && nodesToProcessEnd == 0) {
       throw new DetectedCycleException(
           "Graph has nodes, but they represent a cycle with no leaf nodes!");
     }
 
-    final ArrayDeque<ValueNode> nodesToProcess = ComponentsPools.acquireArrayDeque();
-    nodesToProcess.addAll(leafNodes);
-
-    while (!nodesToProcess.isEmpty()) {
-      final ValueNode next = nodesToProcess.pollFirst();
-      mSortedNodes.add(next);
-      for (int i = 0, count = next.getInputCount(); i < count; i++) {
-        final ValueNode input = next.getInputAt(i);
-        final int outputsLeft = nodesToOutputsLeft.get(input) - 1;
-        nodesToOutputsLeft.put(input, outputsLeft);
-        if (outputsLeft == 0) {
-          nodesToProcess.addLast(input);
-        } else if (outputsLeft < 0) {
+    int totalInputCount = 0;
+    for (int processed = 0; processed < nodesToProcessEnd; processed++) {
+      final ValueNode next = nodes.valueAt(nodesToProcess[processed]);
+      final int inputCount = next.getInputCount();
+      totalInputCount += inputCount;
+      for (int i = 0; i < inputCount; i++) {
+        final int inputIndex = mNodeStates.get(next.getInputAt(i)).index;
+        outputsLeft[inputIndex]--;
+        if (outputsLeft[inputIndex] == 0) {
+          nodesToProcess[nodesToProcessEnd++] = inputIndex;
+        } else if (outputsLeft[inputIndex] < 0) {
           throw new DetectedCycleException("Detected cycle.");
         }
       }
     }
 
-    int expectedTotalNodes = nodesToOutputsLeft.size() + leafNodes.size();
-    if (mSortedNodes.size() != expectedTotalNodes) {
+    if (nodesToProcessEnd != nodeCount) {
       throw new DetectedCycleException(
           "Had unreachable nodes in graph -- this likely means there was a cycle");
     }
 
-    Collections.reverse(mSortedNodes);
-    mIsDirty = false;
-
-    ComponentsPools.release(nodesToProcess);
-    ComponentsPools.release(leafNodes);
-  }
-
-  @GuardedBy("this")
-  private void updateFinishedStates() {
-    updateFinishedNodes();
-    notifyFinishedBindings();
-  }
-
-  @GuardedBy("this")
-  private void updateFinishedNodes() {
-    for (int i = 0, size = mSortedNodes.size(); i < size; i++) {
-      final ValueNode node = mSortedNodes.get(i);
+    // Nodes were processed from the outputs to the inputs, so the sorted order is the reverse.
+    partition.mSortedNodes = new ValueNode[nodeCount];
+    partition.mSortedNodeStates = new NodeState[nodeCount];
+    for (int i = 0; i < nodeCount; i++) {
+      final ValueNode node = nodes.valueAt(nodesToProcess[nodeCount - 1 - i]);
       final NodeState nodeState = mNodeStates.get(node);
-      if (nodeState.isFinished || !areInputsFinished(node)) {
-        continue;
+      nodeState.index = i;
+      partition.mSortedNodes[i] = node;
+      partition.mSortedNodeStates[i] = nodeState;
+      if (!nodeState.isFinished) {
+        partition.mUnfinishedNodeCount++;
       }
+    }
 
-      final boolean nodeIsNowFinished =
-          !(node instanceof NodeCanFinish) ||
-              ((NodeCanFinish) node).isFinished();
-      if (nodeIsNowFinished) {
-        nodeState.isFinished = true;
+    partition.mInputOffsets = new int[nodeCount + 1];
+    partition.mInputIndices = new int[totalInputCount];
+    int inputIndicesEnd = 0;
+    for (int i = 0; i < nodeCount; i++) {
+      final ValueNode node = partition.mSortedNodes[i];
+      partition.mInputOffsets[i] = inputIndicesEnd;
+      for (int j = 0, inputCount = node.getInputCount(); j < inputCount; j++) {
+        partition.mInputIndices[inputIndicesEnd++] = mNodeStates.get(node.getInputAt(j)).index;
       }
     }
-  }
-
-  @GuardedBy("this")
-  private boolean areInputsFinished(ValueNode node) {
-    for (int i = 0, inputCount = node.getInputCount(); i < inputCount; i++) {
-      final NodeState nodeState = mNodeStates.get(node.getInputAt(i));
-      if (!nodeState.isFinished) {
-        return false;
+    partition.mInputOffsets[nodeCount] = inputIndicesEnd;
+
+    final int bindingCount = partition.mBindings.size();
+    partition.mBindingNodeIndices = new int[bindingCount][];
+    for (int i = 0; i < bindingCount; i++) {
+      final ArraySet<ValueNode> bindingNodes = partition.mBindings.get(i).getAllNodes();
+      final int[] nodeIndices = new int[bindingNodes.size()];
+      for (int j = 0; j < nodeIndices.length; j++) {
+        nodeIndices[j] = mNodeStates.get(bindingNodes.valueAt(j)).index;
       }
+      partition.mBindingNodeIndices[i] = nodeIndices;
     }
-    return true;
+
+    ComponentsPools.release(nodes);
   }
 
   @GuardedBy("this")
-  private void notifyFinishedBindings() {
-    // Iterate in reverse order since notifying that a binding is finished results in removing
-    // that binding.
-    for (int i = mBindings.size() - 1; i >= 0; i--) {
-      final GraphBinding binding = mBindings.get(i);
-      boolean allAreFinished = true;
-      final ArraySet<ValueNode> nodesToCheck = binding.getAllNodes();
-      for (int j = 0, nodesSize = nodesToCheck.size(); j < nodesSize; j++) {
-        final NodeState nodeState = mNodeStates.get(nodesToCheck.valueAt(j));
-        if (!nodeState.isFinished) {
-          allAreFinished = false;
-          break;
-        }
-      }
-      if (allAreFinished) {
+  private void updateFinishedStates() {
+    for (int i = 0, size = mPartitions.size(); i < size; i++) {
+      final GraphPartition partition = mPartitions.get(i);
+      partition.updateFinishedNodes();
+      partition.collectFinishedBindings(mFinishedBindings);
+    }
+
+    // Notifying that a binding is finished results in removing that binding, which changes the
+    // partitions, so this is done once all the finished bindings are known.
+    for (int i = 0, size = mFinishedBindings.size(); i < size; i++) {
+      final GraphBinding binding = mFinishedBindings.get(i);
+      if (binding.isActive()) {
         binding.notifyNodesHaveFinished();
       }
     }
+    mFinishedBindings.clear();
   }
 
   @GuardedBy("this")
@@ -302,6 +464,11 @@ public class DataFlowGraph {
   @VisibleForTesting
   @GuardedBy("this")
   boolean hasReferencesToNodes() {
-    return !mBindings.isEmpty() || !mSortedNodes.isEmpty() || !mNodeStates.isEmpty();
+    return !mBindings.isEmpty() || !mPartitions.isEmpty() || !mNodeStates.isEmpty();
+  }
+
+  @VisibleForTesting
+  synchronized int getPartitionCount() {
+    return mPartitions.size();
   }
 }
@@ -132,6 +132,18 @@ public abstract class ValueNode {
     mValue = value;
   }
 
+  /**
+   * Resets the value of a node that isn't bound to any other node anymore, so that it can be reused
+   * by a new binding.
+   */
+  void reset() {
+    if (getInputCount() > 0 || getOutputCount() > 0) {
+      throw new RuntimeException("Tried to reset a node that is still bound to other nodes");
+    }
+    mValue = 0;
+    mTimeNs = 0;
+  }
+
   void addOutput(ValueNode node) {
     if (mOutputs == null) {
       mOutputs = new ArrayList<>();
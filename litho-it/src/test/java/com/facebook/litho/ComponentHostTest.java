@@ -38,10 +38,12 @@ import android.support.v4.util.SparseArrayCompat;
 import android.util.SparseArray;
 import android.view.MotionEvent;
 import android.view.View;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.TestViewComponent;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
 import com.facebook.yoga.YogaDirection;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -586,6 +588,45 @@ public class ComponentHostTest {
     assertThat(mHost.getContentDescriptions()).doesNotContain(viewContentDescription);
   }
 
+  @Test
+  public void testLazyAccessibilityNodes() {
+    ComponentsConfiguration.lazyAccessibility = true;
+    try {
+      final ComponentAccessibilityDelegate delegate = new ComponentAccessibilityDelegate(mHost);
+      final List<Integer> virtualViewIds = new ArrayList<>();
+
+      delegate.getVisibleVirtualViews(virtualViewIds);
+      assertThat(delegate.hasLazyNodes()).isFalse();
+      assertThat(virtualViewIds).isEmpty();
+
+      MountItem mountItem2 =
+          mount(2, new ColorDrawable(), MountItem.FLAG_LAZY_ACCESSIBILITY, "drawable2");
+      MountItem mountItem5 =
+          mount(5, new ColorDrawable(), MountItem.FLAG_LAZY_ACCESSIBILITY, "drawable5");
+      mount(7, new ColorDrawable(), 0, "drawable7");
+      mount(9, mock(View.class), 0, "view9");
+      assertThat(mHost.hasLazyAccessibilityItems()).isTrue();
+      delegate.invalidateLazyNodes();
+
+      delegate.getVisibleVirtualViews(virtualViewIds);
+      assertThat(delegate.hasLazyNodes()).isTrue();
+      assertThat(virtualViewIds).containsExactly(2 << 10, 5 << 10);
+
+      unmount(2, mountItem2);
+      delegate.invalidateLazyNodes();
+      virtualViewIds.clear();
+
+      delegate.getVisibleVirtualViews(virtualViewIds);
+      assertThat(virtualViewIds).containsExactly(5 << 10);
+
+      unmount(5, mountItem5);
+      assertThat(mHost.hasLazyAccessibilityItems()).isFalse();
+      assertThat(delegate.hasLazyNodes()).isFalse();
+    } finally {
+      ComponentsConfiguration.lazyAccessibility = false;
+    }
+  }
+
   @Test
   public void testGetChildDrawingOrder() {
     View v1 = new View(mContext);
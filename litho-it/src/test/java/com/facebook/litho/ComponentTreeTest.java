@@ -20,9 +20,14 @@ import static org.junit.Assert.fail;
 import static org.powermock.reflect.Whitebox.getInternalState;
 
 import android.os.Looper;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.TestLayoutComponent;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.litho.testing.util.InlineLayoutSpec;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -447,6 +452,66 @@ public class ComponentTreeTest {
     Assert.assertNull(getComponentTree(lithoView1));
   }
 
+  @Test
+  public void testMeasureWaitsForInFlightLayout() throws Exception {
+    ComponentsConfiguration.shareInFlightLayouts = true;
+
+    try {
+      final CountDownLatch layoutStarted = new CountDownLatch(1);
+      final CountDownLatch finishLayout = new CountDownLatch(1);
+      final AtomicInteger layoutCount = new AtomicInteger();
+      final Component component =
+          new InlineLayoutSpec() {
+            @Override
+            protected Component onCreateLayout(ComponentContext c) {
+              layoutCount.incrementAndGet();
+              layoutStarted.countDown();
+              try {
+                finishLayout.await();
+              } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+              return TestDrawableComponent.create(c).build();
+            }
+          };
+
+      final ComponentTree componentTree = create(mContext, component).build();
+
+      new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  componentTree.setSizeSpec(mWidthSpec, mHeightSpec);
+                }
+              })
+          .start();
+      assertThat(layoutStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // Let the background layout finish once the measure below is waiting for it.
+      new Thread(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
+                    Thread.sleep(100);
+                  } catch (InterruptedException e) {
+                    // Finish the layout anyway.
+                  }
+                  finishLayout.countDown();
+                }
+              })
+          .start();
+
+      final int[] measureOutput = new int[2];
+      componentTree.measure(mWidthSpec, mHeightSpec, measureOutput, false);
+
+      assertThat(layoutCount.get()).isEqualTo(1);
+      assertThat(measureOutput[0]).isEqualTo(SizeSpec.getSize(mWidthSpec));
+    } finally {
+      ComponentsConfiguration.shareInFlightLayouts = false;
+    }
+  }
+
   private static LithoView getLithoView(ComponentTree componentTree) {
     return Whitebox.getInternalState(componentTree, "mLithoView");
   }
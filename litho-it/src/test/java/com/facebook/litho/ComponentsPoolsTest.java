@@ -19,7 +19,13 @@ import android.content.ContextWrapper;
 import android.graphics.Color;
 import android.graphics.drawable.ColorDrawable;
 import android.view.View;
+import com.facebook.litho.config.ComponentsConfiguration;
+import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.litho.testing.util.InlineLayoutSpec;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -204,4 +210,33 @@ public class ComponentsPoolsTest {
     assertThat(acquireMountContent(mContext1, mLifecycleWithEmptyPoolSize))
         .isSameAs(mNewMountContent);
   }
+
+  @Test
+  public void testWarmUpFillsPools() {
+    ComponentsPools.clearInternalUtilPools();
+
+    ComponentsPools.warmUpSync(mContext1, Collections.<Component>emptyList());
+
+    final int poolSize = ComponentsConfiguration.warmUpPoolSize;
+    assertThat(ComponentsPools.sYogaNodePool.getCurrentSize()).isEqualTo(poolSize);
+    assertThat(ComponentsPools.sInternalNodePool.getCurrentSize()).isEqualTo(poolSize);
+    assertThat(ComponentsPools.sLayoutOutputPool.getCurrentSize()).isEqualTo(poolSize);
+  }
+
+  @Test
+  public void testWarmUpLaysOutComponents() {
+    final AtomicInteger createLayoutCount = new AtomicInteger();
+    final Component component =
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(ComponentContext c) {
+            createLayoutCount.incrementAndGet();
+            return TestDrawableComponent.create(c).build();
+          }
+        };
+
+    ComponentsPools.warmUpSync(mContext1, Arrays.asList(component, component));
+
+    assertThat(createLayoutCount.get()).isEqualTo(2);
+  }
 }
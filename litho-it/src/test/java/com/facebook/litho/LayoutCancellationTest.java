@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.robolectric.RuntimeEnvironment.application;
+
+import com.facebook.litho.testing.TestDrawableComponent;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import com.facebook.litho.testing.util.InlineLayoutSpec;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class LayoutCancellationTest {
+
+  private static final int SIZE_SPEC = makeSizeSpec(100, EXACTLY);
+
+  private LayoutCancellation mLayoutCancellation;
+  private int mCreatedChildCount;
+
+  @Before
+  public void setup() {
+    mLayoutCancellation = new LayoutCancellation(1, SIZE_SPEC, SIZE_SPEC);
+    mCreatedChildCount = 0;
+  }
+
+  @Test
+  public void testLayoutCompletesIfNotCancelled() {
+    final LayoutState layoutState = calculateLayoutState(createComponent(false));
+
+    assertThat(layoutState.isCancelled()).isFalse();
+    assertThat(mCreatedChildCount).isEqualTo(1);
+    assertThat(layoutState.getMountableOutputCount()).isGreaterThan(0);
+  }
+
+  @Test
+  public void testCancelledLayoutCreatesNothing() {
+    mLayoutCancellation.cancel();
+
+    final LayoutState layoutState = calculateLayoutState(createComponent(false));
+
+    assertThat(layoutState.isCancelled()).isTrue();
+    assertThat(mCreatedChildCount).isEqualTo(0);
+    assertThat(layoutState.getMountableOutputCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testLayoutCancelledWhileCreatingStopsEarly() {
+    final LayoutState layoutState = calculateLayoutState(createComponent(true));
+
+    assertThat(layoutState.isCancelled()).isTrue();
+    assertThat(mCreatedChildCount).isEqualTo(0);
+    assertThat(layoutState.getMountableOutputCount()).isEqualTo(0);
+  }
+
+  private Component createComponent(final boolean cancelWhileCreating) {
+    final Component child =
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(ComponentContext c) {
+            mCreatedChildCount++;
+            return TestDrawableComponent.create(c).build();
+          }
+        };
+
+    return new InlineLayoutSpec() {
+      @Override
+      protected Component onCreateLayout(ComponentContext c) {
+        if (cancelWhileCreating) {
+          mLayoutCancellation.cancel();
+        }
+        return Column.create(c).child(child).build();
+      }
+    };
+  }
+
+  private LayoutState calculateLayoutState(Component component) {
+    return LayoutState.calculate(
+        ComponentContext.withLayoutCancellation(
+            new ComponentContext(application), mLayoutCancellation),
+        component,
+        -1,
+        SIZE_SPEC,
+        SIZE_SPEC,
+        LayoutState.CalculateLayoutSource.TEST);
+  }
+}
@@ -52,6 +52,7 @@ import android.content.Context;
 import android.graphics.Rect;
 import android.util.SparseArray;
 import android.view.accessibility.AccessibilityManager;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.TestComponent;
 import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.TestLayoutComponent;
@@ -63,6 +64,8 @@ import com.facebook.litho.testing.util.InlineLayoutSpec;
 import com.facebook.litho.widget.Text;
 import com.facebook.yoga.YogaAlign;
 import com.facebook.yoga.YogaEdge;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -1632,6 +1635,58 @@ public class LayoutStateCalculateTest {
     assertThat(getComponentAt(layoutState, 9)).isInstanceOf(TestDrawableComponent.class);
   }
 
+  @Test
+  public void testLazyAccessibilityKeepsHostsForLayoutContentDescriptions() {
+    enableAccessibility();
+    ComponentsConfiguration.lazyAccessibility = true;
+
+    try {
+      final Component component =
+          new InlineLayoutSpec() {
+            @Override
+            protected Component onCreateLayout(final ComponentContext c) {
+              return Column.create(c)
+                  .child(
+                      Column.create(c)
+                          .contentDescription("This is a container")
+                          .child(TestDrawableComponent.create(c).widthDip(30).heightDip(30)))
+                  .child(
+                      TestDrawableComponent.create(c)
+                          .widthDip(30)
+                          .heightDip(30)
+                          .contentDescription("This is an image"))
+                  .build();
+            }
+          };
+
+      final LayoutState layoutState =
+          calculateLayoutState(
+              application, component, -1, makeSizeSpec(100, EXACTLY), makeSizeSpec(100, EXACTLY));
+
+      // The container can only be exposed through its own host, while the image is exposed as a
+      // virtual view of the root host.
+      assertThat(layoutState.getMountableOutputCount()).isEqualTo(4);
+      assertThat(isHostComponent(getComponentAt(layoutState, 0))).isTrue();
+      assertThat(isHostComponent(getComponentAt(layoutState, 1))).isTrue();
+      assertThat(layoutState.getMountableOutputAt(1).getNodeInfo().getContentDescription())
+          .isEqualTo("This is a container");
+      assertThat(getComponentAt(layoutState, 2)).isInstanceOf(TestDrawableComponent.class);
+      assertThat(getComponentAt(layoutState, 3)).isInstanceOf(TestDrawableComponent.class);
+      assertThat(layoutState.getMountableOutputAt(3).getHostMarker())
+          .isEqualTo(layoutState.getMountableOutputAt(0).getId());
+
+      // Only the image is flagged as exposed by its host, together with its content description.
+      assertThat(MountItem.hasLazyAccessibility(layoutState.getMountableOutputAt(2).getFlags()))
+          .isFalse();
+      assertThat(MountItem.hasLazyAccessibility(layoutState.getMountableOutputAt(3).getFlags()))
+          .isTrue();
+      assertThat(layoutState.getMountableOutputAt(3).getNodeInfo().getContentDescription())
+          .isEqualTo("This is an image");
+    } finally {
+      ComponentsConfiguration.lazyAccessibility = false;
+    }
+  }
+
   @Test
   public void testLayoutOutputsWithImportantForAccessibility() {
     enableAccessibility();
@@ -2569,6 +2624,45 @@ public class LayoutStateCalculateTest {
     assertThat(getComponentAt(layoutState, 1)).isInstanceOf(DrawableComponent.class);
   }
 
+  @Test
+  public void testBorderOutputUsesDisplayListWhenEnabled() {
+    final Component component =
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(final ComponentContext c) {
+            return create(c)
+                .child(TestDrawableComponent.create(c))
+                .border(Border.create(c).widthPx(ALL, 10).color(ALL, GREEN).build())
+                .build();
+          }
+        };
+
+    final LayoutState layoutState = calculateLayoutState(
+        application,
+        component,
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(100, EXACTLY));
+
+    assertThat(getComponentAt(layoutState, 1).shouldUseDisplayList()).isFalse();
+
+    ComponentsConfiguration.useDisplayListForBorders = true;
+    try {
+      final LayoutState displayListLayoutState = calculateLayoutState(
+          application,
+          component,
+          -1,
+          makeSizeSpec(100, EXACTLY),
+          makeSizeSpec(100, EXACTLY));
+
+      assertThat(getComponentAt(displayListLayoutState, 1)).isInstanceOf(DrawableComponent.class);
+      assertThat(getComponentAt(displayListLayoutState, 1).shouldUseDisplayList()).isTrue();
+      assertThat(getComponentAt(displayListLayoutState, 2).shouldUseDisplayList()).isFalse();
+    } finally {
+      ComponentsConfiguration.useDisplayListForBorders = false;
+    }
+  }
+
   @Test
   public void testLayoutOutputsForComponentWithBorderWidthTopAndBorderColor() {
     final Component component =
@@ -2647,6 +2741,64 @@ public class LayoutStateCalculateTest {
     manager.setTouchExplorationEnabled(true);
   }
 
+  @Test
+  public void testNodeTreeReleasedOnReleaseHandler() {
+    final Component component =
+        new InlineLayoutSpec() {
+          @Override
+          protected Component onCreateLayout(final ComponentContext c) {
+            return create(c)
+                .child(TestDrawableComponent.create(c))
+                .child(TestDrawableComponent.create(c))
+                .build();
+          }
+        };
+
+    final List<Runnable> postedRunnables = new ArrayList<>();
+    final LayoutHandler releaseHandler =
+        new LayoutHandler() {
+          @Override
+          public boolean post(Runnable runnable) {
+            postedRunnables.add(runnable);
+            return true;
+          }
+
+          @Override
+          public void removeCallbacks(Runnable runnable) {}
+
+          @Override
+          public void removeCallbacksAndMessages(Object token) {}
+        };
+
+    ComponentsPools.clearInternalUtilPools();
+    ComponentTree.setNodeTreeReleaseHandler(releaseHandler);
+    ComponentsConfiguration.releaseNodeTreesAsync = true;
+    try {
+      final LayoutState layoutState =
+          calculateLayoutState(
+              application,
+              component,
+              -1,
+              makeSizeSpec(100, EXACTLY),
+              makeSizeSpec(100, EXACTLY));
+
+      assertThat(layoutState.getMountableOutputCount()).isEqualTo(3);
+      assertThat(layoutState.getLayoutRoot()).isNull();
+      assertThat(postedRunnables).hasSize(1);
+      assertThat(ComponentsPools.sInternalNodePool.getCurrentSize()).isEqualTo(0);
+      assertThat(ComponentsPools.sYogaNodePool.getCurrentSize()).isEqualTo(0);
+
+      postedRunnables.get(0).run();
+
+      // The root Column and its two children are back in the pools.
+      assertThat(ComponentsPools.sInternalNodePool.getCurrentSize()).isEqualTo(3);
+      assertThat(ComponentsPools.sYogaNodePool.getCurrentSize()).isEqualTo(3);
+    } finally {
+      ComponentsConfiguration.releaseNodeTreesAsync = false;
+      ComponentTree.setNodeTreeReleaseHandler(null);
+    }
+  }
+
   private LayoutState calculateLayoutState(
       final Context context,
       final Component component,
@@ -14,6 +14,7 @@ import static com.facebook.litho.LayoutState.sBottomsComparator;
 import static com.facebook.litho.LayoutState.sTopsComparator;
 import static com.facebook.litho.SizeSpec.AT_MOST;
 import static com.facebook.litho.SizeSpec.EXACTLY;
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
 import static com.facebook.litho.SizeSpec.makeSizeSpec;
 import static com.facebook.yoga.YogaEdge.BOTTOM;
 import static com.facebook.yoga.YogaEdge.TOP;
@@ -25,6 +26,9 @@ import android.content.Context;
 import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
 import com.facebook.litho.testing.util.InlineLayoutSpec;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
@@ -151,6 +155,80 @@ public class LayoutStateCalculateTopsAndBottomsTest {
     }
   }
 
+  @Test
+  public void testPatchSortedMountableOutputsFromPreviousLayoutState() {
+    final LayoutState previousLayoutState = calculateColumnLayoutState(20, -1);
+    final LayoutState layoutState = calculateColumnLayoutState(20, 5);
+
+    final ArrayList<LayoutOutput> patchedTops = new ArrayList<>();
+    assertThat(
+            LayoutState.patchSortedMountableOutputs(
+                layoutState,
+                previousLayoutState.getMountableOutputTops(),
+                patchedTops,
+                sTopsComparator))
+        .isTrue();
+    assertSameOrder(patchedTops, layoutState.getMountableOutputTops(), sTopsComparator);
+
+    final ArrayList<LayoutOutput> patchedBottoms = new ArrayList<>();
+    assertThat(
+            LayoutState.patchSortedMountableOutputs(
+                layoutState,
+                previousLayoutState.getMountableOutputBottoms(),
+                patchedBottoms,
+                sBottomsComparator))
+        .isTrue();
+    assertSameOrder(patchedBottoms, layoutState.getMountableOutputBottoms(), sBottomsComparator);
+  }
+
+  @Test
+  public void testPatchSortedMountableOutputsFallsBackWhenFewOutputsAreReused() {
+    final LayoutState previousLayoutState = calculateColumnLayoutState(2, -1);
+    final LayoutState layoutState = calculateColumnLayoutState(20, -1);
+
+    final ArrayList<LayoutOutput> patchedTops = new ArrayList<>();
+    assertThat(
+            LayoutState.patchSortedMountableOutputs(
+                layoutState,
+                previousLayoutState.getMountableOutputTops(),
+                patchedTops,
+                sTopsComparator))
+        .isFalse();
+    assertThat(patchedTops).isEmpty();
+  }
+
+  private static LayoutState calculateColumnLayoutState(int count, int expandedItem) {
+    return calculateLayoutState(
+        application,
+        createColumnOfItems(count, expandedItem),
+        -1,
+        makeSizeSpec(100, EXACTLY),
+        makeSizeSpec(0, UNSPECIFIED));
+  }
+
+  private static Component createColumnOfItems(final int count, final int expandedItem) {
+    return new InlineLayoutSpec() {
+      @Override
+      protected Component onCreateLayout(ComponentContext c) {
+        final Column.Builder column = create(c);
+        for (int i = 0; i < count; i++) {
+          column.child(
+              TestDrawableComponent.create(c).wrapInView().heightPx(i == expandedItem ? 80 : 20));
+        }
+        return column.build();
+      }
+    };
+  }
+
+  private static void assertSameOrder(
+      List<LayoutOutput> actual, List<LayoutOutput> expected, Comparator<LayoutOutput> comparator) {
+    assertThat(actual).hasSize(expected.size());
+    assertThat(actual).containsOnlyElementsOf(expected);
+    for (int i = 0, size = actual.size(); i < size; i++) {
+      assertThat(comparator.compare(actual.get(i), expected.get(i))).isEqualTo(0);
+    }
+  }
+
   private static LayoutState calculateLayoutState(
       Context context,
       Component component,
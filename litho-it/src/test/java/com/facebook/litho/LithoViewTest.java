@@ -23,7 +23,10 @@ import static org.mockito.Mockito.verify;
 import static org.robolectric.RuntimeEnvironment.application;
 import static org.robolectric.Shadows.shadowOf;
 
+import android.graphics.Rect;
 import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import com.facebook.litho.config.ComponentsConfiguration;
 import com.facebook.litho.testing.TestDrawableComponent;
 import com.facebook.litho.testing.assertj.LithoViewAssert;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
@@ -235,6 +238,40 @@ public class LithoViewTest {
     assertThat(getInternalMountItems(mLithoView)).hasSize(2);
   }
 
+  @Test
+  public void testPropagatedVisibleRectIsKeptUntilTheViewMoves() {
+    ComponentsConfiguration.incrementalMountUsesPropagatedVisibleRect = true;
+    try {
+      final FrameLayout parent = new FrameLayout(application);
+      final LithoView lithoView = new LithoView(application);
+      parent.addView(lithoView);
+      lithoView.layout(0, 30, 100, 80);
+      shadowOf(lithoView).callOnAttachedToWindow();
+
+      final Rect visibleRect = new Rect();
+      assertThat(lithoView.getPropagatedVisibleRect(visibleRect)).isFalse();
+
+      lithoView.setPropagatedVisibleRect(new Rect(0, 0, 100, 20));
+      assertThat(lithoView.getPropagatedVisibleRect(visibleRect)).isTrue();
+      assertThat(visibleRect).isEqualTo(new Rect(0, 0, 100, 20));
+
+      parent.scrollTo(0, 10);
+      assertThat(lithoView.getPropagatedVisibleRect(visibleRect)).isFalse();
+
+      lithoView.setPropagatedVisibleRect(new Rect(0, 0, 100, 30));
+      assertThat(lithoView.getPropagatedVisibleRect(visibleRect)).isTrue();
+
+      lithoView.layout(0, 40, 100, 90);
+      assertThat(lithoView.getPropagatedVisibleRect(visibleRect)).isFalse();
+
+      lithoView.setPropagatedVisibleRect(new Rect(0, 0, 100, 20));
+      shadowOf(lithoView).callOnDetachedFromWindow();
+      assertThat(lithoView.getPropagatedVisibleRect(visibleRect)).isFalse();
+    } finally {
+      ComponentsConfiguration.incrementalMountUsesPropagatedVisibleRect = false;
+    }
+  }
+
   private static class RecyclerViewLayoutManagerOverrideParams extends ViewGroup.LayoutParams
       implements LithoView.LayoutManagerOverrideParams {
 
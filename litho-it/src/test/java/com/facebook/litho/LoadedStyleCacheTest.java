@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RuntimeEnvironment;
+
+@RunWith(ComponentsTestRunner.class)
+public class LoadedStyleCacheTest {
+
+  private static final int DEF_STYLE_RES = 1;
+
+  private ComponentContext mContext;
+
+  @Before
+  public void setup() {
+    LoadedStyleCache.clear();
+    StyledComponent.sLoadStyleCount = 0;
+    mContext = new ComponentContext(RuntimeEnvironment.application);
+  }
+
+  @After
+  public void tearDown() {
+    LoadedStyleCache.clear();
+  }
+
+  @Test
+  public void testLoadedStyleIsCopiedToComponentsWithTheSameStyle() {
+    final StyledComponent first = StyledComponent.create(mContext, DEF_STYLE_RES).build();
+    final StyledComponent second = StyledComponent.create(mContext, DEF_STYLE_RES).build();
+
+    assertThat(StyledComponent.sLoadStyleCount).isEqualTo(1);
+    assertThat(first.mStyledProp).isEqualTo("styled");
+    assertThat(second.mStyledProp).isEqualTo("styled");
+  }
+
+  @Test
+  public void testStyledComponentsDoNotShareCommonProps() {
+    final EventHandler<ClickEvent> firstClickHandler =
+        new EventHandler<>(mock(HasEventDispatcher.class), "first", 1, null);
+    final EventHandler<ClickEvent> secondClickHandler =
+        new EventHandler<>(mock(HasEventDispatcher.class), "second", 2, null);
+
+    final StyledComponent first =
+        StyledComponent.create(mContext, DEF_STYLE_RES).clickHandler(firstClickHandler).build();
+    final StyledComponent second = StyledComponent.create(mContext, DEF_STYLE_RES).build();
+    final StyledComponent third =
+        StyledComponent.create(mContext, DEF_STYLE_RES).clickHandler(secondClickHandler).build();
+
+    assertThat(first.getCommonProps().getClickHandler()).isSameAs(firstClickHandler);
+    assertThat(second.getCommonProps().getClickHandler()).isNull();
+    assertThat(third.getCommonProps().getClickHandler()).isSameAs(secondClickHandler);
+    assertThat(first.getCommonProps().getClickHandler()).isSameAs(firstClickHandler);
+  }
+
+  @Test
+  public void testCachedStyleIsDetachedFromTheStyledComponent() {
+    final EventHandler<ClickEvent> clickHandler =
+        new EventHandler<>(mock(HasEventDispatcher.class), "click", 1, null);
+    StyledComponent.create(mContext, DEF_STYLE_RES).clickHandler(clickHandler).build();
+
+    final Component loadedStyle =
+        LoadedStyleCache.get(
+            mContext, new StyledComponent().getTypeId(), 0 /* defStyleAttr */, DEF_STYLE_RES);
+
+    assertThat(loadedStyle).isNotNull();
+    assertThat(((StyledComponent) loadedStyle).mStyledProp).isEqualTo("styled");
+    assertThat(loadedStyle.getCommonProps()).isNull();
+    assertThat(loadedStyle.getScopedContext()).isNull();
+  }
+
+  private static class StyledComponent extends Component {
+
+    private static int sLoadStyleCount;
+
+    private String mStyledProp;
+
+    @Override
+    public String getSimpleName() {
+      return "StyledComponent";
+    }
+
+    @Override
+    protected void onLoadStyle(ComponentContext c) {
+      sLoadStyleCount++;
+      mStyledProp = "styled";
+    }
+
+    @Override
+    protected boolean canCacheLoadedStyle() {
+      return true;
+    }
+
+    @Override
+    protected void copyLoadedStyle(Component loadedStyleComponent) {
+      mStyledProp = ((StyledComponent) loadedStyleComponent).mStyledProp;
+    }
+
+    static Builder create(ComponentContext c, int defStyleRes) {
+      final Builder builder = new Builder();
+      builder.init(c, 0, defStyleRes, new StyledComponent());
+      return builder;
+    }
+
+    private static class Builder extends Component.Builder<Builder> {
+
+      private StyledComponent mStyledComponent;
+
+      private void init(
+          ComponentContext c, int defStyleAttr, int defStyleRes, StyledComponent component) {
+        super.init(c, defStyleAttr, defStyleRes, component);
+        mStyledComponent = component;
+      }
+
+      @Override
+      public Builder getThis() {
+        return this;
+      }
+
+      @Override
+      public StyledComponent build() {
+        return mStyledComponent;
+      }
+    }
+  }
+}
@@ -32,6 +32,7 @@ import static org.mockito.Mockito.when;
 import android.content.Context;
 import android.graphics.Rect;
 import android.view.ViewGroup;
+import android.widget.HorizontalScrollView;
 import com.facebook.litho.testing.TestComponent;
 import com.facebook.litho.testing.TestComponentContextWithView;
 import com.facebook.litho.testing.TestDrawableComponent;
@@ -516,6 +517,65 @@ public class MountStateIncrementalMountTest {
     verify(childView3).performIncrementalMount(any(Rect.class), eq(true));
   }
 
+  @Test
+  public void testScrolledHorizontalScrollViewIncrementallyMounted() {
+    final HorizontalScrollView mountedView = mock(HorizontalScrollView.class);
+    when(mountedView.getLeft()).thenReturn(0);
+    when(mountedView.getTop()).thenReturn(0);
+    when(mountedView.getRight()).thenReturn(100);
+    when(mountedView.getBottom()).thenReturn(100);
+    when(mountedView.getScrollX()).thenReturn(50);
+    when(mountedView.getChildCount()).thenReturn(1);
+
+    final LithoView childView = getMockLithoViewWithBounds(new Rect(0, 0, 200, 100));
+    when(mountedView.getChildAt(0)).thenReturn(childView);
+
+    assertIncrementallyMountedWith(mountedView, childView, new Rect(65, 15, 90, 40));
+  }
+
+  @Test
+  public void testScrollOfOtherViewGroupsIgnored() {
+    final ViewGroup mountedView = mock(ViewGroup.class);
+    when(mountedView.getLeft()).thenReturn(0);
+    when(mountedView.getTop()).thenReturn(0);
+    when(mountedView.getRight()).thenReturn(100);
+    when(mountedView.getBottom()).thenReturn(100);
+    when(mountedView.getScrollX()).thenReturn(50);
+    when(mountedView.getChildCount()).thenReturn(1);
+
+    final LithoView childView = getMockLithoViewWithBounds(new Rect(0, 0, 200, 100));
+    when(mountedView.getChildAt(0)).thenReturn(childView);
+
+    assertIncrementallyMountedWith(mountedView, childView, new Rect(15, 15, 40, 40));
+  }
+
+  private void assertIncrementallyMountedWith(
+      ViewGroup mountedView, LithoView childView, final Rect expectedRect) {
+    final TestComponentContextWithView testComponentContext =
+        new TestComponentContextWithView(mContext, mountedView);
+
+    final LithoView lithoView = ComponentTestHelper.mountComponent(
+        TestViewComponent.create(testComponentContext));
+
+    doAnswer(
+            new Answer<Object>() {
+              @Override
+              public Object answer(InvocationOnMock invocation) throws Throwable {
+                Rect rect = (Rect) invocation.getArguments()[0];
+                if (!rect.equals(expectedRect)) {
+                  fail();
+                }
+                return null;
+              }
+            })
+        .when(childView)
+        .performIncrementalMount(any(Rect.class), eq(true));
+
+    lithoView.getComponentTree().mountComponent(new Rect(15, 15, 40, 40), true);
+
+    verify(childView).performIncrementalMount(any(Rect.class), eq(true));
+  }
+
   /**
    * Tests incremental mount behaviour of a vertical stack of components with a View mount type.
    */
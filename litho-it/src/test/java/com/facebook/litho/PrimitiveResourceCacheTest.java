@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import android.content.res.Configuration;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class PrimitiveResourceCacheTest {
+
+  private static final int RES_ID = 0x7f010001;
+
+  private PrimitiveResourceCache mCache;
+
+  @Before
+  public void setup() {
+    mCache = new PrimitiveResourceCache(new Configuration());
+  }
+
+  @Test
+  public void testPrimitivesCachedByType() {
+    assertThat(mCache.getPrimitive(RES_ID, ResourceCache.TYPE_DIMEN_SIZE))
+        .isEqualTo(ResourceCache.NOT_CACHED);
+
+    mCache.putPrimitive(RES_ID, ResourceCache.TYPE_DIMEN_SIZE, 10);
+    mCache.putPrimitive(RES_ID, ResourceCache.TYPE_DIMEN_OFFSET, -9);
+    mCache.putPrimitive(RES_ID, ResourceCache.TYPE_FLOAT, Float.floatToRawIntBits(9.5f));
+
+    assertThat(mCache.getPrimitive(RES_ID, ResourceCache.TYPE_DIMEN_SIZE)).isEqualTo(10);
+    assertThat((int) mCache.getPrimitive(RES_ID, ResourceCache.TYPE_DIMEN_OFFSET)).isEqualTo(-9);
+    assertThat(
+            Float.intBitsToFloat((int) mCache.getPrimitive(RES_ID, ResourceCache.TYPE_FLOAT)))
+        .isEqualTo(9.5f);
+    assertThat(mCache.<Object>get(RES_ID)).isNull();
+  }
+
+  @Test
+  public void testCachesWithoutPrimitivesResolveThemAgain() {
+    final ResourceCache cache =
+        new ResourceCache(new Configuration()) {
+          @Override
+          <T> T get(int key) {
+            return null;
+          }
+
+          @Override
+          void put(int key, Object object) {}
+        };
+
+    cache.putPrimitive(RES_ID, ResourceCache.TYPE_INT, 10);
+
+    assertThat(cache.getPrimitive(RES_ID, ResourceCache.TYPE_INT))
+        .isEqualTo(ResourceCache.NOT_CACHED);
+  }
+
+  @Test
+  public void testObjectsCached() {
+    final String[] array = new String[] {"a", "b"};
+    mCache.put(RES_ID, "string");
+    mCache.put(RES_ID + 1, array);
+
+    assertThat(mCache.<String>get(RES_ID)).isEqualTo("string");
+    assertThat(mCache.<String[]>get(RES_ID + 1)).isSameAs(array);
+    assertThat(mCache.getPrimitive(RES_ID, ResourceCache.TYPE_INT))
+        .isEqualTo(ResourceCache.NOT_CACHED);
+  }
+
+  @Test
+  public void testClearedWhenFull() {
+    for (int i = 0; i < PrimitiveResourceCache.MAX_ENTRIES; i++) {
+      mCache.putPrimitive(RES_ID + i, ResourceCache.TYPE_INT, i);
+    }
+
+    for (int i = 0; i < PrimitiveResourceCache.MAX_ENTRIES; i++) {
+      assertThat(mCache.getPrimitive(RES_ID + i, ResourceCache.TYPE_INT)).isEqualTo(i);
+    }
+
+    mCache.putPrimitive(RES_ID - 1, ResourceCache.TYPE_INT, 42);
+
+    assertThat(mCache.getPrimitive(RES_ID - 1, ResourceCache.TYPE_INT)).isEqualTo(42);
+    assertThat(mCache.getPrimitive(RES_ID, ResourceCache.TYPE_INT))
+        .isEqualTo(ResourceCache.NOT_CACHED);
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class PriorityLayoutSchedulerTest {
+
+  private QueueLayoutHandler mQueueLayoutHandler;
+  private PriorityLayoutScheduler mScheduler;
+  private List<String> mRunOrder;
+
+  @Before
+  public void setup() {
+    mQueueLayoutHandler = new QueueLayoutHandler();
+    mScheduler = new PriorityLayoutScheduler(mQueueLayoutHandler);
+    mRunOrder = new ArrayList<>();
+  }
+
+  @Test
+  public void testRunsByDeadlineThenPriorityThenPostOrder() {
+    final PrioritizedLayoutHandler far = mScheduler.createLayoutHandler();
+    final PrioritizedLayoutHandler near = mScheduler.createLayoutHandler();
+    final PrioritizedLayoutHandler urgent = mScheduler.createLayoutHandler();
+    far.setPriority(10);
+    near.setPriority(1);
+    urgent.setPriority(20);
+    urgent.setDeadline(100);
+
+    far.post(new RecordingRunnable("far"));
+    near.post(new RecordingRunnable("near1"));
+    urgent.post(new RecordingRunnable("urgent"));
+    near.post(new RecordingRunnable("near2"));
+
+    mQueueLayoutHandler.runAll();
+
+    assertThat(mRunOrder).containsExactly("urgent", "near1", "near2", "far");
+  }
+
+  @Test
+  public void testReprioritizesQueuedRunnables() {
+    final PrioritizedLayoutHandler first = mScheduler.createLayoutHandler();
+    final PrioritizedLayoutHandler second = mScheduler.createLayoutHandler();
+    first.setPriority(1);
+    second.setPriority(2);
+
+    first.post(new RecordingRunnable("first"));
+    second.post(new RecordingRunnable("second"));
+
+    first.setPriority(3);
+    mQueueLayoutHandler.runAll();
+
+    assertThat(mRunOrder).containsExactly("second", "first");
+  }
+
+  @Test
+  public void testDropsRemovedRunnables() {
+    final PrioritizedLayoutHandler handler = mScheduler.createLayoutHandler();
+    final PrioritizedLayoutHandler otherHandler = mScheduler.createLayoutHandler();
+    final RecordingRunnable removed = new RecordingRunnable("removed");
+
+    handler.post(removed);
+    handler.post(new RecordingRunnable("kept"));
+    otherHandler.post(new RecordingRunnable("other1"));
+    otherHandler.post(new RecordingRunnable("other2"));
+
+    handler.removeCallbacks(removed);
+    otherHandler.removeCallbacksAndMessages(null);
+
+    assertThat(mScheduler.getQueuedTaskCount()).isEqualTo(1);
+
+    mQueueLayoutHandler.runAll();
+
+    assertThat(mRunOrder).containsExactly("kept");
+  }
+
+  private class RecordingRunnable implements Runnable {
+
+    private final String mName;
+
+    RecordingRunnable(String name) {
+      mName = name;
+    }
+
+    @Override
+    public void run() {
+      mRunOrder.add(mName);
+    }
+  }
+
+  private static class QueueLayoutHandler implements LayoutHandler {
+
+    private final List<Runnable> mQueue = new ArrayList<>();
+
+    @Override
+    public boolean post(Runnable runnable) {
+      mQueue.add(runnable);
+      return true;
+    }
+
+    @Override
+    public void removeCallbacks(Runnable runnable) {
+      mQueue.remove(runnable);
+    }
+
+    @Override
+    public void removeCallbacksAndMessages(Object token) {
+      mQueue.clear();
+    }
+
+    void runAll() {
+      while (!mQueue.isEmpty()) {
+        mQueue.remove(0).run();
+      }
+    }
+  }
+}
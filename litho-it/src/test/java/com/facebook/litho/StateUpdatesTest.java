@@ -22,6 +22,7 @@ import com.facebook.litho.ComponentLifecycle.StateContainer;
 import com.facebook.litho.testing.helper.ComponentTestHelper;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
 import com.facebook.litho.testing.util.InlineLayoutSpec;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -277,6 +278,48 @@ public class StateUpdatesTest {
     assertThat(mTestComponent.getComponentForStateUpdate().getCount()).isEqualTo(INITIAL_COUNT_STATE_VALUE + 2);
   }
 
+  @Test
+  public void testLayoutStateHandlerSharesStateContainers() {
+    final StateHandler stateHandler = new StateHandler();
+    final StateContainer stateContainer = mock(StateContainer.class);
+    final StateContainer updatedStateContainer = mock(StateContainer.class);
+    stateHandler.mStateContainers = new HashMap<>();
+    stateHandler.mStateContainers.put("key", stateContainer);
+    final Map<String, StateContainer> stateContainers = stateHandler.mStateContainers;
+
+    final StateHandler layoutStateHandler = StateHandler.acquireNewInstance(stateHandler);
+    assertThat(layoutStateHandler.mStateContainers).isNull();
+    assertThat(layoutStateHandler.getStateContainers()).containsEntry("key", stateContainer);
+
+    layoutStateHandler.mStateContainers = new HashMap<>();
+    layoutStateHandler.mStateContainers.put("otherKey", updatedStateContainer);
+    stateHandler.commit(layoutStateHandler);
+
+    assertThat(stateHandler.mStateContainers).isSameAs(stateContainers);
+    assertThat(stateHandler.getStateContainers())
+        .containsEntry("key", stateContainer)
+        .containsEntry("otherKey", updatedStateContainer);
+  }
+
+  @Test
+  public void testCommitDoesNotModifyStateContainersStillShared() {
+    final StateHandler stateHandler = new StateHandler();
+    final StateContainer stateContainer = mock(StateContainer.class);
+    final StateContainer updatedStateContainer = mock(StateContainer.class);
+    stateHandler.mStateContainers = new HashMap<>();
+    stateHandler.mStateContainers.put("key", stateContainer);
+
+    final StateHandler firstLayoutStateHandler = StateHandler.acquireNewInstance(stateHandler);
+    final StateHandler secondLayoutStateHandler = StateHandler.acquireNewInstance(stateHandler);
+
+    firstLayoutStateHandler.mStateContainers = new HashMap<>();
+    firstLayoutStateHandler.mStateContainers.put("key", updatedStateContainer);
+    stateHandler.commit(firstLayoutStateHandler);
+
+    assertThat(stateHandler.getStateContainers()).containsEntry("key", updatedStateContainer);
+    assertThat(secondLayoutStateHandler.getStateContainers()).containsEntry("key", stateContainer);
+  }
+
   private StateHandler getStateHandler() {
     return Whitebox.getInternalState(mComponentTree, "mStateHandler");
   }
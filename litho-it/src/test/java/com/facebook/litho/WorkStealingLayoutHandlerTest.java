@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho;
+
+import static com.facebook.litho.WorkStealingLayoutHandler.AFFINITY_ANY;
+import static com.facebook.litho.WorkStealingLayoutHandler.AFFINITY_BIG;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class WorkStealingLayoutHandlerTest {
+
+  private static final long TIMEOUT_SECONDS = 5;
+
+  @Test
+  public void testRunsBatch() throws InterruptedException {
+    final WorkStealingLayoutHandler handler = new WorkStealingLayoutHandler(2, 1, null);
+    final CountDownLatch latch = new CountDownLatch(20);
+
+    final List<Runnable> runnables = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      runnables.add(new CountDownRunnable(latch));
+    }
+    handler.postBatch(runnables, null, AFFINITY_ANY);
+
+    assertThat(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void testRemovedRunnablesDontRun() throws InterruptedException {
+    final WorkStealingLayoutHandler handler = new WorkStealingLayoutHandler(1, 0, null);
+    final CountDownLatch blockLatch = new CountDownLatch(1);
+    final CountDownLatch doneLatch = new CountDownLatch(1);
+    final AtomicInteger removedRunCount = new AtomicInteger();
+    final Object token = new Object();
+
+    final Runnable removedRunnable = new IncrementRunnable(removedRunCount);
+    final Runnable otherRemovedRunnable = new IncrementRunnable(removedRunCount);
+
+    handler.post(new AwaitRunnable(blockLatch));
+    handler.post(removedRunnable);
+    handler.post(removedRunnable);
+    handler.post(removedRunnable, token, AFFINITY_ANY);
+    handler.post(otherRemovedRunnable, token, AFFINITY_ANY);
+
+    handler.removeCallbacks(removedRunnable);
+    handler.removeCallbacksAndMessages(token);
+    handler.post(new CountDownRunnable(doneLatch));
+    blockLatch.countDown();
+
+    assertThat(doneLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(removedRunCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void testRemovingWithoutTokenRemovesAllRunnables() throws InterruptedException {
+    final WorkStealingLayoutHandler handler = new WorkStealingLayoutHandler(1, 0, null);
+    final CountDownLatch blockLatch = new CountDownLatch(1);
+    final CountDownLatch doneLatch = new CountDownLatch(1);
+    final AtomicInteger removedRunCount = new AtomicInteger();
+
+    handler.post(new AwaitRunnable(blockLatch));
+    handler.post(new IncrementRunnable(removedRunCount));
+    handler.post(new IncrementRunnable(removedRunCount), new Object(), AFFINITY_ANY);
+
+    handler.removeCallbacksAndMessages(null);
+    handler.post(new CountDownRunnable(doneLatch));
+    blockLatch.countDown();
+
+    assertThat(doneLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(removedRunCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void testTokensAreForgottenOnceTheirRunnablesAreDone() throws InterruptedException {
+    final WorkStealingLayoutHandler handler = new WorkStealingLayoutHandler(1, 0, null);
+    final CountDownLatch blockLatch = new CountDownLatch(1);
+    final CountDownLatch doneLatch = new CountDownLatch(2);
+    final Object removedToken = new Object();
+    final Object token = new Object();
+
+    handler.post(new AwaitRunnable(blockLatch));
+    handler.post(new CountDownRunnable(doneLatch), removedToken, AFFINITY_ANY);
+    final List<Runnable> runnables = new ArrayList<>();
+    runnables.add(new CountDownRunnable(doneLatch));
+    runnables.add(new CountDownRunnable(doneLatch));
+    handler.postBatch(runnables, token, AFFINITY_ANY);
+
+    assertThat(handler.getQueuedTokenCount()).isEqualTo(2);
+
+    handler.removeCallbacksAndMessages(removedToken);
+
+    assertThat(handler.getQueuedTokenCount()).isEqualTo(1);
+
+    blockLatch.countDown();
+
+    assertThat(doneLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(handler.getQueuedTokenCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void testRunnablesAreForgottenOnceRemovedOrDone() throws InterruptedException {
+    final WorkStealingLayoutHandler handler = new WorkStealingLayoutHandler(1, 0, null);
+    final CountDownLatch startedLatch = new CountDownLatch(1);
+    final CountDownLatch blockLatch = new CountDownLatch(1);
+    final CountDownLatch doneLatch = new CountDownLatch(1);
+    final AtomicInteger removedRunCount = new AtomicInteger();
+
+    handler.post(
+        new Runnable() {
+          @Override
+          public void run() {
+            startedLatch.countDown();
+            new AwaitRunnable(blockLatch).run();
+          }
+        });
+    assertThat(startedLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+    final Runnable removedRunnable = new IncrementRunnable(removedRunCount);
+    handler.post(removedRunnable);
+    handler.post(removedRunnable);
+    handler.post(new CountDownRunnable(doneLatch));
+
+    assertThat(handler.getQueuedRunnableCount()).isEqualTo(2);
+
+    handler.removeCallbacks(removedRunnable);
+
+    assertThat(handler.getQueuedRunnableCount()).isEqualTo(1);
+
+    blockLatch.countDown();
+
+    assertThat(doneLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(handler.getQueuedRunnableCount()).isEqualTo(0);
+    assertThat(removedRunCount.get()).isEqualTo(0);
+  }
+
+  @Test
+  public void testIdleThreadsStealWork() throws InterruptedException {
+    final WorkStealingLayoutHandler handler = new WorkStealingLayoutHandler(1, 1, null);
+    final CountDownLatch stolenLatch = new CountDownLatch(5);
+
+    // Queues work for the thread it runs on, which is then busy until that work is done. It may
+    // itself be stolen before it runs.
+    handler.post(
+        new Runnable() {
+          @Override
+          public void run() {
+            for (int i = 0; i < 5; i++) {
+              handler.post(new CountDownRunnable(stolenLatch));
+            }
+
+            new AwaitRunnable(stolenLatch).run();
+          }
+        },
+        null,
+        AFFINITY_BIG);
+
+    assertThat(stolenLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+    assertThat(handler.getStealCount()).isGreaterThanOrEqualTo(5);
+  }
+
+  private static class CountDownRunnable implements Runnable {
+
+    private final CountDownLatch mLatch;
+
+    CountDownRunnable(CountDownLatch latch) {
+      mLatch = latch;
+    }
+
+    @Override
+    public void run() {
+      mLatch.countDown();
+    }
+  }
+
+  private static class IncrementRunnable implements Runnable {
+
+    private final AtomicInteger mCount;
+
+    IncrementRunnable(AtomicInteger count) {
+      mCount = count;
+    }
+
+    @Override
+    public void run() {
+      mCount.incrementAndGet();
+    }
+  }
+
+  private static class AwaitRunnable implements Runnable {
+
+    private final CountDownLatch mLatch;
+
+    AwaitRunnable(CountDownLatch latch) {
+      mLatch = latch;
+    }
+
+    @Override
+    public void run() {
+      try {
+        mLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
+}
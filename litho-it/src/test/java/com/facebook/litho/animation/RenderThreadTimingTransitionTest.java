@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.animation;
+
+import static com.facebook.litho.animation.AnimatedProperties.ALPHA;
+import static com.facebook.litho.animation.AnimatedProperties.SCALE;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.robolectric.RuntimeEnvironment.application;
+
+import android.view.View;
+import com.facebook.litho.dataflow.DataFlowGraph;
+import com.facebook.litho.dataflow.MockTimingSource;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(ComponentsTestRunner.class)
+public class RenderThreadTimingTransitionTest {
+
+  private MockTimingSource mTestTimingSource;
+  private AnimationBindingListener mListener;
+
+  @Before
+  public void setUp() throws Exception {
+    mTestTimingSource = new MockTimingSource();
+    DataFlowGraph.setInstance(DataFlowGraph.create(mTestTimingSource));
+
+    mListener = mock(AnimationBindingListener.class);
+    when(mListener.shouldStart(any(AnimationBinding.class))).thenReturn(true);
+  }
+
+  @After
+  public void tearDown() {
+    DataFlowGraph.setInstance(null);
+  }
+
+  @Test
+  public void testFallsBackToGraphWithoutHardwareAcceleration() {
+    final View view = new View(application);
+    final AnimatedPropertyNode node = new AnimatedPropertyNode(view, ALPHA);
+    final RenderThreadTimingTransition transition = createTransition(node);
+
+    transition.start(new TestResolver(node, 0));
+
+    assertThat(node.getRenderThreadTransition()).isNull();
+    assertThat(transition.isActive()).isTrue();
+
+    mTestTimingSource.step(100);
+
+    assertThat(view.getAlpha()).isEqualTo(1f);
+    verify(mListener).onFinish(transition);
+  }
+
+  @Test
+  public void testInterruptedTransitionFinishes() {
+    final View view = spy(new View(application));
+    when(view.isHardwareAccelerated()).thenReturn(true);
+    final AnimatedPropertyNode node = new AnimatedPropertyNode(view, ALPHA);
+    final RenderThreadTimingTransition transition = createTransition(node);
+
+    transition.start(new TestResolver(node, 0));
+
+    assertThat(node.getRenderThreadTransition()).isSameAs(transition);
+    assertThat(transition.isActive()).isTrue();
+    verify(mListener).onWillStart(transition);
+
+    node.setValue(0.5f);
+
+    assertThat(node.getRenderThreadTransition()).isNull();
+    assertThat(node.getValue()).isEqualTo(0.5f);
+
+    ShadowLooper.runUiThreadTasks();
+
+    assertThat(transition.isActive()).isFalse();
+    verify(mListener).onFinish(transition);
+  }
+
+  @Test
+  public void testUnmountDuringAnimationLeavesTheResetViewAlone() {
+    final View view = createHardwareAcceleratedView();
+    final AnimatedPropertyNode node = new AnimatedPropertyNode(view, ALPHA);
+    final RenderThreadTimingTransition transition = createTransition(node);
+
+    transition.start(new TestResolver(node, 0));
+    assertThat(node.getRenderThreadTransition()).isSameAs(transition);
+
+    // This is what the TransitionManager does when the View is unmounted during the animation.
+    node.setMountContent(null);
+    ALPHA.reset(view);
+
+    assertThat(view.getAlpha()).isEqualTo(1f);
+
+    view.setAlpha(0.25f);
+    ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+    // The cancelled animation doesn't update the View anymore.
+    assertThat(view.getAlpha()).isEqualTo(0.25f);
+    assertThat(transition.isActive()).isFalse();
+    verify(mListener).onFinish(transition);
+  }
+
+  @Test
+  public void testInterruptingAPropertyResumesTheOthersOfTheView() {
+    final View view = createHardwareAcceleratedView();
+    final AnimatedPropertyNode alphaNode = new AnimatedPropertyNode(view, ALPHA);
+    final AnimatedPropertyNode scaleNode = new AnimatedPropertyNode(view, SCALE);
+    final RenderThreadTimingTransition alphaTransition = createTransition(alphaNode, ALPHA);
+    final RenderThreadTimingTransition scaleTransition = createTransition(scaleNode, SCALE);
+
+    alphaTransition.start(new TestResolver(alphaNode, 0));
+    scaleTransition.start(new TestResolver(scaleNode, 0));
+
+    alphaNode.setValue(0.5f);
+
+    assertThat(view.getAlpha()).isEqualTo(0.5f);
+    assertThat(alphaNode.getRenderThreadTransition()).isNull();
+    assertThat(scaleNode.getRenderThreadTransition()).isSameAs(scaleTransition);
+    assertThat(scaleTransition.isActive()).isTrue();
+
+    ShadowLooper.runUiThreadTasks();
+
+    verify(mListener).onFinish(alphaTransition);
+    assertThat(scaleTransition.isActive()).isTrue();
+  }
+
+  private static View createHardwareAcceleratedView() {
+    final View view = spy(new View(application));
+    when(view.isHardwareAccelerated()).thenReturn(true);
+    return view;
+  }
+
+  private RenderThreadTimingTransition createTransition(AnimatedPropertyNode node) {
+    return createTransition(node, ALPHA);
+  }
+
+  private RenderThreadTimingTransition createTransition(
+      AnimatedPropertyNode node, AnimatedProperty property) {
+    final RenderThreadTimingTransition transition =
+        new RenderThreadTimingTransition(
+            300, new PropertyAnimation(new PropertyHandle("key", property), 1));
+    transition.addListener(mListener);
+    return transition;
+  }
+
+  private static class TestResolver implements Resolver {
+
+    private final AnimatedPropertyNode mNode;
+    private final float mCurrentState;
+
+    TestResolver(AnimatedPropertyNode node, float currentState) {
+      mNode = node;
+      mCurrentState = currentState;
+    }
+
+    @Override
+    public float getCurrentState(PropertyHandle propertyHandle) {
+      return mCurrentState;
+    }
+
+    @Override
+    public AnimatedPropertyNode getAnimatedPropertyNode(PropertyHandle propertyHandle) {
+      return mNode;
+    }
+  }
+}
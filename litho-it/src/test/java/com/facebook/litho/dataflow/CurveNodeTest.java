@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.dataflow;
+
+import static com.facebook.litho.dataflow.GraphBinding.create;
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.assertj.core.api.Java6Assertions.within;
+
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(ComponentsTestRunner.class)
+public class CurveNodeTest {
+
+  private MockTimingSource mTestTimingSource;
+  private DataFlowGraph mDataFlowGraph;
+
+  @Before
+  public void setUp() throws Exception {
+    mTestTimingSource = new MockTimingSource();
+    mDataFlowGraph = DataFlowGraph.create(mTestTimingSource);
+  }
+
+  @Test
+  public void testTimingCurveFollowsTimingNode() {
+    final Interpolator interpolator = new AccelerateDecelerateInterpolator();
+
+    final TimingNode timingNode = new TimingNode(300);
+    final InterpolatorNode interpolatorNode = new InterpolatorNode(interpolator);
+    final MappingNode mappingNode = new MappingNode();
+    final OutputOnlyNode expected = new OutputOnlyNode();
+
+    final GraphBinding expectedBinding = create(mDataFlowGraph);
+    expectedBinding.addBinding(timingNode, interpolatorNode);
+    expectedBinding.addBinding(interpolatorNode, mappingNode);
+    expectedBinding.addBinding(new ConstantNode(10), mappingNode, MappingNode.INITIAL_INPUT);
+    expectedBinding.addBinding(new ConstantNode(110), mappingNode, MappingNode.END_INPUT);
+    expectedBinding.addBinding(mappingNode, expected);
+    expectedBinding.activate();
+
+    final CurveNode curveNode =
+        CurveNode.acquire(AnimationCurve.timing(300, interpolator), 10, 110);
+    final OutputOnlyNode actual = new OutputOnlyNode();
+
+    final GraphBinding binding = create(mDataFlowGraph);
+    binding.addBinding(curveNode, actual);
+    binding.activate();
+
+    while (expectedBinding.isActive()) {
+      mTestTimingSource.step(1);
+      assertThat(actual.getValue()).isCloseTo(expected.getValue(), within(0.1f));
+      assertThat(binding.isActive()).isEqualTo(expectedBinding.isActive());
+    }
+
+    assertThat(actual.getValue()).isEqualTo(110f);
+  }
+
+  @Test
+  public void testSpringCurveFollowsSpringNode() {
+    final SpringNode springNode = new SpringNode();
+    final OutputOnlyNode expected = new OutputOnlyNode();
+
+    final GraphBinding expectedBinding = create(mDataFlowGraph);
+    expectedBinding.addBinding(new ConstantNode(-50), springNode, SpringNode.INITIAL_INPUT);
+    expectedBinding.addBinding(new ConstantNode(250), springNode, SpringNode.END_INPUT);
+    expectedBinding.addBinding(springNode, expected);
+    expectedBinding.activate();
+
+    final CurveNode curveNode = CurveNode.acquire(AnimationCurve.spring(null), -50, 250);
+    final OutputOnlyNode actual = new OutputOnlyNode();
+
+    final GraphBinding binding = create(mDataFlowGraph);
+    binding.addBinding(curveNode, actual);
+    binding.activate();
+
+    int numFrames = 0;
+    while (expectedBinding.isActive() || binding.isActive()) {
+      mTestTimingSource.step(1);
+      numFrames++;
+      assertThat(actual.getValue()).isCloseTo(expected.getValue(), within(0.5f));
+      assertThat(numFrames).isLessThan(1000);
+    }
+
+    assertThat(actual.getValue()).isEqualTo(250f);
+  }
+
+  @Test
+  public void testReleasedNodeIsReused() {
+    final AnimationCurve curve = AnimationCurve.timing(100, null);
+    final CurveNode curveNode = CurveNode.acquire(curve, 0, 1);
+
+    final GraphBinding binding = create(mDataFlowGraph);
+    binding.addBinding(curveNode, new OutputOnlyNode());
+    binding.activate();
+
+    mTestTimingSource.step(100 / MockTimingSource.FRAME_TIME_MS + 2);
+
+    assertThat(binding.isActive()).isFalse();
+    assertThat(curveNode.getValue()).isEqualTo(1f);
+
+    curveNode.release();
+    final CurveNode reusedNode = CurveNode.acquire(curve, 5, 6);
+
+    assertThat(reusedNode).isSameAs(curveNode);
+    assertThat(reusedNode.getValue()).isEqualTo(5f);
+    assertThat(reusedNode.isFinished()).isFalse();
+  }
+}
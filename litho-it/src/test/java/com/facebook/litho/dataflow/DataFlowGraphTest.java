@@ -155,6 +155,53 @@ public class DataFlowGraphTest {
     assertThat(dest.getValue()).isEqualTo(3588f);
   }
 
+  @Test
+  public void testBindingsArePartitionedBySharedNodes() {
+    SettableNode source1 = new SettableNode();
+    OutputOnlyNode destination1 = new OutputOnlyNode();
+    SettableNode source2 = new SettableNode();
+    SimpleNode middle2 = new SimpleNode();
+    OutputOnlyNode destination2 = new OutputOnlyNode();
+
+    GraphBinding binding1 = create(mDataFlowGraph);
+    binding1.addBinding(source1, destination1);
+    binding1.activate();
+
+    GraphBinding binding2 = create(mDataFlowGraph);
+    binding2.addBinding(source2, middle2);
+    binding2.addBinding(middle2, destination2);
+    binding2.activate();
+
+    assertThat(mDataFlowGraph.getPartitionCount()).isEqualTo(2);
+
+    AdditionNode sharedDestination = new AdditionNode();
+    GraphBinding binding3 = create(mDataFlowGraph);
+    binding3.addBinding(source1, sharedDestination, "a");
+    binding3.addBinding(middle2, sharedDestination, "b");
+    binding3.activate();
+
+    assertThat(mDataFlowGraph.getPartitionCount()).isEqualTo(1);
+
+    source1.setValue(3);
+    source2.setValue(5);
+    mTestTimingSource.step(1);
+
+    assertThat(destination1.getValue()).isEqualTo(3f);
+    assertThat(destination2.getValue()).isEqualTo(5f);
+    assertThat(sharedDestination.getValue()).isEqualTo(8f);
+
+    binding3.deactivate();
+    mTestTimingSource.step(1);
+
+    assertThat(mDataFlowGraph.getPartitionCount()).isEqualTo(2);
+
+    source2.setValue(8);
+    mTestTimingSource.step(1);
+
+    assertThat(destination1.getValue()).isEqualTo(3f);
+    assertThat(destination2.getValue()).isEqualTo(8f);
+  }
+
   @Test(expected = DetectedCycleException.class)
   public void testSimpleCycle() {
     SimpleNode node1 = new SimpleNode();
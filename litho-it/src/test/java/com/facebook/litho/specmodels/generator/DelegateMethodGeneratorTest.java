@@ -17,6 +17,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 import com.facebook.litho.annotations.OnCreateLayout;
+import com.facebook.litho.annotations.OnLoadStyle;
 import com.facebook.litho.annotations.Prop;
 import com.facebook.litho.annotations.State;
 import com.facebook.litho.specmodels.internal.ImmutableList;
@@ -30,6 +31,7 @@ import com.facebook.litho.specmodels.model.SpecMethodModel;
 import com.facebook.litho.specmodels.model.SpecModel;
 import com.facebook.litho.specmodels.model.SpecModelImpl;
 import com.facebook.litho.specmodels.model.TypeSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
@@ -261,6 +263,80 @@ public class DelegateMethodGeneratorTest {
                 + "}\n");
   }
 
+  @Test
+  public void testGenerateCacheableOnLoadStyle() {
+    final SpecMethodModel<DelegateMethod, Void> onLoadStyleMethodModel =
+        SpecMethodModel.<DelegateMethod, Void>builder()
+            .annotations(ImmutableList.<Annotation>of(createCacheableOnLoadStyle()))
+            .modifiers(ImmutableList.of(Modifier.PROTECTED))
+            .name("onLoadStyle")
+            .returnTypeSpec(new TypeSpec(DelegateMethodDescriptions.ON_LOAD_STYLE.returnType))
+            .typeVariables(ImmutableList.of())
+            .methodParams(
+                ImmutableList.of(
+                    MethodParamModelFactory.create(
+                        new TypeSpec(ClassNames.COMPONENT_CONTEXT),
+                        "c",
+                        ImmutableList.of(),
+                        new ArrayList<>(),
+                        ImmutableList.of(),
+                        true,
+                        null),
+                    MethodParamModelFactory.create(
+                        new TypeSpec(
+                            ParameterizedTypeName.get(ClassNames.OUTPUT, TypeName.BOOLEAN.box())),
+                        "prop",
+                        ImmutableList.of(),
+                        new ArrayList<>(),
+                        ImmutableList.of(),
+                        true,
+                        null)))
+            .representedObject(null)
+            .typeModel(null)
+            .build();
+
+    final SpecModel specModel =
+        SpecModelImpl.newBuilder()
+            .qualifiedSpecClassName(TEST_QUALIFIED_SPEC_NAME)
+            .componentClass(ClassNames.COMPONENT)
+            .delegateMethods(ImmutableList.of(onLoadStyleMethodModel, mDelegateMethodModel))
+            .representedObject(new Object())
+            .build();
+
+    final TypeSpecDataHolder typeSpecDataHolder =
+        generateDelegates(specModel, LAYOUT_SPEC_DELEGATE_METHODS_MAP);
+
+    assertThat(typeSpecDataHolder.getMethodSpecs()).hasSize(4);
+    assertThat(typeSpecDataHolder.getMethodSpecs().get(1).toString())
+        .isEqualTo(
+            "@java.lang.Override\n"
+                + "protected boolean canCacheLoadedStyle() {\n"
+                + "  return true;\n"
+                + "}\n");
+    assertThat(typeSpecDataHolder.getMethodSpecs().get(2).toString())
+        .isEqualTo(
+            "@java.lang.SuppressWarnings(\"unchecked\")\n"
+                + "@java.lang.Override\n"
+                + "protected void copyLoadedStyle(com.facebook.litho.Component loadedStyleComponent) {\n"
+                + "  com.facebook.litho.Test loadedStyle = (com.facebook.litho.Test) loadedStyleComponent;\n"
+                + "  prop = (boolean) loadedStyle.prop;\n"
+                + "}\n");
+  }
+
+  private static OnLoadStyle createCacheableOnLoadStyle() {
+    return new OnLoadStyle() {
+      @Override
+      public boolean cacheable() {
+        return true;
+      }
+
+      @Override
+      public Class<? extends Annotation> annotationType() {
+        return OnLoadStyle.class;
+      }
+    };
+  }
+
   private static Annotation createAnnotation(final Class<? extends Annotation> annotationClass) {
     return new Annotation() {
       @Override
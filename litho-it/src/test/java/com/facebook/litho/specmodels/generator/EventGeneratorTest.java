@@ -132,19 +132,63 @@ public class EventGeneratorTest {
         .isEqualTo(
             "public static <T extends java.lang.CharSequence> com.facebook.litho.EventHandler<java.lang.Object> testEventMethod1(com.facebook.litho.ComponentContext c,\n" +
             "    java.lang.Object arg2, T arg3) {\n" +
-            "  return newEventHandler(c, \"testEventMethod1\", -1400079064, new Object[] {\n" +
-            "        c,\n" +
-            "        arg2,\n" +
-            "        arg3,\n" +
-            "      });\n" +
+            "  return registerEventHandler(c, new TestEventMethod1EventHandler(c, arg2, arg3));\n" +
             "}\n");
 
     assertThat(dataHolder.getMethodSpecs().get(1).toString())
         .isEqualTo(
             "public static com.facebook.litho.EventHandler<java.lang.Object> testEventMethod2(com.facebook.litho.ComponentContext c) {\n" +
-            "  return newEventHandler(c, \"testEventMethod2\", -1400079063, new Object[] {\n" +
-            "        c,\n" +
-            "      });\n" +
+            "  return registerEventHandler(c, new TestEventMethod2EventHandler(c));\n" +
+            "}\n");
+  }
+
+  @Test
+  public void testGenerateEventHandlerClasses() {
+    TypeSpecDataHolder dataHolder = EventGenerator.generateEventHandlerClasses(mSpecModel);
+
+    assertThat(dataHolder.getTypeSpecs()).hasSize(2);
+
+    assertThat(dataHolder.getTypeSpecs().get(0).toString())
+        .isEqualTo(
+            "static class TestEventMethod1EventHandler extends com.facebook.litho.EventHandler<java.lang.Object> {\n" +
+            "  com.facebook.litho.ComponentContext mScopedContext;\n" +
+            "\n" +
+            "  java.lang.Object mArg2;\n" +
+            "\n" +
+            "  java.lang.Object mArg3;\n" +
+            "\n" +
+            "  TestEventMethod1EventHandler(com.facebook.litho.ComponentContext c, java.lang.Object arg2,\n" +
+            "      java.lang.Object arg3) {\n" +
+            "    super(c.getComponentScope(), \"testEventMethod1\", -1400079064, null);\n" +
+            "    mScopedContext = c;\n" +
+            "    mArg2 = arg2;\n" +
+            "    mArg3 = arg3;\n" +
+            "  }\n" +
+            "\n" +
+            "  @java.lang.Override\n" +
+            "  public void bindToDispatcher(com.facebook.litho.HasEventDispatcher hasEventDispatcher,\n" +
+            "      com.facebook.litho.ComponentContext scopedContext) {\n" +
+            "    super.bindToDispatcher(hasEventDispatcher, scopedContext);\n" +
+            "    mScopedContext = (com.facebook.litho.ComponentContext) scopedContext;\n" +
+            "  }\n" +
+            "}\n");
+
+    assertThat(dataHolder.getTypeSpecs().get(1).toString())
+        .isEqualTo(
+            "static class TestEventMethod2EventHandler extends com.facebook.litho.EventHandler<java.lang.Object> {\n" +
+            "  com.facebook.litho.ComponentContext mScopedContext;\n" +
+            "\n" +
+            "  TestEventMethod2EventHandler(com.facebook.litho.ComponentContext c) {\n" +
+            "    super(c.getComponentScope(), \"testEventMethod2\", -1400079063, null);\n" +
+            "    mScopedContext = c;\n" +
+            "  }\n" +
+            "\n" +
+            "  @java.lang.Override\n" +
+            "  public void bindToDispatcher(com.facebook.litho.HasEventDispatcher hasEventDispatcher,\n" +
+            "      com.facebook.litho.ComponentContext scopedContext) {\n" +
+            "    super.bindToDispatcher(hasEventDispatcher, scopedContext);\n" +
+            "    mScopedContext = (com.facebook.litho.ComponentContext) scopedContext;\n" +
+            "  }\n" +
             "}\n");
   }
 
@@ -159,10 +203,20 @@ public class EventGeneratorTest {
             "  switch (id) {\n" +
             "    case -1400079064: {\n" +
             "      java.lang.Object _event = (java.lang.Object) eventState;\n" +
+            "      java.lang.Object _paramArg2;\n" +
+            "      T _paramArg3;\n" +
+            "      if (eventHandler instanceof TestEventMethod1EventHandler) {\n" +
+            "        TestEventMethod1EventHandler _eventHandler = (TestEventMethod1EventHandler) eventHandler;\n" +
+            "        _paramArg2 = (java.lang.Object) _eventHandler.mArg2;\n" +
+            "        _paramArg3 = (T) _eventHandler.mArg3;\n" +
+            "      } else {\n" +
+            "        _paramArg2 = (java.lang.Object) eventHandler.params[0];\n" +
+            "        _paramArg3 = (T) eventHandler.params[1];\n" +
+            "      }\n" +
             "      testEventMethod1(\n" +
             "            eventHandler.mHasEventDispatcher,\n" +
-            "            (java.lang.Object) eventHandler.params[0],\n" +
-            "            (T) eventHandler.params[1]);\n" +
+            "            _paramArg2,\n" +
+            "            _paramArg3);\n" +
             "      return null;\n" +
             "    }\n" +
             "    case -1400079063: {\n" +
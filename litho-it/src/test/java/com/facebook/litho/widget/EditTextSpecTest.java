@@ -9,10 +9,13 @@
 
 package com.facebook.litho.widget;
 
+import static com.facebook.litho.SizeSpec.UNSPECIFIED;
+import static com.facebook.litho.SizeSpec.makeSizeSpec;
 import static org.assertj.core.api.Java6Assertions.assertThat;
 
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.LithoView;
+import com.facebook.litho.Size;
 import com.facebook.litho.testing.ComponentsRule;
 import com.facebook.litho.testing.helper.ComponentTestHelper;
 import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
@@ -44,4 +47,36 @@ public class EditTextSpecTest {
     assertThat(editText.getText().toString()).isEqualTo(TEXT);
     assertThat(editText.getTextSize()).isEqualTo(10);
   }
+
+  @Test
+  public void testEditTextMeasuredAgainWhenTextChanges() {
+    final ComponentContext c = mComponentsRule.getContext();
+    final int widthSpec = makeSizeSpec(0, UNSPECIFIED);
+    final int heightSpec = makeSizeSpec(0, UNSPECIFIED);
+
+    final Size shortTextSize = new Size();
+    EditText.create(c)
+        .textSizePx(10)
+        .text(TEXT)
+        .build()
+        .measure(c, widthSpec, heightSpec, shortTextSize);
+
+    final Size longTextSize = new Size();
+    EditText.create(c)
+        .textSizePx(10)
+        .text(TEXT + TEXT)
+        .build()
+        .measure(c, widthSpec, heightSpec, longTextSize);
+
+    final Size shortTextSizeAgain = new Size();
+    EditText.create(c)
+        .textSizePx(10)
+        .text(TEXT)
+        .build()
+        .measure(c, widthSpec, heightSpec, shortTextSizeAgain);
+
+    assertThat(longTextSize.width).isGreaterThan(shortTextSize.width);
+    assertThat(shortTextSizeAgain.width).isEqualTo(shortTextSize.width);
+    assertThat(shortTextSizeAgain.height).isEqualTo(shortTextSize.height);
+  }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.facebook.litho.Component;
+import com.facebook.litho.LayoutHandler;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/** Tests for {@link GridRowPositions} */
+@RunWith(ComponentsTestRunner.class)
+public class GridRowPositionsTest {
+
+  private SpannedLayoutInfo mLayoutInfo;
+  private GridRowPositions mGridRowPositions;
+  private List<ComponentTreeHolder> mHolders;
+
+  @Before
+  public void setup() {
+    mLayoutInfo = mock(SpannedLayoutInfo.class);
+    setupLayoutInfo(3);
+    mGridRowPositions = new GridRowPositions();
+    mHolders = new ArrayList<>();
+  }
+
+  @Test
+  public void testRowsOfSingleSpanItems() {
+    addItems(1, 1, 1, 1, 1, 1, 1);
+
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 0)).isEqualTo(0);
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 4)).isEqualTo(3);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 3)).isEqualTo(5);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 6)).isEqualTo(6);
+  }
+
+  @Test
+  public void testRowsOfMixedSpanItems() {
+    // Rows: [0, 1], [2], [3, 4, 5], [6].
+    addItems(2, 1, 3, 1, 1, 1, 2);
+
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 1)).isEqualTo(0);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 0)).isEqualTo(1);
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 2)).isEqualTo(2);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 2)).isEqualTo(2);
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 5)).isEqualTo(3);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 4)).isEqualTo(5);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 6)).isEqualTo(6);
+  }
+
+  @Test
+  public void testRowsAreOnlyComputedAgainAfterInvalidation() {
+    addItems(1, 1, 1, 1, 1, 1);
+
+    mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 4);
+    mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 4);
+    mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 1);
+
+    verify(mLayoutInfo, times(6)).getSpanSize(any(RenderInfo.class));
+
+    mHolders.get(0).setRenderInfo(createRenderInfo(3));
+    mGridRowPositions.invalidate();
+
+    // Rows: [0], [1, 2, 3], [4, 5].
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 4)).isEqualTo(4);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 1)).isEqualTo(3);
+    verify(mLayoutInfo, times(12)).getSpanSize(any(RenderInfo.class));
+  }
+
+  @Test
+  public void testRowsAreComputedAgainWhenSpanCountChanges() {
+    addItems(1, 1, 1, 1, 1, 1);
+
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 4)).isEqualTo(3);
+
+    reset(mLayoutInfo);
+    setupLayoutInfo(2);
+
+    assertThat(mGridRowPositions.findRowStartPosition(mLayoutInfo, mHolders, 4)).isEqualTo(4);
+    assertThat(mGridRowPositions.findRowEndPosition(mLayoutInfo, mHolders, 2)).isEqualTo(3);
+  }
+
+  private void setupLayoutInfo(int spanCount) {
+    when(mLayoutInfo.getSpanCount()).thenReturn(spanCount);
+    when(mLayoutInfo.getSpanSize(any(RenderInfo.class)))
+        .thenAnswer(
+            new Answer<Integer>() {
+              @Override
+              public Integer answer(InvocationOnMock invocation) {
+                return ((RenderInfo) invocation.getArguments()[0]).getSpanSize();
+              }
+            });
+  }
+
+  private void addItems(int... spanSizes) {
+    for (int spanSize : spanSizes) {
+      mHolders.add(
+          ComponentTreeHolder.acquire(
+              createRenderInfo(spanSize), mock(LayoutHandler.class), false, false));
+    }
+  }
+
+  private static RenderInfo createRenderInfo(int spanSize) {
+    return ComponentRenderInfo.create().component(mock(Component.class)).spanSize(spanSize).build();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.litho.Component;
+import com.facebook.litho.LayoutHandler;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for {@link ItemSizeStatistics} */
+@RunWith(ComponentsTestRunner.class)
+public class ItemSizeStatisticsTest {
+
+  private static final Object TYPE = new Object();
+  private static final Object OTHER_TYPE = new Object();
+
+  private ItemSizeStatistics mItemSizeStatistics;
+
+  @Before
+  public void setup() {
+    mItemSizeStatistics = new ItemSizeStatistics();
+  }
+
+  @Test
+  public void testNoSamples() {
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(0);
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(-1);
+  }
+
+  @Test
+  public void testRecordingAnItemAgainReplacesItsSample() {
+    final ComponentTreeHolder first = createHolder();
+    final ComponentTreeHolder second = createHolder();
+
+    mItemSizeStatistics.record(first, TYPE, 100);
+    mItemSizeStatistics.record(second, TYPE, 200);
+    mItemSizeStatistics.record(first, TYPE, 100);
+    mItemSizeStatistics.record(first, TYPE, 100);
+
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(2);
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(150);
+
+    mItemSizeStatistics.record(first, TYPE, 300);
+
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(2);
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(250);
+  }
+
+  @Test
+  public void testRemove() {
+    final ComponentTreeHolder first = createHolder();
+    final ComponentTreeHolder second = createHolder();
+
+    mItemSizeStatistics.record(first, TYPE, 100);
+    mItemSizeStatistics.record(second, TYPE, 200);
+    mItemSizeStatistics.remove(first);
+    mItemSizeStatistics.remove(first);
+
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(1);
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(200);
+
+    mItemSizeStatistics.remove(second);
+
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(0);
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(-1);
+  }
+
+  @Test
+  public void testEmptySizesAreIgnored() {
+    final ComponentTreeHolder holder = createHolder();
+
+    mItemSizeStatistics.record(holder, TYPE, 100);
+    mItemSizeStatistics.record(holder, TYPE, 0);
+
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(1);
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(100);
+  }
+
+  @Test
+  public void testSizesAreAveragedPerType() {
+    final ComponentTreeHolder first = createHolder();
+    final ComponentTreeHolder second = createHolder();
+    final ComponentTreeHolder third = createHolder();
+
+    mItemSizeStatistics.record(first, TYPE, 100);
+    mItemSizeStatistics.record(second, TYPE, 200);
+    mItemSizeStatistics.record(third, OTHER_TYPE, 600);
+
+    assertThat(mItemSizeStatistics.getAverageSize()).isEqualTo(300);
+    assertThat(mItemSizeStatistics.getAverageSize(TYPE)).isEqualTo(150);
+    assertThat(mItemSizeStatistics.getAverageSize(OTHER_TYPE)).isEqualTo(600);
+
+    // An item whose type changed moves its sample to its new type.
+    mItemSizeStatistics.record(first, OTHER_TYPE, 400);
+
+    assertThat(mItemSizeStatistics.getAverageSize(TYPE)).isEqualTo(200);
+    assertThat(mItemSizeStatistics.getAverageSize(OTHER_TYPE)).isEqualTo(500);
+
+    mItemSizeStatistics.remove(second);
+
+    assertThat(mItemSizeStatistics.getAverageSize(TYPE)).isEqualTo(-1);
+    assertThat(mItemSizeStatistics.getSampleCount()).isEqualTo(2);
+  }
+
+  private static ComponentTreeHolder createHolder() {
+    return ComponentTreeHolder.acquire(
+        ComponentRenderInfo.create().component(mock(Component.class)).build(),
+        mock(LayoutHandler.class),
+        false,
+        false);
+  }
+}
@@ -61,6 +61,7 @@ import org.junit.runner.RunWith;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowLooper;
 
 /**
  * Tests for {@link RecyclerBinder}
@@ -241,6 +242,306 @@ public class RecyclerBinderTest {
     assertThat(100).isEqualTo(size.width);
   }
 
+  @Test
+  public void testOnMeasureWithAdaptiveRange() {
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.useAdaptiveRange(true).build(mComponentContext);
+    final List<ComponentRenderInfo> components = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      components.add(create().component(mock(Component.class)).build());
+      recyclerBinder.insertItemAt(i, components.get(i));
+    }
+
+    final Size size = new Size();
+    final int widthSpec = makeSizeSpec(200, EXACTLY);
+    final int heightSpec = makeSizeSpec(200, EXACTLY);
+
+    recyclerBinder.measure(size, widthSpec, heightSpec, null);
+
+    // Items are 100px high, so the viewport fits 2 of them and the range spans the viewport height
+    // multiplied by the range ratio after it, i.e. 4 items.
+    assertThat(recyclerBinder.getItemSizeStatistics().getSampleCount()).isEqualTo(1);
+    assertThat(recyclerBinder.getItemSizeStatistics().getAverageSize()).isEqualTo(100);
+
+    final int rangeTotal = 2 + (int) (2 * RANGE_RATIO);
+
+    for (int i = 1; i <= rangeTotal; i++) {
+      final TestComponentTreeHolder componentTreeHolder =
+          mHoldersForComponents.get(components.get(i).getComponent());
+
+      assertThat(componentTreeHolder.isTreeValid()).isTrue();
+      assertThat(componentTreeHolder.mLayoutAsyncCalled).isTrue();
+    }
+
+    for (int k = rangeTotal + 1; k < components.size(); k++) {
+      final TestComponentTreeHolder componentTreeHolder =
+          mHoldersForComponents.get(components.get(k).getComponent());
+
+      assertThat(componentTreeHolder.isTreeValid()).isFalse();
+      assertThat(componentTreeHolder.mLayoutAsyncCalled).isFalse();
+    }
+  }
+
+  @Test
+  public void testAdaptiveRangeIsAlignedToGridRows() {
+    final SpannedLayoutInfo layoutInfo = mock(SpannedLayoutInfo.class);
+    setupBaseLayoutInfoMock(layoutInfo, OrientationHelper.VERTICAL);
+    when(layoutInfo.getSpanCount()).thenReturn(3);
+    when(layoutInfo.getSpanSize(any(RenderInfo.class)))
+        .thenAnswer(
+            new Answer<Integer>() {
+              @Override
+              public Integer answer(InvocationOnMock invocation) {
+                return ((RenderInfo) invocation.getArguments()[0]).getSpanSize();
+              }
+            });
+
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder
+            .layoutInfo(layoutInfo)
+            .useAdaptiveRange(true)
+            .build(mComponentContext);
+    final List<ComponentRenderInfo> components = new ArrayList<>();
+    components.add(create().component(mock(Component.class)).spanSize(2).build());
+    for (int i = 1; i < 30; i++) {
+      components.add(create().component(mock(Component.class)).build());
+    }
+    recyclerBinder.insertRangeAt(0, (List) components);
+    recyclerBinder.measure(
+        new Size(), makeSizeSpec(200, EXACTLY), makeSizeSpec(200, EXACTLY), null);
+
+    // Items are 100px high and the viewport is 200px high, so the range spans 2 rows and 4 more
+    // rows after them, i.e. it ends at position 18. The first row only has 2 items, so that
+    // position is in the middle of the row from 17 to 19, which is laid out as a whole.
+    for (int i = 0; i < 20; i++) {
+      assertThat(mHoldersForComponents.get(components.get(i).getComponent()).isTreeValid())
+          .isTrue();
+    }
+
+    for (int i = 20; i < components.size(); i++) {
+      assertThat(mHoldersForComponents.get(components.get(i).getComponent()).isTreeValid())
+          .isFalse();
+    }
+  }
+
+  @Test
+  public void testRangeIsNotAlignedToGridRowsWithoutAdaptiveRange() {
+    final SpannedLayoutInfo layoutInfo = mock(SpannedLayoutInfo.class);
+    setupBaseLayoutInfoMock(layoutInfo, OrientationHelper.VERTICAL);
+    when(layoutInfo.getSpanCount()).thenReturn(3);
+    when(layoutInfo.getSpanSize(any(RenderInfo.class))).thenReturn(1);
+
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.layoutInfo(layoutInfo).build(mComponentContext);
+    final List<ComponentRenderInfo> components = prepareLoadedBinder(recyclerBinder, 30);
+
+    // The range ends at position 9, the first item of the fourth row of the grid.
+    for (int i = 0; i < 10; i++) {
+      assertThat(mHoldersForComponents.get(components.get(i).getComponent()).isTreeValid())
+          .isTrue();
+    }
+
+    for (int i = 10; i < components.size(); i++) {
+      assertThat(mHoldersForComponents.get(components.get(i).getComponent()).isTreeValid())
+          .isFalse();
+    }
+    verify(layoutInfo, never()).getSpanSize(any(RenderInfo.class));
+  }
+
+  @Test
+  public void testInsertRangeAtAsyncWaitsForLayouts() {
+    final List<Runnable> layouts = new ArrayList<>();
+    final LayoutHandler layoutHandler =
+        new LayoutHandler() {
+          @Override
+          public boolean post(Runnable runnable) {
+            layouts.add(runnable);
+            return true;
+          }
+
+          @Override
+          public void removeCallbacks(Runnable runnable) {}
+
+          @Override
+          public void removeCallbacksAndMessages(Object token) {}
+        };
+
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.asyncLayoutHandler(layoutHandler).build(mComponentContext);
+    prepareLoadedBinder(recyclerBinder, 10);
+
+    final List<RenderInfo> renderInfos = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      renderInfos.add(ComponentRenderInfo.create().component(mock(Component.class)).build());
+    }
+
+    recyclerBinder.insertRangeAtAsync(0, renderInfos);
+    recyclerBinder.removeItemAtAsync(0);
+
+    // Nothing is applied until the layouts of the new items are computed, and the removal waits
+    // for the insertion.
+    assertThat(recyclerBinder.getItemCount()).isEqualTo(10);
+    assertThat(layouts).hasSize(2);
+
+    for (Runnable layout : layouts) {
+      layout.run();
+    }
+    ShadowLooper.runUiThreadTasks();
+
+    assertThat(recyclerBinder.getItemCount()).isEqualTo(11);
+    assertThat(recyclerBinder.getRenderInfoAt(0)).isEqualTo(renderInfos.get(1));
+    assertThat(mHoldersForComponents.get(renderInfos.get(1).getComponent()).mLayoutSyncCalled)
+        .isTrue();
+  }
+
+  @Test
+  public void testSyncOperationsAreRejectedWhileAsyncOperationsArePending() {
+    final List<Runnable> layouts = new ArrayList<>();
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder
+            .asyncLayoutHandler(createCapturingLayoutHandler(layouts))
+            .build(mComponentContext);
+    prepareLoadedBinder(recyclerBinder, 10);
+
+    recyclerBinder.insertItemAtAsync(0, create().component(mock(Component.class)).build());
+
+    try {
+      recyclerBinder.removeItemAt(0);
+      Assert.fail("Sync operations should be rejected while async operations are pending");
+    } catch (IllegalStateException expected) {
+      // Expected.
+    }
+
+    for (Runnable layout : layouts) {
+      layout.run();
+    }
+    ShadowLooper.runUiThreadTasks();
+
+    recyclerBinder.removeItemAt(0);
+    assertThat(recyclerBinder.getItemCount()).isEqualTo(10);
+  }
+
+  @Test
+  public void testApplyBatchAsyncNotifiesOnceAllOperationsAreApplied() {
+    final List<Runnable> layouts = new ArrayList<>();
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder
+            .asyncLayoutHandler(createCapturingLayoutHandler(layouts))
+            .build(mComponentContext);
+    final List<ComponentRenderInfo> components = prepareLoadedBinder(recyclerBinder, 10);
+
+    final RecyclerView recyclerView = new RecyclerView(mComponentContext);
+    recyclerBinder.mount(recyclerView);
+    final RecyclerView.AdapterDataObserver observer = mock(RecyclerView.AdapterDataObserver.class);
+    recyclerView.getAdapter().registerAdapterDataObserver(observer);
+
+    final RenderInfo first = create().component(mock(Component.class)).build();
+    final RenderInfo second = create().component(mock(Component.class)).build();
+    recyclerBinder.applyBatchAsync(
+        new RecyclerBinder.AsyncBatch()
+            .insertItemAt(0, first)
+            .insertItemAt(1, second)
+            .moveItem(5, 2)
+            .removeItemAt(9)
+            .removeItemAt(8));
+
+    // Nothing is applied until the layouts of the new items are computed.
+    assertThat(recyclerBinder.getItemCount()).isEqualTo(10);
+    assertThat(layouts).hasSize(2);
+    verify(observer, never()).onItemRangeInserted(anyInt(), anyInt());
+
+    for (Runnable layout : layouts) {
+      layout.run();
+    }
+    ShadowLooper.runUiThreadTasks();
+
+    verify(observer).onItemRangeInserted(0, 2);
+    verify(observer).onItemRangeMoved(5, 2, 1);
+    verify(observer).onItemRangeRemoved(8, 2);
+
+    assertThat(recyclerBinder.getItemCount()).isEqualTo(10);
+    assertThat(recyclerBinder.getRenderInfoAt(0)).isEqualTo(first);
+    assertThat(recyclerBinder.getRenderInfoAt(1)).isEqualTo(second);
+    assertThat(recyclerBinder.getRenderInfoAt(2)).isEqualTo(components.get(3));
+    assertThat(recyclerBinder.getRenderInfoAt(3)).isEqualTo(components.get(0));
+    assertThat(recyclerBinder.getRenderInfoAt(8)).isEqualTo(components.get(8));
+    assertThat(recyclerBinder.getRenderInfoAt(9)).isEqualTo(components.get(9));
+  }
+
+  @Test
+  public void testAsyncInsertIsLaidOutRelativeToPendingOperations() {
+    final List<Runnable> layouts = new ArrayList<>();
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder
+            .asyncLayoutHandler(createCapturingLayoutHandler(layouts))
+            .build(mComponentContext);
+    prepareLoadedBinder(recyclerBinder, 30);
+    // The range is [4, 19]: RANGE_SIZE items visible and RANGE_RATIO viewports on each side.
+    recyclerBinder.onNewVisibleRange(10, 12);
+
+    final List<RenderInfo> pending = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      pending.add(create().component(mock(Component.class)).build());
+    }
+    recyclerBinder.insertRangeAtAsync(0, pending);
+    assertThat(layouts).hasSize(6);
+
+    // Once the pending items are inserted the visible items are pushed to [20, 22], so these are
+    // in range only when accounting for them.
+    final RenderInfo outOfRange = create().component(mock(Component.class)).build();
+    final RenderInfo inRange = create().component(mock(Component.class)).build();
+    recyclerBinder.insertItemAtAsync(8, outOfRange);
+    recyclerBinder.insertItemAtAsync(23, inRange);
+
+    assertThat(layouts).hasSize(7);
+    for (Runnable layout : layouts) {
+      layout.run();
+    }
+
+    assertThat(mHoldersForComponents.get(outOfRange.getComponent()).mLayoutSyncCalled).isFalse();
+    assertThat(mHoldersForComponents.get(inRange.getComponent()).mLayoutSyncCalled).isTrue();
+
+    ShadowLooper.runUiThreadTasks();
+
+    assertThat(recyclerBinder.getItemCount()).isEqualTo(42);
+    assertThat(recyclerBinder.getRenderInfoAt(8)).isEqualTo(outOfRange);
+    assertThat(recyclerBinder.getRenderInfoAt(23)).isEqualTo(inRange);
+  }
+
+  @Test
+  public void testRemovedItemSizeIsDropped() {
+    final RecyclerBinder recyclerBinder =
+        mRecyclerBinderBuilder.useAdaptiveRange(true).build(mComponentContext);
+    for (int i = 0; i < 10; i++) {
+      recyclerBinder.insertItemAt(i, create().component(mock(Component.class)).build());
+    }
+
+    final Size size = new Size();
+    recyclerBinder.measure(
+        size, makeSizeSpec(200, EXACTLY), makeSizeSpec(200, EXACTLY), null);
+
+    assertThat(recyclerBinder.getItemSizeStatistics().getSampleCount()).isEqualTo(1);
+
+    recyclerBinder.removeItemAt(0);
+
+    assertThat(recyclerBinder.getItemSizeStatistics().getSampleCount()).isEqualTo(0);
+    assertThat(recyclerBinder.getItemSizeStatistics().getAverageSize()).isEqualTo(-1);
+  }
+
+  @Test
+  public void testReleasedHolderDropsItsLayoutHandler() {
+    final LayoutHandler layoutHandler = mock(LayoutHandler.class);
+    final ComponentTreeHolder holder =
+        ComponentTreeHolder.acquire(
+            create().component(mock(Component.class)).build(), layoutHandler, false, false);
+
+    assertThat(holder.getLayoutHandler()).isSameAs(layoutHandler);
+
+    holder.release();
+
+    assertThat(holder.getLayoutHandler()).isNull();
+  }
+
   @Test
   public void onBoundsDefined() {
     final List<ComponentRenderInfo> components = prepareLoadedBinder();
@@ -1743,6 +2044,48 @@ public class RecyclerBinderTest {
     }
   }
 
+  @Test
+  public void testStickyHeaderPositionsFollowMutations() {
+    final List<RenderInfo> renderInfos = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      renderInfos.add(
+          ComponentRenderInfo.create()
+              .component(mock(Component.class))
+              .isSticky(i == 2 || i == 6)
+              .build());
+    }
+    mRecyclerBinder.insertRangeAt(0, renderInfos);
+
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(1))
+        .isEqualTo(RecyclerView.NO_POSITION);
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(2)).isEqualTo(2);
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(5)).isEqualTo(2);
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(9)).isEqualTo(6);
+    assertThat(mRecyclerBinder.findNextStickyHeaderPosition(2)).isEqualTo(6);
+    assertThat(mRecyclerBinder.findNextStickyHeaderPosition(6))
+        .isEqualTo(RecyclerView.NO_POSITION);
+
+    mRecyclerBinder.insertItemAt(
+        0, ComponentRenderInfo.create().component(mock(Component.class)).build());
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(5)).isEqualTo(3);
+    assertThat(mRecyclerBinder.findNextStickyHeaderPosition(3)).isEqualTo(7);
+
+    mRecyclerBinder.moveItem(7, 1);
+    assertThat(mRecyclerBinder.isSticky(1)).isTrue();
+    assertThat(mRecyclerBinder.isSticky(4)).isTrue();
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(3)).isEqualTo(1);
+    assertThat(mRecyclerBinder.findNextStickyHeaderPosition(1)).isEqualTo(4);
+
+    mRecyclerBinder.removeItemAt(1);
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(9)).isEqualTo(3);
+
+    mRecyclerBinder.updateItemAt(
+        3, ComponentRenderInfo.create().component(mock(Component.class)).build());
+    assertThat(mRecyclerBinder.findStickyHeaderPositionAtOrBefore(9))
+        .isEqualTo(RecyclerView.NO_POSITION);
+    assertThat(mRecyclerBinder.findNextStickyHeaderPosition(0)).isEqualTo(RecyclerView.NO_POSITION);
+  }
+
   private RecyclerBinder createRecyclerBinderWithMockAdapter(RecyclerView.Adapter adapterMock) {
     return new RecyclerBinder.Builder()
         .rangeRatio(RANGE_RATIO)
@@ -1775,6 +2118,22 @@ public class RecyclerBinderTest {
     return components;
   }
 
+  private static LayoutHandler createCapturingLayoutHandler(final List<Runnable> layouts) {
+    return new LayoutHandler() {
+      @Override
+      public boolean post(Runnable runnable) {
+        layouts.add(runnable);
+        return true;
+      }
+
+      @Override
+      public void removeCallbacks(Runnable runnable) {}
+
+      @Override
+      public void removeCallbacksAndMessages(Object token) {}
+    };
+  }
+
   private void makeIndexSticky(List<ComponentRenderInfo> components, int i) {
     components.set(
         i,
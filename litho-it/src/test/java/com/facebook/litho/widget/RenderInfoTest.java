@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+import static org.assertj.core.api.Java6Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.facebook.litho.Component;
+import com.facebook.litho.testing.testrunner.ComponentsTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/** Tests for {@link RenderInfo} */
+@RunWith(ComponentsTestRunner.class)
+public class RenderInfoTest {
+
+  @Test
+  public void testDefaultAttributes() {
+    final RenderInfo renderInfo =
+        ComponentRenderInfo.create().component(mock(Component.class)).build();
+
+    assertThat(renderInfo.isSticky()).isFalse();
+    assertThat(renderInfo.isFullSpan()).isFalse();
+    assertThat(renderInfo.getSpanSize()).isEqualTo(1);
+    assertThat(renderInfo.getCustomAttribute("custom")).isNull();
+  }
+
+  @Test
+  public void testUnsetWellKnownAttributesAreNullCustomAttributes() {
+    final RenderInfo renderInfo =
+        ComponentRenderInfo.create().component(mock(Component.class)).isSticky(false).build();
+
+    assertThat(renderInfo.getCustomAttribute("is_sticky")).isEqualTo(false);
+    assertThat(renderInfo.getCustomAttribute("span_size")).isNull();
+    assertThat(renderInfo.getCustomAttribute("is_full_span")).isNull();
+  }
+
+  @Test
+  public void testNullCustomAttributesAreRemoved() {
+    final RenderInfo renderInfo =
+        ComponentRenderInfo.create()
+            .component(mock(Component.class))
+            .isSticky(true)
+            .isFullSpan(true)
+            .spanSize(2)
+            .customAttribute("custom", "value")
+            .customAttribute("is_sticky", null)
+            .customAttribute("is_full_span", null)
+            .customAttribute("span_size", null)
+            .customAttribute("custom", null)
+            .build();
+
+    assertThat(renderInfo.isSticky()).isFalse();
+    assertThat(renderInfo.isFullSpan()).isFalse();
+    assertThat(renderInfo.getSpanSize()).isEqualTo(1);
+    assertThat(renderInfo.getCustomAttribute("is_sticky")).isNull();
+    assertThat(renderInfo.getCustomAttribute("is_full_span")).isNull();
+    assertThat(renderInfo.getCustomAttribute("span_size")).isNull();
+    assertThat(renderInfo.getCustomAttribute("custom")).isNull();
+  }
+
+  @Test
+  public void testWellKnownAndCustomAttributes() {
+    final RenderInfo renderInfo =
+        ComponentRenderInfo.create()
+            .component(mock(Component.class))
+            .isSticky(true)
+            .isFullSpan(true)
+            .spanSize(3)
+            .customAttribute("custom", "value")
+            .build();
+
+    assertThat(renderInfo.isSticky()).isTrue();
+    assertThat(renderInfo.isFullSpan()).isTrue();
+    assertThat(renderInfo.getSpanSize()).isEqualTo(3);
+    assertThat(renderInfo.getCustomAttribute("custom")).isEqualTo("value");
+  }
+
+  @Test
+  public void testWellKnownAttributesSetAsCustomAttributes() {
+    final RenderInfo renderInfo =
+        ComponentRenderInfo.create()
+            .component(mock(Component.class))
+            .customAttribute("is_sticky", true)
+            .customAttribute("span_size", 2)
+            .build();
+
+    assertThat(renderInfo.isSticky()).isTrue();
+    assertThat(renderInfo.getSpanSize()).isEqualTo(2);
+    assertThat(renderInfo.getCustomAttribute("span_size")).isEqualTo(2);
+  }
+
+  @Test
+  public void testReleasedBuilderDoesNotLeakAttributes() {
+    ComponentRenderInfo.create()
+        .component(mock(Component.class))
+        .isSticky(true)
+        .spanSize(2)
+        .build();
+
+    final RenderInfo renderInfo =
+        ComponentRenderInfo.create().component(mock(Component.class)).build();
+
+    assertThat(renderInfo.isSticky()).isFalse();
+    assertThat(renderInfo.getSpanSize()).isEqualTo(1);
+    assertThat(renderInfo.getCustomAttribute("is_sticky")).isNull();
+    assertThat(renderInfo.getCustomAttribute("span_size")).isNull();
+  }
+}
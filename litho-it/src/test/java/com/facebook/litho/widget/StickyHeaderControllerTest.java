@@ -92,6 +92,7 @@ public class StickyHeaderControllerTest {
 
     when(mHasStickyHeader.findFirstVisibleItemPosition()).thenReturn(2);
     when(mHasStickyHeader.isSticky(2)).thenReturn(true);
+    when(mHasStickyHeader.findStickyHeaderPositionAtOrBefore(2)).thenReturn(2);
 
     ComponentTree componentTree = mock(ComponentTree.class);
     when(mHasStickyHeader.getComponentAt(2)).thenReturn(componentTree);
@@ -114,6 +115,8 @@ public class StickyHeaderControllerTest {
 
     when(mHasStickyHeader.findFirstVisibleItemPosition()).thenReturn(6);
     when(mHasStickyHeader.isSticky(2)).thenReturn(true);
+    when(mHasStickyHeader.findStickyHeaderPositionAtOrBefore(6)).thenReturn(2);
+    when(mHasStickyHeader.findNextStickyHeaderPosition(2)).thenReturn(RecyclerView.NO_POSITION);
 
     when(mHasStickyHeader.getComponentAt(2)).thenReturn(mock(ComponentTree.class));
     when(mHasStickyHeader.getComponentAt(6)).thenReturn(mock(ComponentTree.class));
@@ -133,6 +136,7 @@ public class StickyHeaderControllerTest {
 
     when(mHasStickyHeader.findFirstVisibleItemPosition()).thenReturn(2);
     when(mHasStickyHeader.isSticky(2)).thenReturn(true);
+    when(mHasStickyHeader.findStickyHeaderPositionAtOrBefore(2)).thenReturn(2);
     when(mHasStickyHeader.isSticky(3)).thenReturn(true);
     when(mHasStickyHeader.isValidPosition(3)).thenReturn(true);
 
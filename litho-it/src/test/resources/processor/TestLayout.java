@@ -298,10 +298,7 @@ public final class TestLayout<S extends View> extends Component {
   }
 
   public static EventHandler<ClickEvent> testLayoutEvent(ComponentContext c, int param1) {
-    return newEventHandler(c, "testLayoutEvent", 1328162206, new Object[] {
-        c,
-        param1,
-    });
+    return registerEventHandler(c, new TestLayoutEventEventHandler(c, param1));
   }
 
   @Override
@@ -310,11 +307,21 @@ public final class TestLayout<S extends View> extends Component {
     switch (id) {
       case 1328162206: {
         ClickEvent _event = (ClickEvent) eventState;
+        ComponentContext _paramC;
+        int _paramParam1;
+        if (eventHandler instanceof TestLayoutEventEventHandler) {
+          TestLayoutEventEventHandler _eventHandler = (TestLayoutEventEventHandler) eventHandler;
+          _paramC = (ComponentContext) _eventHandler.mScopedContext;
+          _paramParam1 = (int) _eventHandler.mParam1;
+        } else {
+          _paramC = (ComponentContext) eventHandler.params[0];
+          _paramParam1 = (int) eventHandler.params[1];
+        }
         testLayoutEvent(
             eventHandler.mHasEventDispatcher,
-            (ComponentContext) eventHandler.params[0],
+            _paramC,
             (View) _event.view,
-            (int) eventHandler.params[1]);
+            _paramParam1);
         return null;
       }
       default:
@@ -504,6 +511,25 @@ public final class TestLayout<S extends View> extends Component {
     }
   }
 
+  static class TestLayoutEventEventHandler extends EventHandler<ClickEvent> {
+    ComponentContext mScopedContext;
+
+    int mParam1;
+
+    TestLayoutEventEventHandler(ComponentContext c, int param1) {
+      super(c.getComponentScope(), "testLayoutEvent", 1328162206, null);
+      mScopedContext = c;
+      mParam1 = param1;
+    }
+
+    @Override
+    public void bindToDispatcher(HasEventDispatcher hasEventDispatcher,
+        ComponentContext scopedContext) {
+      super.bindToDispatcher(hasEventDispatcher, scopedContext);
+      mScopedContext = (ComponentContext) scopedContext;
+    }
+  }
+
   private static class UpdateCurrentStateStateUpdate implements ComponentLifecycle.StateUpdate {
     private int mSomeParam;
 
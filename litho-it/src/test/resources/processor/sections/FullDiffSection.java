@@ -14,6 +14,7 @@ import android.support.v4.util.Pools;
 import android.view.View;
 import com.facebook.litho.ClickEvent;
 import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
 import com.facebook.litho.Diff;
 import com.facebook.litho.EventDispatcher;
 import com.facebook.litho.EventHandler;
@@ -189,10 +190,7 @@ public final class FullDiffSection<T> extends Section {
   }
 
   public static EventHandler<ClickEvent> testEvent(SectionContext c, int someParam) {
-    return newEventHandler(c, "testEvent", -1204074200, new Object[] {
-        c,
-        someParam,
-    });
+    return registerEventHandler(c, new TestEventEventHandler(c, someParam));
   }
 
   @Override
@@ -201,11 +199,21 @@ public final class FullDiffSection<T> extends Section {
     switch (id) {
       case -1204074200: {
         ClickEvent _event = (ClickEvent) eventState;
+        SectionContext _paramC;
+        int _paramSomeParam;
+        if (eventHandler instanceof TestEventEventHandler) {
+          TestEventEventHandler _eventHandler = (TestEventEventHandler) eventHandler;
+          _paramC = (SectionContext) _eventHandler.mScopedContext;
+          _paramSomeParam = (int) _eventHandler.mSomeParam;
+        } else {
+          _paramC = (SectionContext) eventHandler.params[0];
+          _paramSomeParam = (int) eventHandler.params[1];
+        }
         testEvent(
             eventHandler.mHasEventDispatcher,
-            (SectionContext) eventHandler.params[0],
+            _paramC,
             (View) _event.view,
-            (int) eventHandler.params[1]);
+            _paramSomeParam);
         return null;
       }
       default:
@@ -428,4 +436,23 @@ public final class FullDiffSection<T> extends Section {
       newComponentStateUpdate.mStateContainer.state1 = state1.get();
     }
   }
+
+  static class TestEventEventHandler extends EventHandler<ClickEvent> {
+    SectionContext mScopedContext;
+
+    int mSomeParam;
+
+    TestEventEventHandler(SectionContext c, int someParam) {
+      super(c.getSectionScope(), "testEvent", -1204074200, null);
+      mScopedContext = c;
+      mSomeParam = someParam;
+    }
+
+    @Override
+    public void bindToDispatcher(HasEventDispatcher hasEventDispatcher,
+        ComponentContext scopedContext) {
+      super.bindToDispatcher(hasEventDispatcher, scopedContext);
+      mScopedContext = (SectionContext) scopedContext;
+    }
+  }
 }
@@ -16,6 +16,7 @@ import android.support.v4.util.Pools;
 import android.widget.TextView;
 import com.facebook.litho.ClickEvent;
 import com.facebook.litho.Component;
+import com.facebook.litho.ComponentContext;
 import com.facebook.litho.Diff;
 import com.facebook.litho.EventDispatcher;
 import com.facebook.litho.EventHandler;
@@ -226,10 +227,7 @@ final class FullGroupSection<T> extends Section {
   }
 
   public static EventHandler<ClickEvent> testEvent(SectionContext c, int someParam) {
-    return newEventHandler(c, "testEvent", -1204074200, new Object[] {
-        c,
-        someParam,
-    });
+    return registerEventHandler(c, new TestEventEventHandler(c, someParam));
   }
 
   @Override
@@ -238,11 +236,21 @@ final class FullGroupSection<T> extends Section {
     switch (id) {
       case -1204074200: {
         ClickEvent _event = (ClickEvent) eventState;
+        SectionContext _paramC;
+        int _paramSomeParam;
+        if (eventHandler instanceof TestEventEventHandler) {
+          TestEventEventHandler _eventHandler = (TestEventEventHandler) eventHandler;
+          _paramC = (SectionContext) _eventHandler.mScopedContext;
+          _paramSomeParam = (int) _eventHandler.mSomeParam;
+        } else {
+          _paramC = (SectionContext) eventHandler.params[0];
+          _paramSomeParam = (int) eventHandler.params[1];
+        }
         testEvent(
             eventHandler.mHasEventDispatcher,
-            (SectionContext) eventHandler.params[0],
+            _paramC,
             (TextView) _event.view,
-            (int) eventHandler.params[1]);
+            _paramSomeParam);
         return null;
       }
       default:
@@ -512,7 +520,23 @@ final class FullGroupSection<T> extends Section {
       newComponentStateUpdate.mStateContainer.state2 = state2.get();
     }
   }
-}
 
+  static class TestEventEventHandler extends EventHandler<ClickEvent> {
+    SectionContext mScopedContext;
 
+    int mSomeParam;
+
+    TestEventEventHandler(SectionContext c, int someParam) {
+      super(c.getSectionScope(), "testEvent", -1204074200, null);
+      mScopedContext = c;
+      mSomeParam = someParam;
+    }
 
+    @Override
+    public void bindToDispatcher(HasEventDispatcher hasEventDispatcher,
+        ComponentContext scopedContext) {
+      super.bindToDispatcher(hasEventDispatcher, scopedContext);
+      mScopedContext = (SectionContext) scopedContext;
+    }
+  }
+}
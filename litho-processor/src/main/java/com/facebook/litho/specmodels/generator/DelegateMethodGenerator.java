@@ -9,12 +9,14 @@
 
 package com.facebook.litho.specmodels.generator;
 
+import com.facebook.litho.annotations.OnLoadStyle;
 import com.facebook.litho.specmodels.model.ClassNames;
 import com.facebook.litho.specmodels.model.DelegateMethod;
 import com.facebook.litho.specmodels.model.DelegateMethodDescription;
 import com.facebook.litho.specmodels.model.DiffPropModel;
 import com.facebook.litho.specmodels.model.DiffStateParamModel;
 import com.facebook.litho.specmodels.model.MethodParamModel;
+import com.facebook.litho.specmodels.model.PropModel;
 import com.facebook.litho.specmodels.model.RenderDataDiffModel;
 import com.facebook.litho.specmodels.model.SimpleMethodParamModel;
 import com.facebook.litho.specmodels.model.SpecMethodModel;
@@ -28,6 +30,7 @@ import com.squareup.javapoet.TypeName;
 
 import java.lang.annotation.Annotation;
 import java.util.Map;
+import javax.lang.model.element.Modifier;
 
 import static com.facebook.litho.specmodels.generator.ComponentBodyGenerator.getImplAccessor;
 import static com.facebook.litho.specmodels.generator.GeneratorConstants.PREVIOUS_RENDER_DATA_FIELD_NAME;
@@ -63,6 +66,10 @@ public class DelegateMethodGenerator {
           for (MethodSpec methodSpec : delegateMethodDescription.extraMethods) {
             typeSpecDataHolder.addMethod(methodSpec);
           }
+          if (annotation instanceof OnLoadStyle && ((OnLoadStyle) annotation).cacheable()) {
+            typeSpecDataHolder.addTypeSpecDataHolder(
+                generateLoadedStyleCacheMethods(specModel, delegateMethodModel));
+          }
           break;
         }
       }
@@ -237,6 +244,55 @@ public class DelegateMethodGenerator {
     return methodSpec.build();
   }
 
+  /**
+   * Generate the methods that allow the props set by a cacheable {@link OnLoadStyle} method to be
+   * copied from another component of the same type, instead of loading them again.
+   */
+  private static TypeSpecDataHolder generateLoadedStyleCacheMethods(
+      SpecModel specModel, SpecMethodModel<DelegateMethod, Void> onLoadStyleMethod) {
+    final MethodSpec canCacheLoadedStyle =
+        MethodSpec.methodBuilder("canCacheLoadedStyle")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .returns(TypeName.BOOLEAN)
+            .addStatement("return true")
+            .build();
+
+    final MethodSpec.Builder copyLoadedStyle =
+        MethodSpec.methodBuilder("copyLoadedStyle")
+            .addAnnotation(
+                AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build())
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PROTECTED)
+            .addParameter(ClassNames.COMPONENT, "loadedStyleComponent")
+            .addStatement(
+                "$T loadedStyle = ($T) loadedStyleComponent",
+                specModel.getComponentTypeName(),
+                specModel.getComponentTypeName());
+
+    for (MethodParamModel methodParamModel : onLoadStyleMethod.methodParams) {
+      if (isOutputType(methodParamModel.getTypeName())) {
+        final String implAccessor = getImplAccessor(specModel, methodParamModel);
+        final PropModel prop =
+            SpecModelUtils.getPropWithName(specModel, methodParamModel.getName());
+        if (prop != null) {
+          // The component is cast to its raw type, so generic props need to be cast back.
+          copyLoadedStyle.addStatement(
+              "$L = ($T) loadedStyle.$L", implAccessor, prop.getTypeName(), implAccessor);
+        } else {
+          copyLoadedStyle.addStatement("$L = loadedStyle.$L", implAccessor, implAccessor);
+        }
+      }
+    }
+
+    return TypeSpecDataHolder.newBuilder()
+        .addMethod(canCacheLoadedStyle)
+        .addMethod(copyLoadedStyle.build())
+        .build();
+  }
+
   /**
    * We consider an optional parameter as something that comes immediately after defined parameters
    * and is not a special litho parameter (like a prop, state, etc...). This method verifies that
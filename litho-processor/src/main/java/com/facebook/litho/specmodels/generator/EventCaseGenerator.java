@@ -8,6 +8,8 @@
  */
 package com.facebook.litho.specmodels.generator;
 
+import static com.facebook.litho.specmodels.generator.GeneratorConstants.EVENT_HANDLER_CONTEXT_FIELD_NAME;
+
 import com.facebook.litho.annotations.FromEvent;
 import com.facebook.litho.annotations.Param;
 import com.facebook.litho.specmodels.internal.ImmutableList;
@@ -20,9 +22,13 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
+import java.util.Locale;
 
 /** Generator for the cases within the event handler switch clause. */
 class EventCaseGenerator {
+  private static final String EVENT_VARIABLE_NAME = "_event";
+  private static final String TYPED_EVENT_HANDLER_VARIABLE_NAME = "_eventHandler";
+
   private final ClassName mContextClass;
   private final ImmutableList<SpecMethodModel<EventMethod, EventDeclarationModel>>
       mEventMethodModels;
@@ -43,31 +49,63 @@ class EventCaseGenerator {
       SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel) {
     methodBuilder.beginControlFlow("case $L:", eventMethodModel.name.toString().hashCode());
 
-    final String eventVariableName = "_event";
-
     methodBuilder.addStatement(
         "$T $L = ($T) $L",
         eventMethodModel.typeModel.name,
-        eventVariableName,
+        EVENT_VARIABLE_NAME,
         eventMethodModel.typeModel.name,
         "eventState");
 
+    // Handlers created by the generated factories keep the context and the params in typed fields,
+    // handlers created by hand (e.g. in tests) still carry them in an Object[]. Both are read into
+    // the same locals so that the event method is dispatched to from a single place.
+    final CodeBlock.Builder typedArgs = CodeBlock.builder();
+    final CodeBlock.Builder paramsArgs = CodeBlock.builder();
     final CodeBlock.Builder eventHandlerParams =
         CodeBlock.builder().indent().add("\n$L", "eventHandler.mHasEventDispatcher");
 
     int paramIndex = 0;
     for (MethodParamModel methodParamModel : eventMethodModel.methodParams) {
+      final TypeName typeName = methodParamModel.getTypeName();
+
       if (MethodParamModelUtils.isAnnotatedWith(methodParamModel, FromEvent.class)) {
         eventHandlerParams.add(
-            ",\n($T) $L.$L",
-            methodParamModel.getTypeName(),
-            eventVariableName,
-            methodParamModel.getName());
-      } else if (MethodParamModelUtils.isAnnotatedWith(methodParamModel, Param.class)
-          || methodParamModel.getTypeName().equals(mContextClass)) {
-        eventHandlerParams.add(
-            ",\n($T) eventHandler.params[$L]", methodParamModel.getTypeName(), paramIndex++);
+            ",\n($T) $L.$L", typeName, EVENT_VARIABLE_NAME, methodParamModel.getName());
+        continue;
+      }
+
+      final String typedField;
+      if (MethodParamModelUtils.isAnnotatedWith(methodParamModel, Param.class)) {
+        typedField = EventGenerator.getEventHandlerMemberName(methodParamModel);
+      } else if (typeName.equals(mContextClass)) {
+        typedField = EVENT_HANDLER_CONTEXT_FIELD_NAME;
+      } else {
+        continue;
       }
+
+      final String localName = getLocalName(methodParamModel);
+      methodBuilder.addStatement("$T $L", typeName, localName);
+      typedArgs.addStatement(
+          "$L = ($T) $L.$L", localName, typeName, TYPED_EVENT_HANDLER_VARIABLE_NAME, typedField);
+      paramsArgs.addStatement(
+          "$L = ($T) eventHandler.params[$L]", localName, typeName, paramIndex++);
+      eventHandlerParams.add(",\n$L", localName);
+    }
+
+    if (paramIndex > 0) {
+      final String eventHandlerClassName =
+          EventGenerator.getEventHandlerClassName(eventMethodModel);
+      methodBuilder
+          .beginControlFlow("if (eventHandler instanceof $L)", eventHandlerClassName)
+          .addStatement(
+              "$L $L = ($L) eventHandler",
+              eventHandlerClassName,
+              TYPED_EVENT_HANDLER_VARIABLE_NAME,
+              eventHandlerClassName)
+          .addCode(typedArgs.build())
+          .nextControlFlow("else")
+          .addCode(paramsArgs.build())
+          .endControlFlow();
     }
 
     eventHandlerParams.unindent();
@@ -83,6 +121,12 @@ class EventCaseGenerator {
     methodBuilder.endControlFlow();
   }
 
+  /** The prefix keeps the locals apart from the other locals of the case, e.g. for "event". */
+  private static String getLocalName(MethodParamModel methodParamModel) {
+    final String name = methodParamModel.getName();
+    return "_param" + name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+  }
+
   public static Builder builder() {
     return new Builder();
   }
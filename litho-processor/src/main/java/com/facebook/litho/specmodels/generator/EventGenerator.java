@@ -11,6 +11,8 @@ package com.facebook.litho.specmodels.generator;
 
 import static com.facebook.litho.specmodels.generator.ComponentBodyGenerator.getImplAccessor;
 import static com.facebook.litho.specmodels.generator.GeneratorConstants.ABSTRACT_PARAM_NAME;
+import static com.facebook.litho.specmodels.generator.GeneratorConstants.EVENT_HANDLER_CONTEXT_FIELD_NAME;
+import static com.facebook.litho.specmodels.generator.GeneratorConstants.EVENT_HANDLER_NAME_SUFFIX;
 import static com.facebook.litho.specmodels.generator.GeneratorConstants.REF_VARIABLE_NAME;
 import static com.facebook.litho.specmodels.model.ClassNames.EVENT_HANDLER;
 import static com.facebook.litho.specmodels.model.ClassNames.OBJECT;
@@ -25,13 +27,17 @@ import com.facebook.litho.specmodels.model.MethodParamModelUtils;
 import com.facebook.litho.specmodels.model.SpecMethodModel;
 import com.facebook.litho.specmodels.model.SpecModel;
 import com.facebook.litho.specmodels.model.SpecModelUtils;
+import com.squareup.javapoet.ArrayTypeName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
 import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.Locale;
 import javax.lang.model.element.Modifier;
 
 /**
@@ -47,7 +53,8 @@ public class EventGenerator {
         .addTypeSpecDataHolder(generateGetEventHandlerMethods(specModel))
         .addTypeSpecDataHolder(generateEventDispatchers(specModel))
         .addTypeSpecDataHolder(generateEventMethods(specModel))
-        .addTypeSpecDataHolder(generateEventHandlerFactories(specModel));
+        .addTypeSpecDataHolder(generateEventHandlerFactories(specModel))
+        .addTypeSpecDataHolder(generateEventHandlerClasses(specModel));
 
     if (!specModel.getEventMethods().isEmpty()) {
       builder.addMethod(generateDispatchOnEvent(specModel));
@@ -280,16 +287,12 @@ public class EventGenerator {
                 ParameterizedTypeName.get(
                     ClassNames.EVENT_HANDLER, eventMethodModel.typeModel.name));
 
-    final CodeBlock.Builder paramsBlock = CodeBlock.builder();
-
-    paramsBlock.add("new Object[] {\n");
-    paramsBlock.indent();
-    paramsBlock.add("c,\n");
+    final CodeBlock.Builder argsBlock = CodeBlock.builder().add("c");
 
     for (MethodParamModel methodParamModel : eventMethodModel.methodParams) {
       if (MethodParamModelUtils.isAnnotatedWith(methodParamModel, Param.class)) {
         builder.addParameter(methodParamModel.getTypeName(), methodParamModel.getName());
-        paramsBlock.add("$L,\n", methodParamModel.getName());
+        argsBlock.add(", $L", methodParamModel.getName());
 
         if (methodParamModel.getTypeName() instanceof TypeVariableName) {
           builder.addTypeVariable((TypeVariableName) methodParamModel.getTypeName());
@@ -297,16 +300,131 @@ public class EventGenerator {
       }
     }
 
-    paramsBlock.unindent();
-    paramsBlock.add("}");
-
     builder.addStatement(
-        "return newEventHandler(c, $S, $L, $L)",
-        eventMethodModel.name.toString(),
-        eventMethodModel.name.toString().hashCode(),
-        paramsBlock.build());
+        "return registerEventHandler(c, new $L($L))",
+        getEventHandlerClassName(eventMethodModel),
+        argsBlock.build());
 
     return builder.build();
   }
 
+  static TypeSpecDataHolder generateEventHandlerClasses(SpecModel specModel) {
+    final TypeSpecDataHolder.Builder typeSpecDataHolder = TypeSpecDataHolder.newBuilder();
+    for (SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel :
+        specModel.getEventMethods()) {
+      typeSpecDataHolder.addType(generateEventHandlerClass(specModel, eventMethodModel));
+    }
+
+    return typeSpecDataHolder.build();
+  }
+
+  /**
+   * Generate an {@link com.facebook.litho.EventHandler} subclass for the event method which keeps
+   * the context and the @Param values in typed fields instead of an Object[].
+   */
+  static TypeSpec generateEventHandlerClass(
+      SpecModel specModel, SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel) {
+    final TypeName contextClass = specModel.getContextClass();
+    final String methodName = eventMethodModel.name.toString();
+
+    final TypeSpec.Builder eventHandlerClass =
+        TypeSpec.classBuilder(getEventHandlerClassName(eventMethodModel))
+            .addModifiers(Modifier.STATIC)
+            .superclass(
+                ParameterizedTypeName.get(
+                    ClassNames.EVENT_HANDLER, eventMethodModel.typeModel.name))
+            .addField(contextClass, EVENT_HANDLER_CONTEXT_FIELD_NAME);
+
+    final MethodSpec.Builder constructor =
+        MethodSpec.constructorBuilder()
+            .addParameter(contextClass, "c")
+            .addStatement(
+                "super(c.$L(), $S, $L, null)",
+                specModel.getScopeMethodName(),
+                methodName,
+                methodName.hashCode())
+            .addStatement("$L = c", EVENT_HANDLER_CONTEXT_FIELD_NAME);
+
+    for (MethodParamModel methodParamModel : eventMethodModel.methodParams) {
+      if (MethodParamModelUtils.isAnnotatedWith(methodParamModel, Param.class)) {
+        final TypeName fieldType = getEventHandlerFieldType(methodParamModel.getTypeName());
+        final String memberName = getEventHandlerMemberName(methodParamModel);
+
+        eventHandlerClass.addField(fieldType, memberName);
+        constructor
+            .addParameter(fieldType, methodParamModel.getName())
+            .addStatement("$L = $L", memberName, methodParamModel.getName());
+      }
+    }
+
+    final MethodSpec bindToDispatcher =
+        MethodSpec.methodBuilder("bindToDispatcher")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(ClassNames.HAS_EVENT_DISPATCHER_CLASSNAME, "hasEventDispatcher")
+            .addParameter(ClassNames.COMPONENT_CONTEXT, "scopedContext")
+            .addStatement("super.bindToDispatcher(hasEventDispatcher, scopedContext)")
+            .addStatement(
+                "$L = ($T) scopedContext", EVENT_HANDLER_CONTEXT_FIELD_NAME, contextClass)
+            .build();
+
+    return eventHandlerClass.addMethod(constructor.build()).addMethod(bindToDispatcher).build();
+  }
+
+  static String getEventHandlerClassName(
+      SpecMethodModel<EventMethod, EventDeclarationModel> eventMethodModel) {
+    final String methodName = eventMethodModel.name.toString();
+    return methodName.substring(0, 1).toUpperCase(Locale.ROOT)
+        + methodName.substring(1)
+        + EVENT_HANDLER_NAME_SUFFIX;
+  }
+
+  static String getEventHandlerMemberName(MethodParamModel methodParamModel) {
+    return "m"
+        + methodParamModel.getName().substring(0, 1).toUpperCase(Locale.ROOT)
+        + methodParamModel.getName().substring(1);
+  }
+
+  /**
+   * The generated handler classes are static and can't refer to the type variables of the
+   * component or of the event method, so params whose type does are stored as Objects and cast back
+   * on dispatch.
+   */
+  private static TypeName getEventHandlerFieldType(TypeName typeName) {
+    return referencesTypeVariable(typeName) ? OBJECT : typeName;
+  }
+
+  private static boolean referencesTypeVariable(TypeName typeName) {
+    if (typeName instanceof TypeVariableName) {
+      return true;
+    }
+
+    if (typeName instanceof ArrayTypeName) {
+      return referencesTypeVariable(((ArrayTypeName) typeName).componentType);
+    }
+
+    if (typeName instanceof ParameterizedTypeName) {
+      for (TypeName typeArgument : ((ParameterizedTypeName) typeName).typeArguments) {
+        if (referencesTypeVariable(typeArgument)) {
+          return true;
+        }
+      }
+    }
+
+    if (typeName instanceof WildcardTypeName) {
+      final WildcardTypeName wildcardTypeName = (WildcardTypeName) typeName;
+      for (TypeName bound : wildcardTypeName.upperBounds) {
+        if (referencesTypeVariable(bound)) {
+          return true;
+        }
+      }
+      for (TypeName bound : wildcardTypeName.lowerBounds) {
+        if (referencesTypeVariable(bound)) {
+          return true;
+        }
+      }
+    }
+
+    return false;
+  }
 }
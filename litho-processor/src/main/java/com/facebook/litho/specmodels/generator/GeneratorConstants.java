@@ -20,4 +20,6 @@ public interface GeneratorConstants {
   String PREVIOUS_RENDER_DATA_FIELD_NAME = "mPreviousRenderData";
   String STATE_CONTAINER_NAME_SUFFIX = "StateContainer";
   String STATE_UPDATE_NAME_SUFFIX = "StateUpdate";
+  String EVENT_HANDLER_NAME_SUFFIX = "EventHandler";
+  String EVENT_HANDLER_CONTEXT_FIELD_NAME = "mScopedContext";
 }
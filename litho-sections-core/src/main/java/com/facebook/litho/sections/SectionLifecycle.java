@@ -185,6 +185,22 @@ public abstract class SectionLifecycle implements EventDispatcher, EventTriggerT
     return eventHandler;
   }
 
+  /**
+   * Records an event handler that was already created, e.g. a generated handler subclass that keeps
+   * its params in typed fields, so that it is rebound to the section of every new tree.
+   */
+  protected static <E> EventHandler<E> registerEventHandler(
+      SectionContext c, EventHandler<E> eventHandler) {
+    final Section section = c.getSectionScope();
+    if (section == null) {
+      throw new IllegalStateException("Called newEventHandler on a released Section");
+    }
+
+    recordEventHandler(section, eventHandler);
+
+    return eventHandler;
+  }
+
   protected static <E> EventHandler<E> newEventHandler(
       Section c,
       String name,
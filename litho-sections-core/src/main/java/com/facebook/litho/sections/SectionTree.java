@@ -217,12 +217,7 @@ public class SectionTree {
     }
 
     for (EventHandler eventHandler : mEventHandlers.get(section.getGlobalKey())) {
-      eventHandler.mHasEventDispatcher = section;
-
-      // Params should only be null for tests
-      if (eventHandler.params != null) {
-        eventHandler.params[0] = section.getScopedContext();
-      }
+      eventHandler.bindToDispatcher(section, section.getScopedContext());
     }
   }
 
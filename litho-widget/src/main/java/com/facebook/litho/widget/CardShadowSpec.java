@@ -25,7 +25,7 @@ import com.facebook.litho.annotations.ResType;
  * @prop cornerRadius Corner radius for the card that shows the shadow.
  * @prop shadowSize Size of the shadow.
  */
-@MountSpec(isPublic = false, isPureRender = true)
+@MountSpec(isPublic = false, isPureRender = true, shouldUseDisplayList = true)
 class CardShadowSpec {
 
   @OnCreateMountContent
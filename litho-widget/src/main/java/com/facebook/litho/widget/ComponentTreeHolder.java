@@ -33,6 +33,8 @@ public class ComponentTreeHolder {
       new Pools.SynchronizedPool<>(8);
   private ComponentTreeMeasureListenerFactory mComponentTreeMeasureListenerFactory;
 
+  static final int SIZE_UNRECORDED = -1;
+
   @GuardedBy("this")
   private int mLastMeasuredHeight;
 
@@ -45,14 +47,21 @@ public class ComponentTreeHolder {
   @GuardedBy("this")
   private RenderInfo mRenderInfo;
 
+  @GuardedBy("this")
+  private @Nullable LayoutHandler mLayoutHandler;
+
   private boolean mIsTreeValid;
-  private LayoutHandler mLayoutHandler;
   private boolean mCanPrefetchDisplayLists;
   private boolean mCanCacheDrawingDisplayLists;
   private LayoutHandler mPreallocateMountContentHandler;
   private boolean mCanPreallocateOnDefaultHandler;
   private boolean mShouldPreallocatePerMountSpec;
 
+  // The size of this item in the ItemSizeStatistics of its binder. It is guarded by the lock of
+  // the statistics instead of this one, since it's recorded from the measure listener of the tree.
+  private int mRecordedSize = SIZE_UNRECORDED;
+  private @Nullable Object mRecordedSizeType;
+
   interface ComponentTreeMeasureListenerFactory {
     MeasureListener create(ComponentTreeHolder holder);
   }
@@ -126,6 +135,8 @@ public class ComponentTreeHolder {
       componentTreeHolder = new ComponentTreeHolder();
     }
     componentTreeHolder.mRenderInfo = renderInfo;
+    componentTreeHolder.mRecordedSize = SIZE_UNRECORDED;
+    componentTreeHolder.mRecordedSizeType = null;
     componentTreeHolder.mLayoutHandler = layoutHandler;
     componentTreeHolder.mCanPrefetchDisplayLists = canPrefetchDisplayLists;
     componentTreeHolder.mCanCacheDrawingDisplayLists = canCacheDrawingDisplayLists;
@@ -214,6 +225,11 @@ public class ComponentTreeHolder {
     return mIsTreeValid;
   }
 
+  /** @return the handler the layouts of the ComponentTree of this holder are calculated on. */
+  synchronized @Nullable LayoutHandler getLayoutHandler() {
+    return mLayoutHandler;
+  }
+
   public synchronized ComponentTree getComponentTree() {
     return mComponentTree;
   }
@@ -231,6 +247,23 @@ public class ComponentTreeHolder {
     mLastMeasuredHeight = height;
   }
 
+  /** Only called by {@link ItemSizeStatistics} while holding its lock. */
+  int getRecordedSize() {
+    return mRecordedSize;
+  }
+
+  /** Only called by {@link ItemSizeStatistics} while holding its lock. */
+  @Nullable
+  Object getRecordedSizeType() {
+    return mRecordedSizeType;
+  }
+
+  /** Only called by {@link ItemSizeStatistics} while holding its lock. */
+  void setRecordedSize(@Nullable Object itemType, int size) {
+    mRecordedSizeType = itemType;
+    mRecordedSize = size;
+  }
+
   public synchronized void release() {
     releaseTree();
     clearStateHandler();
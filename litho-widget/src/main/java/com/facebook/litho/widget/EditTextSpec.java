@@ -30,6 +30,7 @@ import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.support.annotation.Nullable;
+import android.support.v4.util.LruCache;
 import android.text.Editable;
 import android.text.InputFilter;
 import android.text.Layout;
@@ -64,6 +65,7 @@ import com.facebook.litho.annotations.ResType;
 import com.facebook.litho.annotations.State;
 import com.facebook.litho.reference.Reference;
 import com.facebook.litho.utils.MeasureUtils;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
@@ -126,6 +128,13 @@ class EditTextSpec {
   private static final int[][] DEFAULT_HINT_COLOR_STATE_LIST_STATES = {{0}};
   private static final int[] DEFAULT_HINT_COLOR_STATE_LIST_COLORS = {Color.LTGRAY};
   private static final int DEFAULT_GRAVITY = Gravity.CENTER_VERTICAL | Gravity.START;
+  private static final int MEASUREMENTS_CACHE_SIZE = 16;
+
+  // EditText used to measure the components laid out on each thread. It's softly held so that it
+  // survives between layouts but can still be collected, along with its Context, under memory
+  // pressure. It's reset after every measurement so that it doesn't keep what it measured alive.
+  private static final ThreadLocal<SoftReference<MeasurementEditText>> sMeasurementEditText =
+      new ThreadLocal<>();
 
   @PropDefault protected static final int minLines = Integer.MIN_VALUE;
   @PropDefault protected static final int maxLines = Integer.MAX_VALUE;
@@ -155,7 +164,7 @@ class EditTextSpec {
   @PropDefault protected static final int cursorDrawableRes = -1;
   @PropDefault protected static final EditTextStateUpdatePolicy stateUpdatePolicy = NO_UPDATES;
 
-  @OnLoadStyle
+  @OnLoadStyle(cacheable = true)
   static void onLoadStyle(
       ComponentContext c,
       Output<TextUtils.TruncateAt> ellipsize,
@@ -275,46 +284,9 @@ class EditTextSpec {
       @Prop(optional = true, varArg = "inputFilter") List<InputFilter> inputFilters,
       @State(canUpdateLazily = true) String input) {
 
-    // TODO(11759579) - don't allocate a new EditText in every measure.
-    final EditText editText = new EditText(c);
-
-    initEditText(
-        editText,
-        input == null ? text : input,
-        hint,
-        ellipsize,
-        inputFilters,
-        minLines,
-        maxLines,
-        maxLength,
-        shadowRadius,
-        shadowDx,
-        shadowDy,
-        shadowColor,
-        isSingleLine,
-        textColor,
-        textColorStateList,
-        hintColor,
-        hintColorStateList,
-        linkColor,
-        highlightColor,
-        textSize,
-        extraSpacing,
-        spacingMultiplier,
-        textStyle,
-        typeface,
-        textAlignment,
-        gravity,
-        editable,
-        selection,
-        inputType,
-        rawInputType,
-        imeOptions,
-        editorActionListener,
-        isSingleLineWrap,
-        requestFocus,
-        cursorDrawableRes);
+    final CharSequence measuredText = input == null ? text : input;
 
+    boolean removeBackground = false;
     Reference<Drawable> backgroundRef = (Reference<Drawable>) layout.getBackground();
     Drawable background = backgroundRef != null ? Reference.acquire(c, backgroundRef) : null;
     if (background != null) {
@@ -322,25 +294,132 @@ class EditTextSpec {
       background.getPadding(rect);
       Reference.release(c, background, backgroundRef);
 
-      if (rect.left != 0 || rect.top != 0 || rect.right != 0 || rect.bottom != 0) {
-        // Padding from the background will be added to the layout separately, so does not need to
-        // be a part of this measurement.
-        editText.setPadding(0, 0, 0, 0);
+      // Padding from the background will be added to the layout separately, so does not need to
+      // be a part of this measurement.
+      removeBackground = rect.left != 0 || rect.top != 0 || rect.right != 0 || rect.bottom != 0;
+    }
 
-        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
-          editText.setBackgroundDrawable(null);
-        } else {
-          editText.setBackground(null);
-        }
+    final MeasurementEditText editText = acquireMeasurementEditText(c);
+
+    // Only plain text can be compared cheaply, and input filters could change it.
+    final MeasureKey measureKey =
+        isPlainText(measuredText) && isPlainText(hint) && inputFilters == null
+            ? new MeasureKey(
+                measuredText,
+                hint,
+                ellipsize,
+                minLines,
+                maxLines,
+                maxLength,
+                shadowRadius,
+                shadowDx,
+                shadowDy,
+                isSingleLine,
+                textSize,
+                extraSpacing,
+                spacingMultiplier,
+                textStyle,
+                typeface,
+                textAlignment,
+                gravity,
+                inputType,
+                rawInputType,
+                isSingleLineWrap,
+                removeBackground,
+                widthSpec,
+                heightSpec)
+            : null;
+
+    final Size cachedSize = measureKey != null ? editText.mMeasurements.get(measureKey) : null;
+    if (cachedSize != null) {
+      size.width = cachedSize.width;
+      size.height = cachedSize.height;
+      return;
+    }
+
+    // The EditText is left reset by the previous measurement.
+    try {
+      initEditText(
+          editText,
+          measuredText,
+          hint,
+          ellipsize,
+          inputFilters,
+          minLines,
+          maxLines,
+          maxLength,
+          shadowRadius,
+          shadowDx,
+          shadowDy,
+          shadowColor,
+          isSingleLine,
+          textColor,
+          textColorStateList,
+          hintColor,
+          hintColorStateList,
+          linkColor,
+          highlightColor,
+          textSize,
+          extraSpacing,
+          spacingMultiplier,
+          textStyle,
+          typeface,
+          textAlignment,
+          gravity,
+          editable,
+          selection,
+          inputType,
+          rawInputType,
+          imeOptions,
+          editorActionListener,
+          isSingleLineWrap,
+          requestFocus,
+          cursorDrawableRes);
+
+      if (removeBackground) {
+        editText.setPadding(0, 0, 0, 0);
+        setBackgroundCompat(editText, null);
       }
+
+      editText.measure(
+          MeasureUtils.getViewMeasureSpec(widthSpec),
+          MeasureUtils.getViewMeasureSpec(heightSpec));
+
+      size.width = editText.getMeasuredWidth();
+      size.height = editText.getMeasuredHeight();
+    } finally {
+      editText.reset();
     }
 
-    editText.measure(
-        MeasureUtils.getViewMeasureSpec(widthSpec),
-        MeasureUtils.getViewMeasureSpec(heightSpec));
+    if (measureKey != null) {
+      editText.mMeasurements.put(measureKey, new Size(size.width, size.height));
+    }
+  }
 
-    size.width = editText.getMeasuredWidth();
-    size.height = editText.getMeasuredHeight();
+  private static MeasurementEditText acquireMeasurementEditText(ComponentContext c) {
+    final SoftReference<MeasurementEditText> editTextRef = sMeasurementEditText.get();
+    MeasurementEditText editText = editTextRef != null ? editTextRef.get() : null;
+
+    // The measurement depends on the theme and resources of the Context, so an EditText created
+    // for another Context can't be reused.
+    if (editText == null || editText.getContext() != c.getBaseContext()) {
+      editText = new MeasurementEditText(c.getBaseContext());
+      sMeasurementEditText.set(new SoftReference<>(editText));
+    }
+
+    return editText;
+  }
+
+  private static boolean isPlainText(@Nullable CharSequence text) {
+    return text == null || text instanceof String;
+  }
+
+  private static void setBackgroundCompat(View view, @Nullable Drawable background) {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN) {
+      view.setBackgroundDrawable(background);
+    } else {
+      view.setBackground(background);
+    }
   }
 
   @OnCreateMountContent
@@ -606,6 +685,175 @@ class EditTextSpec {
     }
   }
 
+  /**
+   * EditText used only to measure, which keeps the sizes it measured for the last sets of props.
+   * {@link #reset()} brings it back to the state of a newly created EditText after every
+   * measurement, so that it's ready for the next one and doesn't hold on to the props it measured.
+   */
+  private static class MeasurementEditText extends EditText {
+    private static final InputFilter[] NO_FILTERS = new InputFilter[0];
+
+    private final LruCache<MeasureKey, Size> mMeasurements =
+        new LruCache<>(MEASUREMENTS_CACHE_SIZE);
+    private final Drawable mDefaultBackground;
+    private final int mDefaultPaddingLeft;
+    private final int mDefaultPaddingTop;
+    private final int mDefaultPaddingRight;
+    private final int mDefaultPaddingBottom;
+    private final int mDefaultInputType;
+
+    MeasurementEditText(Context context) {
+      super(context);
+      mDefaultBackground = getBackground();
+      mDefaultPaddingLeft = getPaddingLeft();
+      mDefaultPaddingTop = getPaddingTop();
+      mDefaultPaddingRight = getPaddingRight();
+      mDefaultPaddingBottom = getPaddingBottom();
+      mDefaultInputType = getInputType();
+    }
+
+    void reset() {
+      // Drops the props of the last measurement that could reference their owners.
+      setOnEditorActionListener(null);
+      setFilters(NO_FILTERS);
+      setText(null);
+      setHint(null);
+      // Also resets the horizontal scrolling and the transformation method.
+      setSingleLine(false);
+      setInputType(mDefaultInputType);
+      setBackgroundCompat(this, mDefaultBackground);
+      setPadding(
+          mDefaultPaddingLeft, mDefaultPaddingTop, mDefaultPaddingRight, mDefaultPaddingBottom);
+    }
+  }
+
+  /** The props of an EditText that affect its measurement, along with the measure specs. */
+  private static class MeasureKey {
+    private final @Nullable CharSequence mText;
+    private final @Nullable CharSequence mHint;
+    private final @Nullable TextUtils.TruncateAt mEllipsize;
+    private final int mMinLines;
+    private final int mMaxLines;
+    private final int mMaxLength;
+    private final float mShadowRadius;
+    private final float mShadowDx;
+    private final float mShadowDy;
+    private final boolean mIsSingleLine;
+    private final int mTextSize;
+    private final float mExtraSpacing;
+    private final float mSpacingMultiplier;
+    private final int mTextStyle;
+    private final @Nullable Typeface mTypeface;
+    private final @Nullable Layout.Alignment mTextAlignment;
+    private final int mGravity;
+    private final int mInputType;
+    private final int mRawInputType;
+    private final boolean mIsSingleLineWrap;
+    private final boolean mRemoveBackground;
+    private final int mWidthSpec;
+    private final int mHeightSpec;
+
+    MeasureKey(
+        @Nullable CharSequence text,
+        @Nullable CharSequence hint,
+        @Nullable TextUtils.TruncateAt ellipsize,
+        int minLines,
+        int maxLines,
+        int maxLength,
+        float shadowRadius,
+        float shadowDx,
+        float shadowDy,
+        boolean isSingleLine,
+        int textSize,
+        float extraSpacing,
+        float spacingMultiplier,
+        int textStyle,
+        @Nullable Typeface typeface,
+        @Nullable Layout.Alignment textAlignment,
+        int gravity,
+        int inputType,
+        int rawInputType,
+        boolean isSingleLineWrap,
+        boolean removeBackground,
+        int widthSpec,
+        int heightSpec) {
+      mText = text;
+      mHint = hint;
+      mEllipsize = ellipsize;
+      mMinLines = minLines;
+      mMaxLines = maxLines;
+      mMaxLength = maxLength;
+      mShadowRadius = shadowRadius;
+      mShadowDx = shadowDx;
+      mShadowDy = shadowDy;
+      mIsSingleLine = isSingleLine;
+      mTextSize = textSize;
+      mExtraSpacing = extraSpacing;
+      mSpacingMultiplier = spacingMultiplier;
+      mTextStyle = textStyle;
+      mTypeface = typeface;
+      mTextAlignment = textAlignment;
+      mGravity = gravity;
+      mInputType = inputType;
+      mRawInputType = rawInputType;
+      mIsSingleLineWrap = isSingleLineWrap;
+      mRemoveBackground = removeBackground;
+      mWidthSpec = widthSpec;
+      mHeightSpec = heightSpec;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof MeasureKey)) {
+        return false;
+      }
+
+      final MeasureKey other = (MeasureKey) o;
+      return mMinLines == other.mMinLines
+          && mMaxLines == other.mMaxLines
+          && mMaxLength == other.mMaxLength
+          && Float.compare(mShadowRadius, other.mShadowRadius) == 0
+          && Float.compare(mShadowDx, other.mShadowDx) == 0
+          && Float.compare(mShadowDy, other.mShadowDy) == 0
+          && mIsSingleLine == other.mIsSingleLine
+          && mTextSize == other.mTextSize
+          && Float.compare(mExtraSpacing, other.mExtraSpacing) == 0
+          && Float.compare(mSpacingMultiplier, other.mSpacingMultiplier) == 0
+          && mTextStyle == other.mTextStyle
+          && mGravity == other.mGravity
+          && mInputType == other.mInputType
+          && mRawInputType == other.mRawInputType
+          && mIsSingleLineWrap == other.mIsSingleLineWrap
+          && mRemoveBackground == other.mRemoveBackground
+          && mWidthSpec == other.mWidthSpec
+          && mHeightSpec == other.mHeightSpec
+          && mEllipsize == other.mEllipsize
+          && mTextAlignment == other.mTextAlignment
+          && (mTypeface == null ? other.mTypeface == null : mTypeface.equals(other.mTypeface))
+          && TextUtils.equals(mText, other.mText)
+          && TextUtils.equals(mHint, other.mHint);
+    }
+
+    @Override
+    public int hashCode() {
+      int result = mText != null ? mText.hashCode() : 0;
+      result = 31 * result + (mHint != null ? mHint.hashCode() : 0);
+      result = 31 * result + mMinLines;
+      result = 31 * result + mMaxLines;
+      result = 31 * result + (mIsSingleLine ? 1 : 0);
+      result = 31 * result + mTextSize;
+      result = 31 * result + mTextStyle;
+      result = 31 * result + mInputType;
+      result = 31 * result + mWidthSpec;
+      result = 31 * result + mHeightSpec;
+      return result;
+    }
+  }
+
   static class EditTextTextChangedEventHandler extends EditText {
     private final TextWatcher mTextWatcher;
     private ComponentContext mComponentContext;
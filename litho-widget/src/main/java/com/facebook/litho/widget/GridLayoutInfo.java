@@ -21,7 +21,7 @@ import com.facebook.litho.LithoView;
 import com.facebook.litho.SizeSpec;
 import com.facebook.litho.widget.RecyclerBinder.RecyclerViewLayoutManagerOverrideParams;
 
-public class GridLayoutInfo implements LayoutInfo {
+public class GridLayoutInfo implements SpannedLayoutInfo {
 
   // A CUSTOM LAYOUTINFO param to override the size of an item in the grid. Since GridLayoutInfo
   // does not support item decorations offsets on the non scrolling side natively,
@@ -98,6 +98,16 @@ public class GridLayoutInfo implements LayoutInfo {
     mRenderInfoCollection = renderInfoCollection;
   }
 
+  @Override
+  public int getSpanCount() {
+    return mGridLayoutManager.getSpanCount();
+  }
+
+  @Override
+  public int getSpanSize(RenderInfo renderInfo) {
+    return Math.max(1, Math.min(renderInfo.getSpanSize(), mGridLayoutManager.getSpanCount()));
+  }
+
   @Override
   public int approximateRangeSize(
       int firstMeasuredItemWidth,
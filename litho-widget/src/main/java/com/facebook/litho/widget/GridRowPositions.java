@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sorted index of the positions of the first items of the rows of a {@link RecyclerBinder} laid
+ * out by a {@link SpannedLayoutInfo}. It is built in one pass over the items the first time it is
+ * queried, and only built again after the items, their span sizes or the span count changed, so
+ * that aligning a range to whole rows doesn't visit all the items before it. Accesses must be
+ * guarded by the binder's lock.
+ */
+class GridRowPositions {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private int[] mRowStarts = new int[INITIAL_CAPACITY];
+  private int mRowCount;
+  private int mItemCount;
+  private int mSpanCount;
+  private boolean mIsValid;
+
+  /** Called after items have been inserted, removed, moved or updated. */
+  void invalidate() {
+    mIsValid = false;
+  }
+
+  /** @return the position of the first item of the row the item at the given position is in. */
+  int findRowStartPosition(
+      SpannedLayoutInfo spannedLayoutInfo, List<ComponentTreeHolder> holders, int position) {
+    ensureRowStarts(spannedLayoutInfo, holders);
+    return mRowStarts[findRowIndex(position)];
+  }
+
+  /** @return the position of the last item of the row the item at the given position is in. */
+  int findRowEndPosition(
+      SpannedLayoutInfo spannedLayoutInfo, List<ComponentTreeHolder> holders, int position) {
+    ensureRowStarts(spannedLayoutInfo, holders);
+    final int nextRowIndex = findRowIndex(position) + 1;
+    return nextRowIndex < mRowCount ? mRowStarts[nextRowIndex] - 1 : mItemCount - 1;
+  }
+
+  private int findRowIndex(int position) {
+    final int index = Arrays.binarySearch(mRowStarts, 0, mRowCount, position);
+    return index >= 0 ? index : -index - 2;
+  }
+
+  private void ensureRowStarts(
+      SpannedLayoutInfo spannedLayoutInfo, List<ComponentTreeHolder> holders) {
+    final int spanCount = spannedLayoutInfo.getSpanCount();
+    final int itemCount = holders.size();
+    if (mIsValid && mSpanCount == spanCount && mItemCount == itemCount) {
+      return;
+    }
+
+    mRowCount = 0;
+    int usedSpans = 0;
+    for (int i = 0; i < itemCount; i++) {
+      final int spanSize = spannedLayoutInfo.getSpanSize(holders.get(i).getRenderInfo());
+      if (i == 0 || usedSpans + spanSize > spanCount) {
+        addRowStart(i);
+        usedSpans = 0;
+      }
+      usedSpans += spanSize;
+    }
+
+    mSpanCount = spanCount;
+    mItemCount = itemCount;
+    mIsValid = true;
+  }
+
+  private void addRowStart(int position) {
+    if (mRowCount == mRowStarts.length) {
+      mRowStarts = Arrays.copyOf(mRowStarts, mRowCount * 2);
+    }
+
+    mRowStarts[mRowCount++] = position;
+  }
+}
@@ -48,8 +48,10 @@ import com.facebook.yoga.YogaDirection;
  * analogous to a {@link android.widget.HorizontalScrollView}.
  *
  * @uidocs
+ * @prop incrementalMountEnabled whether only the part of the content that is visible should be
+ *     mounted, releasing the mount content that is scrolled out of the viewport
  */
-@MountSpec
+@MountSpec(canMountIncrementally = true)
 class HorizontalScrollSpec {
 
   private static final int LAST_SCROLL_POSITION_UNSET = -1;
@@ -59,7 +61,7 @@ class HorizontalScrollSpec {
   private static final SynchronizedPool<Size> sSizePool =
       new SynchronizedPool<>(2);
 
-  @OnLoadStyle
+  @OnLoadStyle(cacheable = true)
   static void onLoadStyle(
       ComponentContext c,
       Output<Boolean> scrollbarEnabled) {
@@ -166,13 +168,15 @@ class HorizontalScrollSpec {
       @Prop Component contentProps,
       @Prop(optional = true, resType = ResType.BOOL) boolean scrollbarEnabled,
       @Prop(optional = true) HorizontalScrollEventsController eventsController,
+      @Prop(optional = true) boolean incrementalMountEnabled,
       @State(canUpdateLazily = true) final int lastScrollPosition,
       @FromBoundsDefined int componentWidth,
       @FromBoundsDefined int componentHeight,
       @FromBoundsDefined final YogaDirection layoutDirection) {
 
     horizontalScrollLithoView.setHorizontalScrollBarEnabled(scrollbarEnabled);
-    horizontalScrollLithoView.mount(contentProps, componentWidth, componentHeight);
+    horizontalScrollLithoView.mount(
+        contentProps, componentWidth, componentHeight, incrementalMountEnabled);
     final ViewTreeObserver viewTreeObserver = horizontalScrollLithoView.getViewTreeObserver();
     viewTreeObserver.addOnPreDrawListener(
         new ViewTreeObserver.OnPreDrawListener() {
@@ -253,11 +257,23 @@ class HorizontalScrollSpec {
           MeasureSpec.getSize(heightMeasureSpec));
     }
 
-    void mount(Component component, int width, int height) {
-      if (mLithoView.getComponentTree() == null) {
+    @Override
+    protected void onScrollChanged(int l, int t, int oldl, int oldt) {
+      super.onScrollChanged(l, t, oldl, oldt);
+
+      // Mount the content that is scrolled into the viewport and release what is scrolled out.
+      if (mLithoView.isIncrementalMountEnabled()) {
+        mLithoView.performIncrementalMount();
+      }
+    }
+
+    void mount(Component component, int width, int height, boolean incrementalMountEnabled) {
+      final ComponentTree componentTree = mLithoView.getComponentTree();
+      if (componentTree == null
+          || componentTree.isIncrementalMountEnabled() != incrementalMountEnabled) {
         mLithoView.setComponentTree(
             ComponentTree.create(mLithoView.getComponentContext(), component)
-                .incrementalMount(false)
+                .incrementalMount(incrementalMountEnabled)
                 .build());
       } else {
         mLithoView.setComponent(component);
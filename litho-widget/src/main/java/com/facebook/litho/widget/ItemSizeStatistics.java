@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Running statistics of the sizes of the items laid out by a {@link RecyclerBinder} along its
+ * scrolling direction, overall and per item type. Each item contributes its latest size only, so
+ * measuring an item again replaces its previous sample. They are used to size the range of items
+ * laid out ahead of time from the types of the items around the viewport, and can be read for
+ * monitoring.
+ */
+@ThreadSafe
+public class ItemSizeStatistics {
+
+  @GuardedBy("this")
+  private final Map<Object, Sizes> mSizesByType = new HashMap<>();
+
+  @GuardedBy("this")
+  private final Sizes mSizes = new Sizes();
+
+  /**
+   * @return the key the sizes of the item with the given {@link RenderInfo} are grouped by: the
+   *     class of its component, or its view type.
+   */
+  static Object getItemType(RenderInfo renderInfo) {
+    if (renderInfo.rendersComponent()) {
+      return renderInfo.getComponent().getClass();
+    }
+
+    return renderInfo.rendersView() ? renderInfo.getViewType() : renderInfo.getClass();
+  }
+
+  /**
+   * Records the size of the item of the given holder, of the given type, replacing its previous
+   * size if any.
+   */
+  synchronized void record(ComponentTreeHolder holder, Object itemType, int size) {
+    if (size <= 0) {
+      return;
+    }
+
+    remove(holder);
+
+    Sizes typeSizes = mSizesByType.get(itemType);
+    if (typeSizes == null) {
+      typeSizes = new Sizes();
+      mSizesByType.put(itemType, typeSizes);
+    }
+
+    typeSizes.add(size);
+    mSizes.add(size);
+    holder.setRecordedSize(itemType, size);
+  }
+
+  /** Removes the size recorded for the item of the given holder, if any. */
+  synchronized void remove(ComponentTreeHolder holder) {
+    final int recordedSize = holder.getRecordedSize();
+    if (recordedSize <= 0) {
+      return;
+    }
+
+    final Object itemType = holder.getRecordedSizeType();
+    final Sizes typeSizes = mSizesByType.get(itemType);
+    typeSizes.remove(recordedSize);
+    if (typeSizes.mCount == 0) {
+      mSizesByType.remove(itemType);
+    }
+
+    mSizes.remove(recordedSize);
+    holder.setRecordedSize(null, ComponentTreeHolder.SIZE_UNRECORDED);
+  }
+
+  /** @return the number of items whose size has been recorded. */
+  public synchronized int getSampleCount() {
+    return mSizes.mCount;
+  }
+
+  /** @return the average item size in pixels, or -1 if no size has been recorded yet. */
+  public synchronized int getAverageSize() {
+    return mSizes.getAverage();
+  }
+
+  /**
+   * @return the average size in pixels of the items of the given type, or -1 if no size has been
+   *     recorded for that type yet.
+   */
+  public synchronized int getAverageSize(Object itemType) {
+    final Sizes typeSizes = mSizesByType.get(itemType);
+    return typeSizes == null ? -1 : typeSizes.getAverage();
+  }
+
+  private static class Sizes {
+    private int mCount;
+    private long mTotal;
+
+    void add(int size) {
+      mCount++;
+      mTotal += size;
+    }
+
+    void remove(int size) {
+      mCount--;
+      mTotal -= size;
+    }
+
+    int getAverage() {
+      return mCount == 0 ? -1 : (int) (mTotal / mCount);
+    }
+  }
+}
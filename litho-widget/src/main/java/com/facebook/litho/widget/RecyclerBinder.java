@@ -19,6 +19,7 @@ import static com.facebook.litho.widget.RenderInfoViewCreatorController.DEFAULT_
 import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.support.annotation.UiThread;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.view.ViewCompat;
@@ -33,10 +34,13 @@ import com.facebook.litho.Component;
 import com.facebook.litho.ComponentContext;
 import com.facebook.litho.ComponentTree;
 import com.facebook.litho.ComponentTree.MeasureListener;
+import com.facebook.litho.DefaultThreadPoolLayoutHandlerBuilder;
 import com.facebook.litho.EventHandler;
 import com.facebook.litho.LayoutHandler;
 import com.facebook.litho.LithoView;
 import com.facebook.litho.MeasureComparisonUtils;
+import com.facebook.litho.PrioritizedLayoutHandler;
+import com.facebook.litho.PriorityLayoutScheduler;
 import com.facebook.litho.Size;
 import com.facebook.litho.SizeSpec;
 import com.facebook.litho.ThreadUtils;
@@ -45,9 +49,13 @@ import com.facebook.litho.utils.DisplayListUtils;
 import com.facebook.litho.viewcompat.ViewBinder;
 import com.facebook.litho.viewcompat.ViewCreator;
 import com.facebook.litho.widget.ComponentTreeHolder.ComponentTreeMeasureListenerFactory;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
@@ -63,9 +71,20 @@ public class RecyclerBinder
   private static final int UNINITIALIZED = -1;
   private static final Size sDummySize = new Size();
   private static final String TAG = RecyclerBinder.class.getSimpleName();
+  // With an adaptive range, the range is extended in the direction of the scroll by the distance
+  // covered in this many frames at the current velocity, up to this many times its size.
+  private static final int RANGE_VELOCITY_LOOKAHEAD_FRAMES = 10;
+  private static final float MAX_RANGE_VELOCITY_SCALE = 3f;
+  // Estimated time between two scroll events, used to derive the deadlines of the layouts.
+  private static final int FRAME_INTERVAL_MS = 16;
+
+  private static @Nullable LayoutHandler sDefaultAsyncLayoutHandler;
 
   @GuardedBy("this")
   private final List<ComponentTreeHolder> mComponentTreeHolders;
+  @GuardedBy("this")
+  private final StickyHeaderPositions mStickyHeaderPositions = new StickyHeaderPositions();
+  private final GridRowPositions mGridRowPositions = new GridRowPositions();
   private final LayoutInfo mLayoutInfo;
   private final RecyclerView.Adapter mInternalAdapter;
   private final ComponentContext mComponentContext;
@@ -75,11 +94,18 @@ public class RecyclerBinder
   private final ComponentTreeHolderFactory mComponentTreeHolderFactory;
   private final Handler mMainThreadHandler = new Handler(Looper.getMainLooper());
 
-  // Data structure to be used to hold Components and ComponentTreeHolders before adding them to
-  // the RecyclerView. This happens in the case of inserting something inside the current working
-  // range.
-  //TODO t15827349
-  private final List<ComponentTreeHolder> mPendingComponentTreeHolders;
+  // Batches of the async API, applied in order once the layouts they wait for are computed. Only
+  // accessed from the main thread.
+  private final ArrayDeque<AsyncBatch> mAsyncBatches = new ArrayDeque<>();
+  private final @Nullable LayoutHandler mAsyncLayoutHandler;
+  private final @Nullable PriorityLayoutScheduler mLayoutScheduler;
+  private final Runnable mApplyAsyncOperationsRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          applyReadyAsyncOperations();
+        }
+      };
   private final float mRangeRatio;
   private final AtomicBoolean mIsMeasured = new AtomicBoolean(false);
   private final AtomicBoolean mRequiresRemeasure = new AtomicBoolean(false);
@@ -110,7 +136,11 @@ public class RecyclerBinder
     return new MeasureListener() {
       @Override
       public void onSetRootAndSizeSpec(int width, int height) {
-        if (holder.getMeasuredHeight() == height) {
+        if (mUseAdaptiveRange) {
+          recordItemSize(holder, width, height);
+        }
+
+        if (!mHasDynamicItemHeight || holder.getMeasuredHeight() == height) {
           return;
         }
 
@@ -134,10 +164,19 @@ public class RecyclerBinder
 
   private final boolean mIsCircular;
   private final boolean mHasDynamicItemHeight;
+  private final boolean mUseAdaptiveRange;
+  private final ItemSizeStatistics mItemSizeStatistics = new ItemSizeStatistics();
+  // The last scroll delta along the scrolling direction, used as an estimate of the velocity.
+  private volatile int mLastScrollDelta;
   private int mLastWidthSpec = UNINITIALIZED;
   private int mLastHeightSpec = UNINITIALIZED;
   private Size mMeasuredSize;
   private RecyclerView mMountedView;
+  private final List<ComponentTree> mDisplayListPrefetchComponentTrees = new ArrayList<>();
+  // The visible range and item count the prefetch distances were last computed for.
+  private int mDisplayListPrefetchFirstVisible = RecyclerView.NO_POSITION;
+  private int mDisplayListPrefetchLastVisible = RecyclerView.NO_POSITION;
+  private int mDisplayListPrefetchItemCount = -1;
   private int mCurrentFirstVisiblePosition = RecyclerView.NO_POSITION;
   private int mCurrentLastVisiblePosition = RecyclerView.NO_POSITION;
   private int mCurrentOffset;
@@ -214,8 +253,11 @@ public class RecyclerBinder
         DEFAULT_COMPONENT_TREE_HOLDER_FACTORY;
     private ComponentContext componentContext;
     private LithoViewFactory lithoViewFactory;
+    private @Nullable LayoutHandler asyncLayoutHandler;
+    private @Nullable PriorityLayoutScheduler layoutScheduler;
     private boolean isCircular;
     private boolean hasDynamicItemHeight;
+    private boolean useAdaptiveRange;
     private boolean customViewTypeEnabled;
     private int componentViewType;
     private @Nullable RecyclerView.Adapter overrideInternalAdapter;
@@ -253,6 +295,28 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * @param asyncLayoutHandler the RecyclerBinder will compute the layouts of the items inserted
+     *     with {@link RecyclerBinder#insertRangeAtAsync(int, List)} on this handler, in parallel if
+     *     it is backed by a pool of threads. Defaults to a {@link
+     *     com.facebook.litho.ThreadPoolLayoutHandler} shared by all RecyclerBinders.
+     */
+    public Builder asyncLayoutHandler(LayoutHandler asyncLayoutHandler) {
+      this.asyncLayoutHandler = asyncLayoutHandler;
+      return this;
+    }
+
+    /**
+     * @param layoutScheduler the RecyclerBinder will calculate the layouts of the items in range on
+     *     this scheduler, nearest to the visible items first and by the time the scrolling brings
+     *     them on screen, unless a {@link #layoutHandlerFactory(LayoutHandlerFactory)} provides a
+     *     handler for them.
+     */
+    public Builder layoutScheduler(PriorityLayoutScheduler layoutScheduler) {
+      this.layoutScheduler = layoutScheduler;
+      return this;
+    }
+
     public Builder lithoViewFactory(LithoViewFactory lithoViewFactory) {
       this.lithoViewFactory = lithoViewFactory;
       return this;
@@ -305,6 +369,20 @@ public class RecyclerBinder
       return this;
     }
 
+    /**
+     * Whether the range of items laid out ahead of time should be sized from the sizes of the items
+     * measured so far, per item type, instead of from the size of the first item only. Each item
+     * around the viewport then counts for the average size of its type. The range spans the
+     * viewport size multiplied by the range ratio in pixels, in both directions, and is extended
+     * in the direction of the scroll as it gets faster. Defaults to false.
+     *
+     * @see RecyclerBinder#getItemSizeStatistics()
+     */
+    public Builder useAdaptiveRange(boolean useAdaptiveRange) {
+      this.useAdaptiveRange = useAdaptiveRange;
+      return this;
+    }
+
     /**
      * Enable setting custom viewTypes on {@link ViewRenderInfo}s.
      *
@@ -347,7 +425,6 @@ public class RecyclerBinder
     mComponentContext = builder.componentContext;
     mComponentTreeHolderFactory = builder.componentTreeHolderFactory;
     mComponentTreeHolders = new ArrayList<>();
-    mPendingComponentTreeHolders = new ArrayList<>();
     mInternalAdapter =
         builder.overrideInternalAdapter != null
             ? builder.overrideInternalAdapter
@@ -356,6 +433,8 @@ public class RecyclerBinder
     mRangeRatio = builder.rangeRatio;
     mLayoutInfo = builder.layoutInfo;
     mLayoutHandlerFactory = builder.layoutHandlerFactory;
+    mAsyncLayoutHandler = builder.asyncLayoutHandler;
+    mLayoutScheduler = builder.layoutScheduler;
     mLithoViewFactory = builder.lithoViewFactory;
     mCanPrefetchDisplayLists = builder.canPrefetchDisplayLists;
     mCanCacheDrawingDisplayLists = builder.canCacheDrawingDisplayLists;
@@ -369,6 +448,7 @@ public class RecyclerBinder
     mIsCircular = builder.isCircular;
     mHasDynamicItemHeight =
         mLayoutInfo.getScrollDirection() == HORIZONTAL ? builder.hasDynamicItemHeight : false;
+    mUseAdaptiveRange = builder.useAdaptiveRange;
 
     mViewportManager =
         new ViewportManager(
@@ -379,39 +459,34 @@ public class RecyclerBinder
   }
 
   /**
-   * Update the item at index position. The {@link RecyclerView} will only be notified of the item
-   * being updated after a layout calculation has been completed for the new {@link Component}.
+   * Updates the item at index position. If there are other pending async operations on this binder
+   * this will only be executed when all of them have been completed (to ensure index consistency).
    */
   @UiThread
   public final void updateItemAtAsync(int position, RenderInfo renderInfo) {
-    ThreadUtils.assertMainThread();
-
-    // If the binder has not been measured yet we simply fall back on the sync implementation as
-    // nothing will really happen until we compute the first range.
-    if (!mIsMeasured.get()) {
-      updateItemAt(position, renderInfo);
-      return;
-    }
-
-    //TODO t15827349 implement async operations in RecyclerBinder.
+    applyBatchAsync(new AsyncBatch().updateItemAt(position, renderInfo));
   }
 
   /**
    * Inserts an item at position. The {@link RecyclerView} will only be notified of the item being
-   * inserted after a layout calculation has been completed for the new {@link Component}.
+   * inserted after a layout calculation has been completed for the new {@link Component}. See
+   * {@link #insertRangeAtAsync(int, List)}.
    */
   @UiThread
   public final void insertItemAtAsync(int position, RenderInfo renderInfo) {
-    ThreadUtils.assertMainThread();
-
-    // If the binder has not been measured yet we simply fall back on the sync implementation as
-    // nothing will really happen until we compute the first range.
-    if (!mIsMeasured.get()) {
-      insertItemAt(position, renderInfo);
-      return;
-    }
+    insertRangeAtAsync(position, Collections.singletonList(renderInfo));
+  }
 
-    //TODO t15827349 implement async operations in RecyclerBinder.
+  /**
+   * Inserts the new items starting from position. The layouts of the new items that fall within
+   * the current range are first computed in the background, in parallel if the {@link
+   * Builder#asyncLayoutHandler(LayoutHandler)} allows it. The {@link RecyclerView} is then notified
+   * of all the new items at once, so it never shows an item whose layout is not ready. If there are
+   * other pending async operations on this binder, the items are only inserted after those.
+   */
+  @UiThread
+  public final void insertRangeAtAsync(int position, List<RenderInfo> renderInfos) {
+    applyBatchAsync(new AsyncBatch().insertRangeAt(position, renderInfos));
   }
 
   /**
@@ -421,16 +496,7 @@ public class RecyclerBinder
    */
   @UiThread
   public final void moveItemAsync(int fromPosition, int toPosition) {
-    ThreadUtils.assertMainThread();
-
-    // If the binder has not been measured yet we simply fall back on the sync implementation as
-    // nothing will really happen until we compute the first range.
-    if (!mIsMeasured.get()) {
-      moveItem(fromPosition, toPosition);
-      return;
-    }
-
-    //TODO t15827349 implement async operations in RecyclerBinder.
+    applyBatchAsync(new AsyncBatch().moveItem(fromPosition, toPosition));
   }
 
   /**
@@ -439,16 +505,240 @@ public class RecyclerBinder
    */
   @UiThread
   public final void removeItemAtAsync(int position) {
+    applyBatchAsync(new AsyncBatch().removeItemAt(position));
+  }
+
+  /**
+   * Applies the insertions, updates, moves and removals of the batch in order. The layouts of the
+   * inserted items that fall within the range are first computed in the background, as with {@link
+   * #insertRangeAtAsync(int, List)}. All the operations are then applied at once and the {@link
+   * RecyclerView} is notified of them together, merging the notifications of adjacent items. The
+   * positions of the batch refer to the items as they will be once the async operations already
+   * pending on this binder are applied, and the batch is only applied after those.
+   */
+  @UiThread
+  public final void applyBatchAsync(AsyncBatch batch) {
     ThreadUtils.assertMainThread();
 
-    // If the binder has not been measured yet we simply fall back on the sync implementation as
-    // nothing will really happen until we compute the first range.
-    if (!mIsMeasured.get()) {
-      removeItemAt(position);
-      return;
+    if (batch.mIsApplied) {
+      throw new IllegalStateException("An AsyncBatch can only be applied once");
+    }
+    batch.mIsApplied = true;
+
+    final List<AsyncOperation> operations = batch.mOperations;
+    int insertedCount = 0;
+    for (int i = 0, size = operations.size(); i < size; i++) {
+      final AsyncOperation operation = operations.get(i);
+      if (operation.mType == AsyncOperation.INSERT) {
+        assertNoInsertOperationIfCircular();
+        operation.mHolders = new ArrayList<>(operation.mRenderInfos.size());
+        for (int j = 0, count = operation.mRenderInfos.size(); j < count; j++) {
+          operation.mHolders.add(createComponentTreeHolder(operation.mRenderInfos.get(j)));
+        }
+        insertedCount += operation.mHolders.size();
+      } else if (operation.mType == AsyncOperation.REMOVE) {
+        assertNoRemoveOperationIfCircular(1);
+      }
+    }
+
+    final List<ComponentTreeHolder> holdersToLayout = new ArrayList<>();
+    final int[] childrenSpecs = new int[insertedCount * 2];
+
+    synchronized (this) {
+      // If the binder has not been measured yet nothing will be laid out until we compute the
+      // first range, so there is no reason to wait.
+      if (mIsMeasured.get()) {
+        int firstVisiblePosition = getFirstVisiblePositionAfterPendingOperations();
+        for (int i = 0, size = operations.size(); i < size; i++) {
+          final AsyncOperation operation = operations.get(i);
+          if (operation.mType == AsyncOperation.INSERT) {
+            for (int j = 0, count = operation.mHolders.size(); j < count; j++) {
+              final ComponentTreeHolder holder = operation.mHolders.get(j);
+              if (holder.getRenderInfo().rendersComponent()
+                  && isInEstimatedRange(
+                      operation.mPosition + j, firstVisiblePosition, holdersToLayout.isEmpty())) {
+                childrenSpecs[holdersToLayout.size() * 2] = getActualChildrenWidthSpec(holder);
+                childrenSpecs[holdersToLayout.size() * 2 + 1] =
+                    getActualChildrenHeightSpec(holder);
+                holdersToLayout.add(holder);
+              }
+            }
+          }
+          firstVisiblePosition = operation.shiftPosition(firstVisiblePosition);
+        }
+      }
+    }
+
+    batch.mPendingLayouts.set(holdersToLayout.size());
+    mAsyncBatches.addLast(batch);
+
+    if (!holdersToLayout.isEmpty()) {
+      postAsyncLayouts(batch, holdersToLayout, childrenSpecs);
+    }
+
+    applyReadyAsyncOperations();
+  }
+
+  private void postAsyncLayouts(
+      final AsyncBatch batch, List<ComponentTreeHolder> holdersToLayout, int[] childrenSpecs) {
+    final LayoutHandler layoutHandler =
+        mAsyncLayoutHandler != null ? mAsyncLayoutHandler : getDefaultAsyncLayoutHandler();
+
+    for (int i = 0, size = holdersToLayout.size(); i < size; i++) {
+      final ComponentTreeHolder holder = holdersToLayout.get(i);
+      final int childrenWidthSpec = childrenSpecs[i * 2];
+      final int childrenHeightSpec = childrenSpecs[i * 2 + 1];
+
+      layoutHandler.post(
+          new Runnable() {
+            @Override
+            public void run() {
+              holder.computeLayoutSync(
+                  mComponentContext, childrenWidthSpec, childrenHeightSpec, null);
+
+              if (batch.mPendingLayouts.decrementAndGet() == 0) {
+                mMainThreadHandler.post(mApplyAsyncOperationsRunnable);
+              }
+            }
+          });
+    }
+  }
+
+  /** Applies the pending async batches, in order, until one is still waiting for layouts. */
+  @UiThread
+  private void applyReadyAsyncOperations() {
+    while (!mAsyncBatches.isEmpty() && mAsyncBatches.peekFirst().mPendingLayouts.get() == 0) {
+      applyBatch(mAsyncBatches.pollFirst());
+    }
+  }
+
+  @UiThread
+  private void applyBatch(AsyncBatch batch) {
+    final List<AsyncOperation> operations = batch.mOperations;
+    final BatchNotifications notifications = new BatchNotifications();
+    final List<ComponentTreeHolder> removedHolders = new ArrayList<>();
+    final List<ComponentTreeHolder> holdersMovedOutOfRange = new ArrayList<>();
+    final int rangeSize = mRange != null ? mRange.estimatedViewportCount : -1;
+    boolean isDataChangedVisible = false;
+
+    synchronized (this) {
+      for (int i = 0, size = operations.size(); i < size; i++) {
+        final AsyncOperation operation = operations.get(i);
+        switch (operation.mType) {
+          case AsyncOperation.INSERT:
+            final int count = operation.mHolders.size();
+            for (int j = 0; j < count; j++) {
+              insertItemLocked(operation.mPosition + j, operation.mHolders.get(j));
+            }
+            notifications.add(AsyncOperation.INSERT, operation.mPosition, count);
+            isDataChangedVisible |=
+                mViewportManager.isInsertInVisibleRange(operation.mPosition, count, rangeSize);
+            break;
+          case AsyncOperation.UPDATE:
+            if (updateItemLocked(operation.mPosition, operation.mRenderInfos.get(0))) {
+              notifications.add(AsyncOperation.UPDATE, operation.mPosition, 1);
+            }
+            isDataChangedVisible |= mViewportManager.isUpdateInVisibleRange(operation.mPosition, 1);
+            break;
+          case AsyncOperation.MOVE:
+            final ComponentTreeHolder movedHolder =
+                moveItemLocked(operation.mPosition, operation.mToPosition);
+            if (movedHolder.isTreeValid() && !isInRange(operation.mToPosition, rangeSize)) {
+              holdersMovedOutOfRange.add(movedHolder);
+            }
+            notifications.add(AsyncOperation.MOVE, operation.mPosition, operation.mToPosition);
+            isDataChangedVisible |=
+                mViewportManager.isMoveInVisibleRange(
+                    operation.mPosition, operation.mToPosition, rangeSize);
+            break;
+          case AsyncOperation.REMOVE:
+            removedHolders.add(removeItemLocked(operation.mPosition));
+            notifications.add(AsyncOperation.REMOVE, operation.mPosition, 1);
+            isDataChangedVisible |= mViewportManager.isRemoveInVisibleRange(operation.mPosition, 1);
+            break;
+          default:
+            throw new IllegalStateException("Unknown async operation: " + operation.mType);
+        }
+      }
+    }
+
+    for (int i = 0, size = holdersMovedOutOfRange.size(); i < size; i++) {
+      holdersMovedOutOfRange.get(i).acquireStateHandlerAndReleaseTree();
+    }
+
+    notifications.dispatch(mInternalAdapter);
+
+    for (int i = 0, size = removedHolders.size(); i < size; i++) {
+      final ComponentTreeHolder holder = removedHolders.get(i);
+      mItemSizeStatistics.remove(holder);
+      holder.release();
+    }
+
+    maybePostComputeRange();
+
+    mViewportManager.setDataChangedIsVisible(isDataChangedVisible);
+  }
+
+  /**
+   * @return the first visible position once the pending async operations are applied, which is
+   *     what the positions of a new async operation refer to.
+   */
+  @UiThread
+  @GuardedBy("this")
+  private int getFirstVisiblePositionAfterPendingOperations() {
+    int firstVisiblePosition = Math.max(mCurrentFirstVisiblePosition, 0);
+    for (AsyncBatch batch : mAsyncBatches) {
+      for (int i = 0, size = batch.mOperations.size(); i < size; i++) {
+        firstVisiblePosition = batch.mOperations.get(i).shiftPosition(firstVisiblePosition);
+      }
+    }
+
+    return firstVisiblePosition;
+  }
+
+  /**
+   * @return whether the given position is expected to be within the range once the items before
+   *     it are inserted. If no range has been computed yet, only the first item will be laid out
+   *     when computing it.
+   */
+  @GuardedBy("this")
+  private boolean isInEstimatedRange(
+      int position, int firstVisiblePosition, boolean isFirstComponent) {
+    if (mRange == null) {
+      return isFirstComponent;
     }
 
-    //TODO t15827349 implement async operations in RecyclerBinder.
+    final int rangeSize = mRange.estimatedViewportCount;
+    return position >= firstVisiblePosition - (rangeSize * mRangeRatio)
+        && position <= firstVisiblePosition + rangeSize + (rangeSize * mRangeRatio);
+  }
+
+  /** @return whether the given position is within the current range of the given size. */
+  @GuardedBy("this")
+  private boolean isInRange(int position, int rangeSize) {
+    return rangeSize > 0
+        && position >= mCurrentFirstVisiblePosition - (rangeSize * mRangeRatio)
+        && position <= mCurrentFirstVisiblePosition + rangeSize + (rangeSize * mRangeRatio);
+  }
+
+  /**
+   * Sync operations are rejected while async ones are pending, since their positions would refer
+   * to items that have not been inserted, moved or removed yet.
+   */
+  @UiThread
+  private void assertNoPendingAsyncOperations() {
+    if (!mAsyncBatches.isEmpty()) {
+      throw new IllegalStateException(
+          "Sync operations are not supported while async operations are pending");
+    }
+  }
+
+  private static synchronized LayoutHandler getDefaultAsyncLayoutHandler() {
+    if (sDefaultAsyncLayoutHandler == null) {
+      sDefaultAsyncLayoutHandler = new DefaultThreadPoolLayoutHandlerBuilder().build();
+    }
+
+    return sDefaultAsyncLayoutHandler;
   }
 
   /**
@@ -490,12 +780,11 @@ public class RecyclerBinder
     ThreadUtils.assertMainThread();
 
     assertNoInsertOperationIfCircular();
+    assertNoPendingAsyncOperations();
 
     final ComponentTreeHolder holder = createComponentTreeHolder(renderInfo);
     synchronized (this) {
-      mComponentTreeHolders.add(position, holder);
-      mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
-      maybeInitRangeOrRemeasureForMutation(position, holder);
+      insertItemLocked(position, holder);
     }
 
     mInternalAdapter.notifyItemInserted(position);
@@ -555,26 +844,44 @@ public class RecyclerBinder
     ThreadUtils.assertMainThread();
 
     assertNoInsertOperationIfCircular();
+    assertNoPendingAsyncOperations();
 
-    for (int i = 0, size = renderInfos.size(); i < size; i++) {
+    final int size = renderInfos.size();
+    final List<ComponentTreeHolder> holders = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      holders.add(createComponentTreeHolder(renderInfos.get(i)));
+    }
 
-      synchronized (this) {
-        final RenderInfo renderInfo = renderInfos.get(i);
-        final ComponentTreeHolder holder = createComponentTreeHolder(renderInfo);
+    insertHoldersAt(position, holders);
+  }
 
-        mComponentTreeHolders.add(position + i, holder);
-        mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
-        maybeInitRangeOrRemeasureForMutation(position + i, holder);
+  @UiThread
+  private void insertHoldersAt(int position, List<ComponentTreeHolder> holders) {
+    for (int i = 0, size = holders.size(); i < size; i++) {
+
+      synchronized (this) {
+        insertItemLocked(position + i, holders.get(i));
       }
     }
 
-    mInternalAdapter.notifyItemRangeInserted(position, renderInfos.size());
+    mInternalAdapter.notifyItemRangeInserted(position, holders.size());
 
     maybePostComputeRange();
 
     mViewportManager.setDataChangedIsVisible(
         mViewportManager.isInsertInVisibleRange(
-            position, renderInfos.size(), mRange != null ? mRange.estimatedViewportCount : -1));
+            position, holders.size(), mRange != null ? mRange.estimatedViewportCount : -1));
+  }
+
+  @GuardedBy("this")
+  private void insertItemLocked(int position, ComponentTreeHolder holder) {
+    final RenderInfo renderInfo = holder.getRenderInfo();
+
+    mComponentTreeHolders.add(position, holder);
+    mStickyHeaderPositions.onItemInserted(position, renderInfo.isSticky());
+    mGridRowPositions.invalidate();
+    mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
+    maybeInitRangeOrRemeasureForMutation(position, holder);
   }
 
   /**
@@ -594,23 +901,14 @@ public class RecyclerBinder
   public final void updateItemAt(int position, RenderInfo renderInfo) {
     ThreadUtils.assertMainThread();
 
-    final ComponentTreeHolder holder;
-    final boolean renderInfoWasView;
-    synchronized (this) {
-      holder = mComponentTreeHolders.get(position);
-      renderInfoWasView = holder.getRenderInfo().rendersView();
+    assertNoPendingAsyncOperations();
 
-      mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
-      holder.setRenderInfo(renderInfo);
-
-      // Range might not have been initialized if all previous items were views and we update
-      // one of them to be a component.
-      maybeInitRangeOrRemeasureForMutation(position, holder);
+    final boolean shouldNotifyAdapter;
+    synchronized (this) {
+      shouldNotifyAdapter = updateItemLocked(position, renderInfo);
     }
 
-    // If this item is rendered with a view (or was rendered with a view before now) we need to
-    // notify the RecyclerView's adapter that something changed.
-    if (renderInfoWasView || renderInfo.rendersView()) {
+    if (shouldNotifyAdapter) {
       mInternalAdapter.notifyItemChanged(position);
     }
 
@@ -627,21 +925,14 @@ public class RecyclerBinder
   public final void updateRangeAt(int position, List<RenderInfo> renderInfos) {
     ThreadUtils.assertMainThread();
 
+    assertNoPendingAsyncOperations();
+
     for (int i = 0, size = renderInfos.size(); i < size; i++) {
 
       synchronized (this) {
-        final ComponentTreeHolder holder = mComponentTreeHolders.get(position + i);
-        final RenderInfo newRenderInfo = renderInfos.get(i);
-
-        // If this item is rendered with a view (or was rendered with a view before now) we still
-        // need to notify the RecyclerView's adapter that something changed.
-        if (newRenderInfo.rendersView() || holder.getRenderInfo().rendersView()) {
+        if (updateItemLocked(position + i, renderInfos.get(i))) {
           mInternalAdapter.notifyItemChanged(position + i);
         }
-
-        mRenderInfoViewCreatorController.maybeTrackViewCreator(newRenderInfo);
-        holder.setRenderInfo(newRenderInfo);
-        maybeInitRangeOrRemeasureForMutation(position + i, holder);
       }
     }
 
@@ -651,6 +942,27 @@ public class RecyclerBinder
         mViewportManager.isUpdateInVisibleRange(position, renderInfos.size()));
   }
 
+  /**
+   * @return whether the adapter needs to be notified of the update, which is only the case if the
+   *     item is rendered with a view, or was rendered with a view before now.
+   */
+  @GuardedBy("this")
+  private boolean updateItemLocked(int position, RenderInfo renderInfo) {
+    final ComponentTreeHolder holder = mComponentTreeHolders.get(position);
+    final boolean renderInfoWasView = holder.getRenderInfo().rendersView();
+
+    mRenderInfoViewCreatorController.maybeTrackViewCreator(renderInfo);
+    holder.setRenderInfo(renderInfo);
+    mStickyHeaderPositions.onItemUpdated(position, renderInfo.isSticky());
+    mGridRowPositions.invalidate();
+
+    // Range might not have been initialized if all previous items were views and we update
+    // one of them to be a component.
+    maybeInitRangeOrRemeasureForMutation(position, holder);
+
+    return renderInfoWasView || renderInfo.rendersView();
+  }
+
   /**
    * Moves an item from fromPosition to toPosition. If the new position of the item is within the
    * currently visible range, a layout is calculated immediately on the UI Thread.
@@ -659,16 +971,14 @@ public class RecyclerBinder
   public final void moveItem(int fromPosition, int toPosition) {
     ThreadUtils.assertMainThread();
 
+    assertNoPendingAsyncOperations();
+
     final ComponentTreeHolder holder;
     final boolean isNewPositionInRange;
     final int mRangeSize = mRange != null ? mRange.estimatedViewportCount : -1;
     synchronized (this) {
-      holder = mComponentTreeHolders.remove(fromPosition);
-      mComponentTreeHolders.add(toPosition, holder);
-
-      isNewPositionInRange = mRangeSize > 0 &&
-          toPosition >= mCurrentFirstVisiblePosition - (mRangeSize * mRangeRatio) &&
-          toPosition <= mCurrentFirstVisiblePosition + mRangeSize + (mRangeSize * mRangeRatio);
+      holder = moveItemLocked(fromPosition, toPosition);
+      isNewPositionInRange = isInRange(toPosition, mRangeSize);
     }
     final boolean isTreeValid = holder.isTreeValid();
 
@@ -683,6 +993,18 @@ public class RecyclerBinder
         mViewportManager.isMoveInVisibleRange(fromPosition, toPosition, mRangeSize));
   }
 
+  @GuardedBy("this")
+  private ComponentTreeHolder moveItemLocked(int fromPosition, int toPosition) {
+    final ComponentTreeHolder holder = mComponentTreeHolders.remove(fromPosition);
+    mComponentTreeHolders.add(toPosition, holder);
+    mStickyHeaderPositions.onItemMoved(fromPosition, toPosition);
+    mGridRowPositions.invalidate();
+    // The item count doesn't change, make sure the prefetch distances are recomputed anyway.
+    mDisplayListPrefetchItemCount = -1;
+
+    return holder;
+  }
+
   /**
    * Removes an item from index position.
    */
@@ -691,13 +1013,15 @@ public class RecyclerBinder
     ThreadUtils.assertMainThread();
 
     assertNoRemoveOperationIfCircular(1);
+    assertNoPendingAsyncOperations();
 
     final ComponentTreeHolder holder;
     synchronized (this) {
-      holder = mComponentTreeHolders.remove(position);
+      holder = removeItemLocked(position);
     }
     mInternalAdapter.notifyItemRemoved(position);
 
+    mItemSizeStatistics.remove(holder);
     holder.release();
 
     maybePostComputeRange();
@@ -705,6 +1029,15 @@ public class RecyclerBinder
     mViewportManager.setDataChangedIsVisible(mViewportManager.isRemoveInVisibleRange(position, 1));
   }
 
+  @GuardedBy("this")
+  private ComponentTreeHolder removeItemLocked(int position) {
+    final ComponentTreeHolder holder = mComponentTreeHolders.remove(position);
+    mStickyHeaderPositions.onItemRemoved(position);
+    mGridRowPositions.invalidate();
+
+    return holder;
+  }
+
   /**
    * Removes count items starting from position.
    */
@@ -713,10 +1046,12 @@ public class RecyclerBinder
     ThreadUtils.assertMainThread();
 
     assertNoRemoveOperationIfCircular(count);
+    assertNoPendingAsyncOperations();
 
     synchronized (this) {
       for (int i = 0; i < count; i++) {
-        final ComponentTreeHolder holder = mComponentTreeHolders.remove(position);
+        final ComponentTreeHolder holder = removeItemLocked(position);
+        mItemSizeStatistics.remove(holder);
         holder.release();
       }
     }
@@ -960,7 +1295,9 @@ public class RecyclerBinder
   private void invalidateLayoutData() {
     mRange = null;
     for (int i = 0, size = mComponentTreeHolders.size(); i < size; i++) {
-      mComponentTreeHolders.get(i).invalidateTree();
+      final ComponentTreeHolder holder = mComponentTreeHolders.get(i);
+      mItemSizeStatistics.remove(holder);
+      holder.invalidateTree();
     }
 
     // We need to call this as we want to make sure everything is re-bound since we need new sizes
@@ -1000,6 +1337,25 @@ public class RecyclerBinder
     mRange = new RangeCalculationResult();
     mRange.measuredSize = scrollDirection == HORIZONTAL ? size.height : size.width;
     mRange.estimatedViewportCount = rangeSize;
+
+    if (mUseAdaptiveRange) {
+      recordItemSize(holder, size.width, size.height);
+    }
+  }
+
+  private void recordItemSize(ComponentTreeHolder holder, int width, int height) {
+    mItemSizeStatistics.record(
+        holder,
+        ItemSizeStatistics.getItemType(holder.getRenderInfo()),
+        mLayoutInfo.getScrollDirection() == HORIZONTAL ? width : height);
+  }
+
+  /**
+   * @return the statistics of the sizes of the items measured so far along the scrolling
+   *     direction. They are only collected if {@link Builder#useAdaptiveRange(boolean)} is set.
+   */
+  public ItemSizeStatistics getItemSizeStatistics() {
+    return mItemSizeStatistics;
   }
 
   @GuardedBy("this")
@@ -1244,6 +1600,18 @@ public class RecyclerBinder
     return mComponentTreeHolders.get(position).getRenderInfo().isSticky();
   }
 
+  @Override
+  @UiThread
+  public synchronized int findStickyHeaderPositionAtOrBefore(int position) {
+    return mStickyHeaderPositions.findStickyPositionAtOrBefore(position);
+  }
+
+  @Override
+  @UiThread
+  public synchronized int findNextStickyHeaderPosition(int position) {
+    return mStickyHeaderPositions.findNextStickyPosition(position);
+  }
+
   @Override
   @UiThread
   @GuardedBy("this")
@@ -1295,20 +1663,147 @@ public class RecyclerBinder
       if (firstVisible == RecyclerView.NO_POSITION || lastVisible == RecyclerView.NO_POSITION) {
         firstVisible = lastVisible = 0;
       }
-      rangeSize = Math.max(mRange.estimatedViewportCount, lastVisible - firstVisible);
-      rangeStart = firstVisible - (int) (rangeSize * mRangeRatio);
-      rangeEnd = firstVisible + rangeSize + (int) (rangeSize * mRangeRatio);
+
+      final int averageItemSize = mUseAdaptiveRange ? mItemSizeStatistics.getAverageSize() : -1;
+      final int viewportSize =
+          mMeasuredSize == null
+              ? 0
+              : mLayoutInfo.getScrollDirection() == HORIZONTAL
+                  ? mMeasuredSize.width
+                  : mMeasuredSize.height;
+
+      // Item sizes are measured along the scrolling direction, so in a grid they are row sizes.
+      final int itemsPerRow = getItemsPerRow();
+
+      int start;
+      int end;
+      if (averageItemSize > 0 && viewportSize > 0) {
+        rangeSize =
+            Math.max(
+                countItemsToFill(firstVisible, 1, viewportSize, averageItemSize, itemsPerRow),
+                lastVisible - firstVisible);
+
+        final int rangeExtentSize = (int) (viewportSize * mRangeRatio);
+        final float velocityScale =
+            1f
+                + Math.min(
+                    MAX_RANGE_VELOCITY_SCALE - 1f,
+                    (float) Math.abs(mLastScrollDelta)
+                        * RANGE_VELOCITY_LOOKAHEAD_FRAMES
+                        / viewportSize);
+        final int scaledRangeExtentSize = (int) (rangeExtentSize * velocityScale);
+
+        // Extend the range further in the direction we are scrolling to.
+        start =
+            firstVisible
+                - countItemsToFill(
+                    firstVisible - 1,
+                    -1,
+                    mLastScrollDelta < 0 ? scaledRangeExtentSize : rangeExtentSize,
+                    averageItemSize,
+                    itemsPerRow);
+        end =
+            firstVisible
+                + rangeSize
+                + countItemsToFill(
+                    firstVisible + rangeSize,
+                    1,
+                    mLastScrollDelta < 0 ? rangeExtentSize : scaledRangeExtentSize,
+                    averageItemSize,
+                    itemsPerRow);
+      } else {
+        rangeSize = Math.max(mRange.estimatedViewportCount, lastVisible - firstVisible);
+        start = firstVisible - (int) (rangeSize * mRangeRatio);
+        end = firstVisible + rangeSize + (int) (rangeSize * mRangeRatio);
+      }
+
       treeHoldersSize = mComponentTreeHolders.size();
+
+      // The adaptive range is computed in rows, lay out whole rows at its edges so that none is
+      // shown half laid out.
+      if (mUseAdaptiveRange
+          && mLayoutInfo instanceof SpannedLayoutInfo
+          && !mIsCircular
+          && treeHoldersSize > 0) {
+        final SpannedLayoutInfo spannedLayoutInfo = (SpannedLayoutInfo) mLayoutInfo;
+        if (start > 0 && start < treeHoldersSize) {
+          start =
+              mGridRowPositions.findRowStartPosition(
+                  spannedLayoutInfo, mComponentTreeHolders, start);
+        }
+        if (end >= 0 && end < treeHoldersSize - 1) {
+          end =
+              mGridRowPositions.findRowEndPosition(spannedLayoutInfo, mComponentTreeHolders, end);
+        }
+      }
+
+      rangeStart = start;
+      rangeEnd = end;
     }
 
-    computeRangeLayout(treeHoldersSize, rangeStart, rangeEnd, mIsCircular);
+    computeRangeLayout(
+        treeHoldersSize, rangeStart, rangeEnd, firstVisible, lastVisible, mIsCircular);
+  }
+
+  @GuardedBy("this")
+  private int getItemsPerRow() {
+    return mLayoutInfo instanceof SpannedLayoutInfo
+        ? Math.max(1, ((SpannedLayoutInfo) mLayoutInfo).getSpanCount())
+        : 1;
+  }
+
+  /**
+   * @return the number of items, in whole rows, that are needed to cover the given size from the
+   *     given position on in the given direction. The size of each row is estimated from the sizes
+   *     recorded for the type of its item at that position, or from the sizes of all items if none
+   *     of that type has been measured yet or the position is out of the list.
+   */
+  @GuardedBy("this")
+  private int countItemsToFill(
+      int position, int direction, int size, int averageItemSize, int itemsPerRow) {
+    final int itemCount = mComponentTreeHolders.size();
+    int count = 0;
+    int remainingSize = size;
+
+    while (remainingSize > 0) {
+      if (position < 0 || position >= itemCount) {
+        return count + ceilDiv(remainingSize, averageItemSize) * itemsPerRow;
+      }
+
+      final int typeAverageSize =
+          mItemSizeStatistics.getAverageSize(
+              ItemSizeStatistics.getItemType(mComponentTreeHolders.get(position).getRenderInfo()));
+      remainingSize -= typeAverageSize > 0 ? typeAverageSize : averageItemSize;
+      count += itemsPerRow;
+      position += direction * itemsPerRow;
+    }
+
+    return count;
+  }
+
+  private static int ceilDiv(int dividend, int divisor) {
+    return (dividend + divisor - 1) / divisor;
   }
 
   private void computeRangeLayout(
-      int treeHoldersSize, int rangeStart, int rangeEnd, boolean ignoreRange) {
+      int treeHoldersSize,
+      int rangeStart,
+      int rangeEnd,
+      int firstVisible,
+      int lastVisible,
+      boolean ignoreRange) {
+    final long nowMs = SystemClock.uptimeMillis();
+    final int scrollDelta = mLastScrollDelta;
+    final int averageItemSize = mItemSizeStatistics.getAverageSize();
+    final int itemsPerRow;
+    synchronized (this) {
+      itemsPerRow = getItemsPerRow();
+    }
+
     // TODO 16212153 optimize computeRange loop.
     for (int i = 0; i < treeHoldersSize; i++) {
       final ComponentTreeHolder holder;
+      final LayoutHandler layoutHandler;
       final int childrenWidthSpec, childrenHeightSpec;
 
       synchronized (this) {
@@ -1324,6 +1819,7 @@ public class RecyclerBinder
           continue;
         }
 
+        layoutHandler = holder.getLayoutHandler();
         childrenWidthSpec = getActualChildrenWidthSpec(holder);
         childrenHeightSpec = getActualChildrenHeightSpec(holder);
       }
@@ -1334,6 +1830,19 @@ public class RecyclerBinder
         }
       } else {
         if (i >= rangeStart && i <= rangeEnd) {
+          // Also reorders the layouts of the items that were already queued.
+          if (layoutHandler instanceof PrioritizedLayoutHandler) {
+            updateLayoutPriority(
+                (PrioritizedLayoutHandler) layoutHandler,
+                i,
+                firstVisible,
+                lastVisible,
+                nowMs,
+                scrollDelta,
+                averageItemSize,
+                itemsPerRow);
+          }
+
           if (!holder.isTreeValid()) {
             holder.computeLayoutAsync(mComponentContext, childrenWidthSpec, childrenHeightSpec);
           }
@@ -1344,12 +1853,123 @@ public class RecyclerBinder
     }
   }
 
+  /**
+   * Prioritizes the layouts of the item at the given position by its distance from the visible
+   * items. If the list is scrolling towards it, they also get a deadline: the time at which the
+   * item comes on screen if the scrolling goes on at the same speed.
+   */
+  private static void updateLayoutPriority(
+      PrioritizedLayoutHandler layoutHandler,
+      int position,
+      int firstVisible,
+      int lastVisible,
+      long nowMs,
+      int scrollDelta,
+      int averageItemSize,
+      int itemsPerRow) {
+    final int distance;
+    final boolean isScrollingTowards;
+    if (position < firstVisible) {
+      distance = firstVisible - position;
+      isScrollingTowards = scrollDelta < 0;
+    } else if (position > lastVisible) {
+      distance = position - lastVisible;
+      isScrollingTowards = scrollDelta > 0;
+    } else {
+      distance = 0;
+      isScrollingTowards = true;
+    }
+
+    layoutHandler.setPriority(distance);
+
+    if (!isScrollingTowards) {
+      layoutHandler.setDeadline(PrioritizedLayoutHandler.NO_DEADLINE);
+    } else if (distance == 0) {
+      layoutHandler.setDeadline(nowMs);
+    } else if (averageItemSize > 0) {
+      // The rows between the item and the viewport have to be scrolled past before it shows up.
+      final long rowsBefore = (distance - 1) / itemsPerRow;
+      final long framesUntilVisible = rowsBefore * averageItemSize / Math.abs(scrollDelta);
+      layoutHandler.setDeadline(nowMs + framesUntilVisible * FRAME_INTERVAL_MS);
+    } else {
+      layoutHandler.setDeadline(PrioritizedLayoutHandler.NO_DEADLINE);
+    }
+  }
+
   @VisibleForTesting
   @Nullable
   RangeCalculationResult getRangeCalculationResult() {
     return mRange;
   }
 
+  /**
+   * Lets the items in range know how far they are from the visible ones, so that the display lists
+   * of the closest items are prefetched first.
+   */
+  @UiThread
+  private void updateDisplayListPrefetchDistances() {
+    final int firstVisible;
+    final int lastVisible;
+    final int rangeStart;
+
+    synchronized (this) {
+      if (mRange == null
+          || mCurrentFirstVisiblePosition == RecyclerView.NO_POSITION
+          || mCurrentLastVisiblePosition == RecyclerView.NO_POSITION) {
+        return;
+      }
+
+      firstVisible = mCurrentFirstVisiblePosition;
+      lastVisible = mCurrentLastVisiblePosition;
+
+      // Most scroll events don't move the visible range, there is nothing to update then.
+      final int itemCount = mComponentTreeHolders.size();
+      if (firstVisible == mDisplayListPrefetchFirstVisible
+          && lastVisible == mDisplayListPrefetchLastVisible
+          && itemCount == mDisplayListPrefetchItemCount) {
+        return;
+      }
+
+      mDisplayListPrefetchFirstVisible = firstVisible;
+      mDisplayListPrefetchLastVisible = lastVisible;
+      mDisplayListPrefetchItemCount = itemCount;
+
+      final int rangeSize = Math.max(mRange.estimatedViewportCount, lastVisible - firstVisible);
+      rangeStart = Math.max(0, firstVisible - (int) (rangeSize * mRangeRatio));
+      final int rangeEnd =
+          Math.min(
+              itemCount - 1,
+              firstVisible + rangeSize + (int) (rangeSize * mRangeRatio));
+
+      for (int i = rangeStart; i <= rangeEnd; i++) {
+        mDisplayListPrefetchComponentTrees.add(mComponentTreeHolders.get(i).getComponentTree());
+      }
+    }
+
+    // ComponentTrees are updated outside of the lock, since they call back into their measure
+    // listeners while holding their own.
+    for (int i = 0, size = mDisplayListPrefetchComponentTrees.size(); i < size; i++) {
+      final ComponentTree componentTree = mDisplayListPrefetchComponentTrees.get(i);
+      if (componentTree == null) {
+        continue;
+      }
+
+      final int position = rangeStart + i;
+      final int distance;
+      if (position < firstVisible) {
+        distance = firstVisible - position;
+      } else if (position > lastVisible) {
+        distance = position - lastVisible;
+      } else {
+        distance = 0;
+      }
+
+      componentTree.setDisplayListPrefetchDistance(distance);
+    }
+
+    mDisplayListPrefetchComponentTrees.clear();
+  }
+
   @GuardedBy("this")
   private int getActualChildrenWidthSpec(final ComponentTreeHolder treeHolder) {
     if (mIsMeasured.get() && !mRequiresRemeasure.get()) {
@@ -1378,9 +1998,20 @@ public class RecyclerBinder
 
   private class RangeScrollListener extends RecyclerView.OnScrollListener {
 
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+      if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+        // The range shouldn't keep leaning towards the direction of a scroll that has ended.
+        mLastScrollDelta = 0;
+      }
+    }
+
     @Override
     public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+      mLastScrollDelta = mLayoutInfo.getScrollDirection() == HORIZONTAL ? dx : dy;
+
       if (mCanPrefetchDisplayLists) {
+        updateDisplayListPrefetchDistances();
         DisplayListUtils.prefetchDisplayLists(recyclerView);
       }
     }
@@ -1562,14 +2193,179 @@ public class RecyclerBinder
     }
   }
 
+  /**
+   * A list of insertions, updates, moves and removals that {@link
+   * RecyclerBinder#applyBatchAsync(AsyncBatch)} applies together. Each position refers to the items
+   * as they are once the operations added before it are applied. A batch can only be applied once.
+   */
+  public static final class AsyncBatch {
+    private final List<AsyncOperation> mOperations = new ArrayList<>();
+    // The number of layouts that still need to be computed before this batch can be applied.
+    private final AtomicInteger mPendingLayouts = new AtomicInteger();
+    private boolean mIsApplied;
+
+    public AsyncBatch insertItemAt(int position, RenderInfo renderInfo) {
+      return insertRangeAt(position, Collections.singletonList(renderInfo));
+    }
+
+    public AsyncBatch insertRangeAt(int position, List<RenderInfo> renderInfos) {
+      return addOperation(
+          new AsyncOperation(AsyncOperation.INSERT, position, position, renderInfos));
+    }
+
+    public AsyncBatch updateItemAt(int position, RenderInfo renderInfo) {
+      return addOperation(
+          new AsyncOperation(
+              AsyncOperation.UPDATE, position, position, Collections.singletonList(renderInfo)));
+    }
+
+    public AsyncBatch moveItem(int fromPosition, int toPosition) {
+      return addOperation(new AsyncOperation(AsyncOperation.MOVE, fromPosition, toPosition, null));
+    }
+
+    public AsyncBatch removeItemAt(int position) {
+      return addOperation(new AsyncOperation(AsyncOperation.REMOVE, position, position, null));
+    }
+
+    private AsyncBatch addOperation(AsyncOperation operation) {
+      if (mIsApplied) {
+        throw new IllegalStateException("Cannot add operations to an AsyncBatch once applied");
+      }
+
+      mOperations.add(operation);
+      return this;
+    }
+  }
+
+  /** An operation of an {@link AsyncBatch}. */
+  private static class AsyncOperation {
+    private static final int INSERT = 0;
+    private static final int UPDATE = 1;
+    private static final int MOVE = 2;
+    private static final int REMOVE = 3;
+
+    private final int mType;
+    private final int mPosition;
+    private final int mToPosition;
+    private final @Nullable List<RenderInfo> mRenderInfos;
+    // The holders of the inserted items, created when the batch is applied.
+    private @Nullable List<ComponentTreeHolder> mHolders;
+
+    private AsyncOperation(
+        int type, int position, int toPosition, @Nullable List<RenderInfo> renderInfos) {
+      mType = type;
+      mPosition = position;
+      mToPosition = toPosition;
+      mRenderInfos = renderInfos;
+    }
+
+    /**
+     * @return the position the item at the given position ends up at after this operation. Items
+     *     inserted at a position are expected to show up there, so only insertions strictly before
+     *     it shift the position.
+     */
+    private int shiftPosition(int position) {
+      switch (mType) {
+        case INSERT:
+          return mPosition < position ? position + mRenderInfos.size() : position;
+        case MOVE:
+          final int positionAfterRemoval = mPosition < position ? position - 1 : position;
+          return mToPosition <= positionAfterRemoval
+              ? positionAfterRemoval + 1
+              : positionAfterRemoval;
+        case REMOVE:
+          return mPosition < position ? position - 1 : position;
+        default:
+          return position;
+      }
+    }
+  }
+
+  /**
+   * The adapter notifications of an applied {@link AsyncBatch}, dispatched together once all of
+   * its operations are applied. Consecutive notifications of adjacent items are merged into a
+   * single range notification.
+   */
+  private static class BatchNotifications {
+    // Triples of type, position and count (or position to move to for moves).
+    private int[] mNotifications = new int[3 * 4];
+    private int mSize;
+
+    void add(int type, int position, int countOrToPosition) {
+      if (mSize > 0 && mNotifications[mSize - 3] == type) {
+        final int lastPosition = mNotifications[mSize - 2];
+        final int lastCount = mNotifications[mSize - 1];
+        switch (type) {
+          case AsyncOperation.INSERT:
+            if (position >= lastPosition && position <= lastPosition + lastCount) {
+              mNotifications[mSize - 1] = lastCount + countOrToPosition;
+              return;
+            }
+            break;
+          case AsyncOperation.UPDATE:
+            if (position == lastPosition + lastCount) {
+              mNotifications[mSize - 1] = lastCount + countOrToPosition;
+              return;
+            }
+            break;
+          case AsyncOperation.REMOVE:
+            if (position == lastPosition || position + countOrToPosition == lastPosition) {
+              mNotifications[mSize - 2] = position;
+              mNotifications[mSize - 1] = lastCount + countOrToPosition;
+              return;
+            }
+            break;
+          default:
+            break;
+        }
+      }
+
+      if (mSize == mNotifications.length) {
+        mNotifications = Arrays.copyOf(mNotifications, mSize * 2);
+      }
+      mNotifications[mSize++] = type;
+      mNotifications[mSize++] = position;
+      mNotifications[mSize++] = countOrToPosition;
+    }
+
+    void dispatch(RecyclerView.Adapter adapter) {
+      for (int i = 0; i < mSize; i += 3) {
+        final int position = mNotifications[i + 1];
+        final int countOrToPosition = mNotifications[i + 2];
+        switch (mNotifications[i]) {
+          case AsyncOperation.INSERT:
+            adapter.notifyItemRangeInserted(position, countOrToPosition);
+            break;
+          case AsyncOperation.UPDATE:
+            adapter.notifyItemRangeChanged(position, countOrToPosition);
+            break;
+          case AsyncOperation.MOVE:
+            adapter.notifyItemMoved(position, countOrToPosition);
+            break;
+          case AsyncOperation.REMOVE:
+            adapter.notifyItemRangeRemoved(position, countOrToPosition);
+            break;
+          default:
+            throw new IllegalStateException("Unknown async operation: " + mNotifications[i]);
+        }
+      }
+    }
+  }
+
   private ComponentTreeHolder createComponentTreeHolder(RenderInfo renderInfo) {
-    return mComponentTreeHolderFactory.create(
-        renderInfo,
+    LayoutHandler layoutHandler =
         mLayoutHandlerFactory != null
             ? mLayoutHandlerFactory.createLayoutCalculationHandler(renderInfo)
-            : null,
+            : null;
+    if (layoutHandler == null && mLayoutScheduler != null) {
+      layoutHandler = mLayoutScheduler.createLayoutHandler();
+    }
+
+    return mComponentTreeHolderFactory.create(
+        renderInfo,
+        layoutHandler,
         mCanPrefetchDisplayLists,
         mCanCacheDrawingDisplayLists,
-        mHasDynamicItemHeight ? mComponentTreeMeasureListenerFactory : null);
+        mHasDynamicItemHeight || mUseAdaptiveRange ? mComponentTreeMeasureListenerFactory : null);
   }
 }
@@ -35,39 +35,49 @@ public abstract class RenderInfo {
   private static final String SPAN_SIZE = "span_size";
   private static final String IS_FULL_SPAN = "is_full_span";
 
+  // The well known attributes are read while scrolling, so they are stored unboxed rather than in
+  // the custom attributes map. Each of them also has a flag recording whether it was set at all, so
+  // that getCustomAttribute() keeps returning null for the ones that weren't.
+  private static final int FLAG_IS_STICKY = 1;
+  private static final int FLAG_IS_FULL_SPAN = 1 << 1;
+  private static final int FLAG_IS_STICKY_SET = 1 << 2;
+  private static final int FLAG_IS_FULL_SPAN_SET = 1 << 3;
+  private static final int FLAG_SPAN_SIZE_SET = 1 << 4;
+
+  private final int mFlags;
+  private final int mSpanSize;
   private final @Nullable SimpleArrayMap<String, Object> mCustomAttributes;
   private @Nullable SimpleArrayMap<String, Object> mDebugInfo;
 
   RenderInfo(Builder builder) {
+    mFlags = builder.mFlags;
+    mSpanSize = builder.mSpanSize;
     mCustomAttributes = builder.mCustomAttributes;
   }
 
   public boolean isSticky() {
-    if (mCustomAttributes == null || !mCustomAttributes.containsKey(IS_STICKY)) {
-      return false;
-    }
-
-    return (boolean) mCustomAttributes.get(IS_STICKY);
+    return (mFlags & FLAG_IS_STICKY) != 0;
   }
 
   public int getSpanSize() {
-    if (mCustomAttributes == null || !mCustomAttributes.containsKey(SPAN_SIZE)) {
-      return 1;
-    }
-
-    return (int) mCustomAttributes.get(SPAN_SIZE);
+    return mSpanSize;
   }
 
   public boolean isFullSpan() {
-    if (mCustomAttributes == null || !mCustomAttributes.containsKey(IS_FULL_SPAN)) {
-      return false;
-    }
-
-    return (boolean) mCustomAttributes.get(IS_FULL_SPAN);
+    return (mFlags & FLAG_IS_FULL_SPAN) != 0;
   }
 
   public @Nullable Object getCustomAttribute(String key) {
-    return mCustomAttributes == null ? null : mCustomAttributes.get(key);
+    switch (key) {
+      case IS_STICKY:
+        return (mFlags & FLAG_IS_STICKY_SET) != 0 ? isSticky() : null;
+      case SPAN_SIZE:
+        return (mFlags & FLAG_SPAN_SIZE_SET) != 0 ? mSpanSize : null;
+      case IS_FULL_SPAN:
+        return (mFlags & FLAG_IS_FULL_SPAN_SET) != 0 ? isFullSpan() : null;
+      default:
+        return mCustomAttributes == null ? null : mCustomAttributes.get(key);
+    }
   }
 
   /**
@@ -166,21 +176,55 @@ public abstract class RenderInfo {
 
   public abstract static class Builder<T> {
 
+    private int mFlags;
+    private int mSpanSize = 1;
     private @Nullable SimpleArrayMap<String, Object> mCustomAttributes;
 
     public T isSticky(boolean isSticky) {
-      return customAttribute(IS_STICKY, isSticky);
+      return setFlag(FLAG_IS_STICKY, FLAG_IS_STICKY_SET, isSticky);
     }
 
     public T spanSize(int spanSize) {
-      return customAttribute(SPAN_SIZE, spanSize);
+      mSpanSize = spanSize;
+      mFlags |= FLAG_SPAN_SIZE_SET;
+      return (T) this;
     }
 
     public T isFullSpan(boolean isFullSpan) {
-      return customAttribute(IS_FULL_SPAN, isFullSpan);
+      return setFlag(FLAG_IS_FULL_SPAN, FLAG_IS_FULL_SPAN_SET, isFullSpan);
     }
 
-    public T customAttribute(String key, Object value) {
+    /**
+     * Sets a custom attribute, or removes it if the value is null. The well known attributes can
+     * also be set through their keys, in which case a null value resets them to their defaults.
+     */
+    public T customAttribute(String key, @Nullable Object value) {
+      switch (key) {
+        case IS_STICKY:
+          return value == null
+              ? clearFlags(FLAG_IS_STICKY | FLAG_IS_STICKY_SET)
+              : isSticky((boolean) value);
+        case SPAN_SIZE:
+          if (value == null) {
+            mSpanSize = 1;
+            return clearFlags(FLAG_SPAN_SIZE_SET);
+          }
+          return spanSize((int) value);
+        case IS_FULL_SPAN:
+          return value == null
+              ? clearFlags(FLAG_IS_FULL_SPAN | FLAG_IS_FULL_SPAN_SET)
+              : isFullSpan((boolean) value);
+        default:
+          break;
+      }
+
+      if (value == null) {
+        if (mCustomAttributes != null) {
+          mCustomAttributes.remove(key);
+        }
+        return (T) this;
+      }
+
       if (mCustomAttributes == null) {
         mCustomAttributes = new SimpleArrayMap<>();
       }
@@ -189,7 +233,25 @@ public abstract class RenderInfo {
       return (T) this;
     }
 
+    private T setFlag(int flag, int setFlag, boolean value) {
+      if (value) {
+        mFlags |= flag;
+      } else {
+        mFlags &= ~flag;
+      }
+      mFlags |= setFlag;
+
+      return (T) this;
+    }
+
+    private T clearFlags(int flags) {
+      mFlags &= ~flags;
+      return (T) this;
+    }
+
     void release() {
+      mFlags = 0;
+      mSpanSize = 1;
       mCustomAttributes = null;
     }
   }
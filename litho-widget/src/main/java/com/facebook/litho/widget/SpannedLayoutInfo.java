@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+/**
+ * A {@link LayoutInfo} that lays its items out in rows of several spans, such as a grid. The
+ * {@link RecyclerBinder} uses it to compute the layouts of whole rows ahead of time instead of
+ * leaving them half laid out at the edges of its range.
+ */
+public interface SpannedLayoutInfo extends LayoutInfo {
+
+  /** @return the number of spans of a row. */
+  int getSpanCount();
+
+  /**
+   * @param renderInfo the {@link RenderInfo} of an item.
+   * @return the number of spans, between 1 and {@link #getSpanCount()}, the item occupies.
+   */
+  int getSpanSize(RenderInfo renderInfo);
+}
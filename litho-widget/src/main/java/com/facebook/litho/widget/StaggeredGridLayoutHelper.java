@@ -12,40 +12,58 @@ package com.facebook.litho.widget;
 import android.support.v7.widget.StaggeredGridLayoutManager;
 
 public class StaggeredGridLayoutHelper {
-  private static int[] mItemPositionsHolder;
 
   public static int findFirstVisibleItemPosition(
       StaggeredGridLayoutManager staggeredGridLayoutManager) {
-    if (mItemPositionsHolder == null) {
-      mItemPositionsHolder = new int[staggeredGridLayoutManager.getSpanCount()];
-    }
-    return min(staggeredGridLayoutManager.findFirstVisibleItemPositions(mItemPositionsHolder));
+    return findFirstVisibleItemPosition(
+        staggeredGridLayoutManager, new int[staggeredGridLayoutManager.getSpanCount()]);
+  }
+
+  /**
+   * @param itemPositionsHolder an array as long as the span count of the layout manager, used to
+   *     collect the position of each span without allocating.
+   */
+  public static int findFirstVisibleItemPosition(
+      StaggeredGridLayoutManager staggeredGridLayoutManager, int[] itemPositionsHolder) {
+    return min(staggeredGridLayoutManager.findFirstVisibleItemPositions(itemPositionsHolder));
   }
 
   public static int findLastVisibleItemPosition(
       StaggeredGridLayoutManager staggeredGridLayoutManager) {
-    if (mItemPositionsHolder == null) {
-      mItemPositionsHolder = new int[staggeredGridLayoutManager.getSpanCount()];
-    }
-    return max(staggeredGridLayoutManager.findLastVisibleItemPositions(mItemPositionsHolder));
+    return findLastVisibleItemPosition(
+        staggeredGridLayoutManager, new int[staggeredGridLayoutManager.getSpanCount()]);
+  }
+
+  /** @see #findFirstVisibleItemPosition(StaggeredGridLayoutManager, int[]) */
+  public static int findLastVisibleItemPosition(
+      StaggeredGridLayoutManager staggeredGridLayoutManager, int[] itemPositionsHolder) {
+    return max(staggeredGridLayoutManager.findLastVisibleItemPositions(itemPositionsHolder));
   }
 
   public static int findFirstFullyVisibleItemPosition(
       StaggeredGridLayoutManager staggeredGridLayoutManager) {
-    if (mItemPositionsHolder == null) {
-      mItemPositionsHolder = new int[staggeredGridLayoutManager.getSpanCount()];
-    }
+    return findFirstFullyVisibleItemPosition(
+        staggeredGridLayoutManager, new int[staggeredGridLayoutManager.getSpanCount()]);
+  }
+
+  /** @see #findFirstVisibleItemPosition(StaggeredGridLayoutManager, int[]) */
+  public static int findFirstFullyVisibleItemPosition(
+      StaggeredGridLayoutManager staggeredGridLayoutManager, int[] itemPositionsHolder) {
     return min(
-        staggeredGridLayoutManager.findFirstCompletelyVisibleItemPositions(mItemPositionsHolder));
+        staggeredGridLayoutManager.findFirstCompletelyVisibleItemPositions(itemPositionsHolder));
   }
 
   public static int findLastFullyVisibleItemPosition(
       StaggeredGridLayoutManager staggeredGridLayoutManager) {
-    if (mItemPositionsHolder == null) {
-      mItemPositionsHolder = new int[staggeredGridLayoutManager.getSpanCount()];
-    }
+    return findLastFullyVisibleItemPosition(
+        staggeredGridLayoutManager, new int[staggeredGridLayoutManager.getSpanCount()]);
+  }
+
+  /** @see #findFirstVisibleItemPosition(StaggeredGridLayoutManager, int[]) */
+  public static int findLastFullyVisibleItemPosition(
+      StaggeredGridLayoutManager staggeredGridLayoutManager, int[] itemPositionsHolder) {
     return max(
-        staggeredGridLayoutManager.findLastCompletelyVisibleItemPositions(mItemPositionsHolder));
+        staggeredGridLayoutManager.findLastCompletelyVisibleItemPositions(itemPositionsHolder));
   }
 
   private static int min(int[] a) {
@@ -23,9 +23,12 @@ import com.facebook.litho.widget.RecyclerBinder.RecyclerViewLayoutManagerOverrid
  * An implementation for {@link LayoutInfo} to implement staggered grids with a {@link
  * StaggeredGridLayoutManager}.
  */
-public class StaggeredGridLayoutInfo implements LayoutInfo {
+public class StaggeredGridLayoutInfo implements SpannedLayoutInfo {
   private final StaggeredGridLayoutManager mStaggeredGridLayoutManager;
 
+  // Reused to query the positions of the items of each span, see StaggeredGridLayoutHelper.
+  private int[] mItemPositionsHolder;
+
   public StaggeredGridLayoutInfo(
       int spanCount, int orientation, boolean reverseLayout, int gapStrategy) {
     mStaggeredGridLayoutManager = new LithoStaggeredGridLayoutManager(spanCount, orientation);
@@ -48,6 +51,16 @@ public class StaggeredGridLayoutInfo implements LayoutInfo {
     // no op
   }
 
+  @Override
+  public int getSpanCount() {
+    return mStaggeredGridLayoutManager.getSpanCount();
+  }
+
+  @Override
+  public int getSpanSize(RenderInfo renderInfo) {
+    return renderInfo.isFullSpan() ? mStaggeredGridLayoutManager.getSpanCount() : 1;
+  }
+
   @Override
   public int approximateRangeSize(
       int firstMeasuredItemWidth,
@@ -109,22 +122,26 @@ public class StaggeredGridLayoutInfo implements LayoutInfo {
 
   @Override
   public int findFirstVisibleItemPosition() {
-    return StaggeredGridLayoutHelper.findFirstVisibleItemPosition(mStaggeredGridLayoutManager);
+    return StaggeredGridLayoutHelper.findFirstVisibleItemPosition(
+        mStaggeredGridLayoutManager, getItemPositionsHolder());
   }
 
   @Override
   public int findLastVisibleItemPosition() {
-    return StaggeredGridLayoutHelper.findLastVisibleItemPosition(mStaggeredGridLayoutManager);
+    return StaggeredGridLayoutHelper.findLastVisibleItemPosition(
+        mStaggeredGridLayoutManager, getItemPositionsHolder());
   }
 
   @Override
   public int findFirstFullyVisibleItemPosition() {
-    return StaggeredGridLayoutHelper.findFirstFullyVisibleItemPosition(mStaggeredGridLayoutManager);
+    return StaggeredGridLayoutHelper.findFirstFullyVisibleItemPosition(
+        mStaggeredGridLayoutManager, getItemPositionsHolder());
   }
 
   @Override
   public int findLastFullyVisibleItemPosition() {
-    return StaggeredGridLayoutHelper.findLastFullyVisibleItemPosition(mStaggeredGridLayoutManager);
+    return StaggeredGridLayoutHelper.findLastFullyVisibleItemPosition(
+        mStaggeredGridLayoutManager, getItemPositionsHolder());
   }
 
   @Override
@@ -132,6 +149,15 @@ public class StaggeredGridLayoutInfo implements LayoutInfo {
     return mStaggeredGridLayoutManager.getItemCount();
   }
 
+  private int[] getItemPositionsHolder() {
+    final int spanCount = mStaggeredGridLayoutManager.getSpanCount();
+    if (mItemPositionsHolder == null || mItemPositionsHolder.length != spanCount) {
+      mItemPositionsHolder = new int[spanCount];
+    }
+
+    return mItemPositionsHolder;
+  }
+
   private static class LithoStaggeredGridLayoutManager extends StaggeredGridLayoutManager {
     public LithoStaggeredGridLayoutManager(int spanCount, int orientation) {
       super(spanCount, orientation);
@@ -126,16 +126,18 @@ class StickyHeaderController extends RecyclerView.OnScrollListener {
 
       // Translate sticky header
       final int lastVisiblePosition = mHasStickyHeader.findLastVisibleItemPosition();
+      // The first visible item is not sticky here, so the next sticky header after the current
+      // one is the first sticky item that is visible, if any.
+      final int nextStickyHeaderPosition =
+          mHasStickyHeader.findNextStickyHeaderPosition(stickyHeaderPosition);
       int translationY = 0;
-      for (int i = firstVisiblePosition; i <= lastVisiblePosition; i++) {
-        if (mHasStickyHeader.isSticky(i)) {
-          final View nextStickyHeader = mLayoutManager.findViewByPosition(i);
-          final int offsetBetweenStickyHeaders = nextStickyHeader.getTop()
-              - mSectionsRecyclerView.getStickyHeader().getBottom()
-              + mSectionsRecyclerView.getPaddingTop();
-          translationY = Math.min(offsetBetweenStickyHeaders, 0);
-          break;
-        }
+      if (nextStickyHeaderPosition != RecyclerView.NO_POSITION
+          && nextStickyHeaderPosition <= lastVisiblePosition) {
+        final View nextStickyHeader = mLayoutManager.findViewByPosition(nextStickyHeaderPosition);
+        final int offsetBetweenStickyHeaders = nextStickyHeader.getTop()
+            - mSectionsRecyclerView.getStickyHeader().getBottom()
+            + mSectionsRecyclerView.getPaddingTop();
+        translationY = Math.min(offsetBetweenStickyHeaders, 0);
       }
       mSectionsRecyclerView.setStickyHeaderVerticalOffset(translationY);
       previousStickyHeaderPosition = stickyHeaderPosition;
@@ -164,11 +166,6 @@ class StickyHeaderController extends RecyclerView.OnScrollListener {
 
   @VisibleForTesting(otherwise = VisibleForTesting.PRIVATE)
   int findStickyHeaderPosition(int currentFirstVisiblePosition) {
-    for (int i = currentFirstVisiblePosition; i >= 0; i--) {
-      if (mHasStickyHeader.isSticky(i)) {
-        return i;
-      }
-    }
-    return RecyclerView.NO_POSITION;
+    return mHasStickyHeader.findStickyHeaderPositionAtOrBefore(currentFirstVisiblePosition);
   }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2017-present, Facebook, Inc.
+ * All rights reserved.
+ *
+ * This source code is licensed under the BSD-style license found in the
+ * LICENSE file in the root directory of this source tree. An additional grant
+ * of patent rights can be found in the PATENTS file in the same directory.
+ */
+
+package com.facebook.litho.widget;
+
+import android.support.v7.widget.RecyclerView;
+import java.util.Arrays;
+
+/**
+ * Sorted index of the positions of the sticky items of a {@link RecyclerBinder}. It is kept up to
+ * date with the insertions, removals, moves and updates of the binder so that finding the sticky
+ * header for a position doesn't require visiting all the items before it. Accesses must be
+ * guarded by the binder's lock.
+ */
+class StickyHeaderPositions {
+
+  private static final int INITIAL_CAPACITY = 8;
+
+  private int[] mPositions = new int[INITIAL_CAPACITY];
+  private int mSize;
+
+  // Result of the last findNextStickyPosition call, reset whenever the index changes.
+  private int mCachedNextQuery = RecyclerView.NO_POSITION;
+  private int mCachedNextResult = RecyclerView.NO_POSITION;
+
+  /** Called after an item has been inserted at the given position. */
+  void onItemInserted(int position, boolean isSticky) {
+    shiftFrom(position, 1);
+    if (isSticky) {
+      add(position);
+    }
+  }
+
+  /** Called after an item has been removed from the given position. */
+  void onItemRemoved(int position) {
+    remove(position);
+    shiftFrom(position, -1);
+  }
+
+  /** Called after an item has been moved from one position to another. */
+  void onItemMoved(int fromPosition, int toPosition) {
+    final boolean wasSticky = remove(fromPosition);
+    shiftFrom(fromPosition, -1);
+    shiftFrom(toPosition, 1);
+    if (wasSticky) {
+      add(toPosition);
+    }
+  }
+
+  /** Called after the item at the given position has been updated. */
+  void onItemUpdated(int position, boolean isSticky) {
+    if (isSticky) {
+      add(position);
+    } else {
+      remove(position);
+    }
+  }
+
+  /**
+   * @return the largest sticky position that is smaller than or equal to the given position, or
+   *     {@link RecyclerView#NO_POSITION} if there is none.
+   */
+  int findStickyPositionAtOrBefore(int position) {
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, position);
+    if (index >= 0) {
+      return mPositions[index];
+    }
+
+    final int insertionPoint = -index - 1;
+    return insertionPoint > 0 ? mPositions[insertionPoint - 1] : RecyclerView.NO_POSITION;
+  }
+
+  /**
+   * @return the smallest sticky position that is larger than the given position, or {@link
+   *     RecyclerView#NO_POSITION} if there is none.
+   */
+  int findNextStickyPosition(int position) {
+    if (position == mCachedNextQuery) {
+      return mCachedNextResult;
+    }
+
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, position);
+    final int nextIndex = index >= 0 ? index + 1 : -index - 1;
+
+    mCachedNextQuery = position;
+    mCachedNextResult = nextIndex < mSize ? mPositions[nextIndex] : RecyclerView.NO_POSITION;
+    return mCachedNextResult;
+  }
+
+  private void add(int position) {
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, position);
+    if (index >= 0) {
+      return;
+    }
+
+    final int insertionPoint = -index - 1;
+    if (mSize == mPositions.length) {
+      mPositions = Arrays.copyOf(mPositions, mSize * 2);
+    }
+
+    System.arraycopy(
+        mPositions, insertionPoint, mPositions, insertionPoint + 1, mSize - insertionPoint);
+    mPositions[insertionPoint] = position;
+    mSize++;
+    invalidateCache();
+  }
+
+  private boolean remove(int position) {
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, position);
+    if (index < 0) {
+      return false;
+    }
+
+    System.arraycopy(mPositions, index + 1, mPositions, index, mSize - index - 1);
+    mSize--;
+    invalidateCache();
+    return true;
+  }
+
+  /** Adds delta to all the sticky positions larger than or equal to the given position. */
+  private void shiftFrom(int position, int delta) {
+    final int index = Arrays.binarySearch(mPositions, 0, mSize, position);
+    for (int i = index >= 0 ? index : -index - 1; i < mSize; i++) {
+      mPositions[i] += delta;
+    }
+    invalidateCache();
+  }
+
+  private void invalidateCache() {
+    mCachedNextQuery = RecyclerView.NO_POSITION;
+    mCachedNextResult = RecyclerView.NO_POSITION;
+  }
+}
@@ -175,7 +175,7 @@ class TextSpec {
   private static final SynchronizedPool<TextLayoutBuilder> sTextLayoutBuilderPool =
       new SynchronizedPool<>(2);
 
-  @OnLoadStyle
+  @OnLoadStyle(cacheable = true)
   static void onLoadStyle(
       ComponentContext c,
       Output<TruncateAt> ellipsize,